@@ -0,0 +1,88 @@
+package com.taskapp.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * ベンチマーク用のCSVデータを生成します。
+ */
+public class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 指定した件数のユーザーを持つusers.csvを生成します。
+     * @param file 出力先
+     * @param userCount ユーザー数
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static void writeUsers(Path file, int userCount) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("Code,Name,Email,Password");
+            for (int i = 1; i <= userCount; i++) {
+                writer.newLine();
+                writer.write(i + ",user" + i + ",user" + i + "@example.com,password" + i);
+            }
+        }
+    }
+
+    /**
+     * 指定した件数のタスクを持つtasks.csvを生成します。
+     * 担当ユーザーは1からuserCountまでを順番に割り当てます。
+     * @param file 出力先
+     * @param taskCount タスク数
+     * @param userCount ユーザー数
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static void writeTasks(Path file, int taskCount, int userCount) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("Code,Name,Status,Rep_User_Code");
+            for (int i = 1; i <= taskCount; i++) {
+                writer.newLine();
+                writer.write(i + ",task" + i + "," + (i % 3) + "," + (i % userCount + 1));
+            }
+        }
+    }
+
+    /**
+     * 指定した件数のログを持つlogs.csvを生成します。
+     * タスクごとに未着手・着手中・完了の3件ずつ、日付を進めながら記録します。
+     * @param file 出力先
+     * @param logCount ログ数
+     * @param userCount ユーザー数
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static void writeLogs(Path file, int logCount, int userCount) throws IOException {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("Task_Code,Change_User_Code,Status,Change_Date");
+            for (int i = 0; i < logCount; i++) {
+                int taskCode = i / 3 + 1;
+                int status = i % 3;
+                writer.newLine();
+                writer.write(taskCode + "," + (i % userCount + 1) + "," + status + ","
+                        + start.plusDays(taskCode % 365 + status));
+            }
+        }
+    }
+
+    /**
+     * 生成したデータの入ったディレクトリを削除します。
+     * @param dir 削除するディレクトリ
+     * @throws IOException 削除に失敗した場合
+     */
+    public static void deleteDirectory(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+}
@@ -0,0 +1,75 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * ベンチマーク用に生成したusers.csv・tasks.csv・logs.csvを用意します。
+ * 件数は{@code rows}で指定し、{@code ./gradlew jmh -PjmhRows=1000,1000000}で変更できます。
+ * 生成した元データは保持しておき、更新系のベンチマークで書き換えた作業用のファイルは計測の反復ごとに元に戻します。
+ */
+@State(Scope.Benchmark)
+public class Dataset {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rows;
+
+    private Path dir;
+
+    private Path baseDir;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        dir = Files.createTempDirectory("taskapp-bench");
+        baseDir = Files.createDirectory(dir.resolve("base"));
+        BenchmarkData.writeUsers(baseDir.resolve("users.csv"), userCount());
+        BenchmarkData.writeTasks(baseDir.resolve("tasks.csv"), rows, userCount());
+        BenchmarkData.writeLogs(baseDir.resolve("logs.csv"), rows, userCount());
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!Files.isDirectory(file)) {
+                    Files.delete(file);
+                }
+            }
+        }
+        for (String name : new String[] {"users.csv", "tasks.csv", "logs.csv"}) {
+            Files.copy(baseDir.resolve(name), dir.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        BenchmarkData.deleteDirectory(baseDir);
+        BenchmarkData.deleteDirectory(dir);
+    }
+
+    /**
+     * 作業用のファイルのパスを返します。
+     * @param name ファイル名
+     * @return パス
+     */
+    public String path(String name) {
+        return dir.resolve(name).toString();
+    }
+
+    /**
+     * ユーザー数を返します。タスク40件に1人、10人から5000人の範囲とします。
+     * @return ユーザー数
+     */
+    public int userCount() {
+        return Math.max(10, Math.min(5000, rows / 40));
+    }
+}
@@ -0,0 +1,218 @@
+package com.taskapp.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.StorageOptions;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.logic.TaskLogic;
+import com.taskapp.logic.UserLogic;
+import com.taskapp.server.TaskHttpServer;
+
+/**
+ * {@link TaskHttpServer}にローカルで負荷をかけ、使用するコア数ごとの秒間リクエスト数を計測します。
+ * コア数ごとに{@code -XX:ActiveProcessorCount}と仮想スレッドのスケジューラーの並列度を指定した子プロセスを起動し、
+ * 各クライアントは一覧取得を繰り返しながら、20回に1回タスクの登録・ステータス変更・削除を行います。
+ * <pre>
+ * ./gradlew httpLoad -PloadArgs="--cores 1,2,4 --clients 64 --duration 10"
+ * </pre>
+ */
+public class HttpLoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        if (options.containsKey("child")) {
+            double rps = measure(options);
+            System.out.println("RESULT " + rps);
+            return;
+        }
+
+        int available = Runtime.getRuntime().availableProcessors();
+        List<Integer> cores = new ArrayList<>();
+        if (options.containsKey("cores")) {
+            for (String n : options.get("cores").split(",")) {
+                cores.add(Integer.parseInt(n));
+            }
+        } else {
+            for (int n = 1; n <= available; n <<= 1) {
+                cores.add(n);
+            }
+        }
+
+        System.out.printf("%6s %12s %14s %9s%n", "cores", "req/s", "req/s/core", "speedup");
+        double baseRps = 0;
+        for (int n : cores) {
+            double rps = runChild(n, args);
+            if (baseRps == 0) {
+                baseRps = rps;
+            }
+            System.out.printf("%6d %12.0f %14.0f %9.2f%n", n, rps, rps / n, rps / baseRps);
+        }
+    }
+
+    /**
+     * コア数を制限した子プロセスで計測します。
+     */
+    private static double runChild(int cores, String[] args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-XX:ActiveProcessorCount=" + cores);
+        command.add("-Djdk.virtualThreadScheduler.parallelism=" + cores);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(HttpLoadGenerator.class.getName());
+        command.addAll(List.of(args));
+        command.add("--child");
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        double rps = Double.NaN;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("RESULT ")) {
+                    rps = Double.parseDouble(line.substring("RESULT ".length()));
+                } else {
+                    System.out.println(line);
+                }
+            }
+        }
+        process.waitFor();
+        return rps;
+    }
+
+    /**
+     * サーバーを起動し、指定した時間リクエストを送り続けて秒間リクエスト数を返します。
+     */
+    private static double measure(Map<String, String> options) throws Exception {
+        int clients = Integer.parseInt(options.getOrDefault("clients", "64"));
+        int taskCount = Integer.parseInt(options.getOrDefault("tasks", "1000"));
+        int userCount = Integer.parseInt(options.getOrDefault("users", "100"));
+        long warmupMillis = Long.parseLong(options.getOrDefault("warmup", "3")) * 1000;
+        long durationMillis = Long.parseLong(options.getOrDefault("duration", "10")) * 1000;
+
+        Path dir = Files.createTempDirectory("taskapp-http");
+        BenchmarkData.writeUsers(dir.resolve("users.csv"), userCount);
+        BenchmarkData.writeTasks(dir.resolve("tasks.csv"), taskCount, userCount);
+        BenchmarkData.writeLogs(dir.resolve("logs.csv"), taskCount * 3, userCount);
+
+        StorageOptions storage = new StorageOptions();
+        storage.setJournaled(true);
+        UserDataAccess userDataAccess = new UserDataAccess(dir.resolve("users.csv").toString());
+        LogDataAccess logDataAccess = new LogDataAccess(dir.resolve("logs.csv").toString(), storage);
+        TaskLogic taskLogic = new TaskLogic(
+                new TaskDataAccess(dir.resolve("tasks.csv").toString(), userDataAccess, storage),
+                logDataAccess, userDataAccess);
+
+        LongAdder requests = new LongAdder();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger nextCode = new AtomicInteger(taskCount + 1);
+        try (TaskHttpServer server = new TaskHttpServer(0, new UserLogic(userDataAccess), taskLogic);
+                ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            server.start();
+            String base = "http://localhost:" + server.getPort();
+            HttpClient client = HttpClient.newBuilder().executor(executor).build();
+
+            long start = System.currentTimeMillis();
+            long measureFrom = start + warmupMillis;
+            long end = measureFrom + durationMillis;
+            for (int i = 0; i < clients; i++) {
+                int user = i % userCount + 1;
+                executor.submit(() -> {
+                    try {
+                        String token = login(client, base, user);
+                        for (int op = 0; System.currentTimeMillis() < end; op++) {
+                            int sent = op % 20 == 19 ? lifecycle(client, base, token, nextCode.getAndIncrement(), user)
+                                    : request(client, base, "/tasks", "GET", null, token);
+                            requests.add(sent);
+                        }
+                    } catch (IOException e) {
+                        failures.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                });
+            }
+            //ウォームアップ中のリクエストは数えない
+            Thread.sleep(Math.max(0, measureFrom - System.currentTimeMillis()));
+            long warmupRequests = requests.sum();
+            Thread.sleep(Math.max(0, end - System.currentTimeMillis()));
+            long total = requests.sum() - warmupRequests;
+            if (failures.get() > 0) {
+                System.out.println("failures=" + failures.get());
+            }
+            return total / (durationMillis / 1000.0);
+        } finally {
+            logDataAccess.close();
+            for (Path file : Files.list(dir).toList()) {
+                Files.delete(file);
+            }
+            Files.delete(dir);
+        }
+    }
+
+    private static String login(HttpClient client, String base, int user) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/login"))
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"user" + user + "@example.com\",\"password\":\"password" + user + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("login failed: " + response.body());
+        }
+        return response.body().replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+    }
+
+    /**
+     * タスクの登録・着手中・完了・削除を行い、送ったリクエスト数を返します。
+     */
+    private static int lifecycle(HttpClient client, String base, String token, int code, int user)
+            throws IOException, InterruptedException {
+        request(client, base, "/tasks", "POST", "{\"code\":" + code + ",\"name\":\"load\",\"repUserCode\":" + user + "}", token);
+        request(client, base, "/tasks/" + code + "/status", "POST", "{\"status\":1}", token);
+        request(client, base, "/tasks/" + code + "/status", "POST", "{\"status\":2}", token);
+        request(client, base, "/tasks/" + code, "DELETE", null, token);
+        return 4;
+    }
+
+    private static int request(HttpClient client, String base, String path, String method, String body, String token)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + path))
+                .header("Authorization", "Bearer " + token)
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 400) {
+            throw new IOException(method + " " + path + " failed: " + response.statusCode());
+        }
+        return 1;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String key = args[i].replaceFirst("^--", "");
+            boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+            options.put(key, hasValue ? args[++i] : "true");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,75 @@
+package com.taskapp.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.model.Log;
+
+/**
+ * {@link LogDataAccess}の各操作を計測します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LogDataAccessBenchmark {
+
+    private LogDataAccess logDataAccess;
+
+    private SplittableRandom random;
+
+    private int taskCount;
+
+    private final LocalDate today = LocalDate.of(2024, 6, 1);
+
+    @Setup(Level.Iteration)
+    public void setUp(Dataset dataset) {
+        logDataAccess = new LogDataAccess(dataset.path("logs.csv"));
+        random = new SplittableRandom(1);
+        taskCount = Math.max(1, dataset.rows / 3);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        logDataAccess.close();
+    }
+
+    @Benchmark
+    public void save() {
+        logDataAccess.save(new Log(random.nextInt(taskCount) + 1, 1, 1, today));
+    }
+
+    @Benchmark
+    public List<Log> findAll() {
+        return logDataAccess.findAll();
+    }
+
+    @Benchmark
+    public List<Log> findByTaskCode() {
+        return logDataAccess.findByTaskCode(random.nextInt(taskCount) + 1);
+    }
+
+    /**
+     * 削除したタスクのログを保存し直すまでを計測し、反復の間にログが尽きないようにします。
+     */
+    @Benchmark
+    public void deleteByTaskCodeAndSave() {
+        int taskCode = random.nextInt(taskCount) + 1;
+        logDataAccess.deleteByTaskCode(taskCode);
+        for (int status = 0; status < 3; status++) {
+            logDataAccess.save(new Log(taskCode, 1, status, today));
+        }
+    }
+}
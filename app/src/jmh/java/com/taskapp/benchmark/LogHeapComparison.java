@@ -0,0 +1,63 @@
+package com.taskapp.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.taskapp.dataaccess.LogColumns;
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.model.Log;
+
+/**
+ * logs.csvを{@link LogDataAccess#findAll()}と{@link LogDataAccess#findAllColumns()}で読み込み、
+ * 保持に必要なヒープの大きさと、タスクコードでの絞り込みの時間を比較します。
+ * <pre>
+ * ./gradlew logHeap -PloadArgs="--logs 3000000"
+ * </pre>
+ */
+public class LogHeapComparison {
+
+    public static void main(String[] args) throws Exception {
+        int logCount = args.length > 1 && args[0].equals("--logs") ? Integer.parseInt(args[1]) : 3_000_000;
+        Path dir = Files.createTempDirectory("taskapp-heap");
+        Path file = dir.resolve("logs.csv");
+        try {
+            BenchmarkData.writeLogs(file, logCount, 5000);
+            LogDataAccess logDataAccess = new LogDataAccess(file.toString());
+
+            long base = usedHeap();
+            List<Log> logs = logDataAccess.findAll();
+            long objectBytes = usedHeap() - base;
+            long start = System.nanoTime();
+            long matched = logs.stream().filter(l -> l.getTaskCode() % 1000 == 0).count();
+            long objectFilter = System.nanoTime() - start;
+            logs = null;
+
+            base = usedHeap();
+            LogColumns columns = logDataAccess.findAllColumns();
+            long columnBytes = usedHeap() - base;
+            start = System.nanoTime();
+            int selected = columns.select((taskCode, userCode, status, epochDay) -> taskCode % 1000 == 0).length;
+            long columnFilter = System.nanoTime() - start;
+
+            System.out.printf("logs=%,d%n", logCount);
+            System.out.printf("%-12s %14s %10s %12s %8s%n", "store", "heap(bytes)", "bytes/log", "filter(ms)", "matched");
+            System.out.printf("%-12s %,14d %10.1f %12.1f %8d%n", "List<Log>", objectBytes,
+                    (double) objectBytes / logCount, objectFilter / 1e6, matched);
+            System.out.printf("%-12s %,14d %10.1f %12.1f %8d%n", "LogColumns", columnBytes,
+                    (double) columnBytes / columns.size(), columnFilter / 1e6, selected);
+            System.out.printf("heap reduction: %.1fx%n", (double) objectBytes / columnBytes);
+        } finally {
+            BenchmarkData.deleteDirectory(dir);
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
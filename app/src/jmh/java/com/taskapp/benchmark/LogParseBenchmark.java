@@ -0,0 +1,103 @@
+package com.taskapp.benchmark;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.taskapp.dataaccess.CsvCursor;
+import com.taskapp.model.Log;
+
+/**
+ * logs.csvの解釈を、従来の{@code split}と{@code ArrayList}による方法と{@link CsvCursor}で比較します。
+ * 結果の{@link Log}の生成は両方に含め、解釈の差だけを比べます。
+ * GCの差は {@code -prof gc} を付けて実行すると確認できます。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LogParseBenchmark {
+
+    @Param({"1000000"})
+    public int logCount;
+
+    private Path dir;
+
+    private String filePath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("taskapp-bench");
+        Path logs = dir.resolve("logs.csv");
+        BenchmarkData.writeLogs(logs, logCount, 5000);
+        filePath = logs.toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteDirectory(dir);
+    }
+
+    @Benchmark
+    public List<Log> splitAndArrayList() throws IOException {
+        List<Log> log = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+            String line = "";
+            reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                List<String> value = new ArrayList<>(Arrays.asList(line.split(",")));
+                List<String> dateList = new ArrayList<>(Arrays.asList(value.get(3).split("-")));
+                log.add(new Log(
+                    Integer.parseInt(value.get(0)),
+                    Integer.parseInt(value.get(1)),
+                    Integer.parseInt(value.get(2)),
+                    LocalDate.of(
+                        Integer.parseInt(dateList.get(0)),
+                        Integer.parseInt(dateList.get(1)),
+                        Integer.parseInt(dateList.get(2)))));
+            }
+        }
+        return log;
+    }
+
+    @Benchmark
+    public List<Log> csvCursor() throws IOException {
+        List<Log> log = new ArrayList<>();
+        try (CsvCursor cursor = CsvCursor.open(filePath)) {
+            cursor.nextRow();
+            while (cursor.nextRow()) {
+                log.add(new Log(cursor.nextInt(), cursor.nextInt(), cursor.nextInt(), cursor.nextDate()));
+            }
+        }
+        return log;
+    }
+
+    @Benchmark
+    public long csvCursorPrimitiveOnly() throws IOException {
+        long sum = 0;
+        try (CsvCursor cursor = CsvCursor.open(filePath)) {
+            cursor.nextRow();
+            while (cursor.nextRow()) {
+                sum += cursor.nextInt() + cursor.nextInt() + cursor.nextInt() + cursor.nextEpochDay();
+            }
+        }
+        return sum;
+    }
+}
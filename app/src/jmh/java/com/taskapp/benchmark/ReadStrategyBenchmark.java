@@ -0,0 +1,52 @@
+package com.taskapp.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.ReadStrategy;
+import com.taskapp.dataaccess.StorageOptions;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.model.Log;
+import com.taskapp.model.Task;
+
+/**
+ * CSVの読み込み方式ごとに、tasks.csvとlogs.csvを全件読み込む時間を比較します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReadStrategyBenchmark {
+
+    @Param({"BUFFERED", "MAPPED"})
+    public ReadStrategy strategy;
+
+    private StorageOptions options;
+
+    @Setup
+    public void setUp() {
+        options = new StorageOptions();
+        options.setReadStrategy(strategy);
+    }
+
+    @Benchmark
+    public List<Task> loadTasks(Dataset dataset) {
+        UserDataAccess userDataAccess = new UserDataAccess(dataset.path("users.csv"));
+        return new TaskDataAccess(dataset.path("tasks.csv"), userDataAccess, options).findAll();
+    }
+
+    @Benchmark
+    public List<Log> loadLogs(Dataset dataset) {
+        return new LogDataAccess(dataset.path("logs.csv"), options).findAll();
+    }
+}
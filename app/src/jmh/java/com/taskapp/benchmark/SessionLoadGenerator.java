@@ -0,0 +1,242 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.StorageOptions;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.logic.TaskLogic;
+import com.taskapp.logic.UserLogic;
+import com.taskapp.server.TaskServer;
+
+/**
+ * {@link TaskServer}に多数のセッションを同時に接続し、メニュー操作ごとの応答時間を計測します。
+ * 各セッションはログイン・タスク登録・一覧表示・ステータス変更・メニューへ戻る・ログアウトを順に行い、
+ * 入力を送ってから次のプロンプトを受け取るまでの時間を操作ごとに集計して、p50とp99を表示します。
+ * <pre>
+ * ./gradlew sessionLoad -PloadArgs="--sessions 10000 --concurrency 1000 --tasks 1000"
+ * </pre>
+ */
+public class SessionLoadGenerator {
+    private static final String MENU_PROMPT = "選択肢：";
+
+    private final int port;
+
+    private final int userCount;
+
+    private final int firstCode;
+
+    private SessionLoadGenerator(int port, int userCount, int firstCode) {
+        this.port = port;
+        this.userCount = userCount;
+        this.firstCode = firstCode;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int sessions = Integer.parseInt(options.getOrDefault("sessions", "10000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "1000"));
+        int taskCount = Integer.parseInt(options.getOrDefault("tasks", "1000"));
+        int userCount = Integer.parseInt(options.getOrDefault("users", "100"));
+
+        Path dir = Files.createTempDirectory("taskapp-load");
+        BenchmarkData.writeUsers(dir.resolve("users.csv"), userCount);
+        BenchmarkData.writeTasks(dir.resolve("tasks.csv"), taskCount, userCount);
+        BenchmarkData.writeLogs(dir.resolve("logs.csv"), taskCount * 3, userCount);
+
+        StorageOptions storage = new StorageOptions();
+        storage.setJournaled(options.containsKey("journaled"));
+        UserDataAccess userDataAccess = new UserDataAccess(dir.resolve("users.csv").toString());
+        LogDataAccess logDataAccess = new LogDataAccess(dir.resolve("logs.csv").toString(), storage);
+        TaskLogic taskLogic = new TaskLogic(
+                new TaskDataAccess(dir.resolve("tasks.csv").toString(), userDataAccess, storage),
+                logDataAccess, userDataAccess);
+
+        try (TaskServer server = new TaskServer(0, new UserLogic(userDataAccess), taskLogic)) {
+            server.start();
+            SessionLoadGenerator generator = new SessionLoadGenerator(server.getPort(), userCount, taskCount + 1);
+            generator.run(sessions, concurrency);
+        } finally {
+            logDataAccess.close();
+            for (Path file : Files.list(dir).toList()) {
+                Files.delete(file);
+            }
+            Files.delete(dir);
+        }
+    }
+
+    private void run(int sessions, int concurrency) throws Exception {
+        Semaphore permits = new Semaphore(concurrency);
+        AtomicInteger failures = new AtomicInteger();
+        List<Future<Map<String, Long>>> results = new ArrayList<>(sessions);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessions; i++) {
+                int session = i;
+                results.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return runSession(session);
+                    } catch (IOException e) {
+                        failures.incrementAndGet();
+                        return Map.of();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        //操作ごとに応答時間を集める
+        Map<String, long[]> samples = new LinkedHashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+        for (Future<Map<String, Long>> result : results) {
+            for (Map.Entry<String, Long> e : result.get().entrySet()) {
+                long[] values = samples.computeIfAbsent(e.getKey(), k -> new long[sessions]);
+                int count = counts.merge(e.getKey(), 1, Integer::sum);
+                values[count - 1] = e.getValue();
+            }
+        }
+
+        System.out.printf("sessions=%d concurrency=%d failures=%d elapsed=%.1fs (%.0f sessions/s)%n",
+                sessions, concurrency, failures.get(), elapsed / 1e9, sessions / (elapsed / 1e9));
+        System.out.printf("%-14s %8s %10s %10s %10s%n", "action", "count", "p50(ms)", "p99(ms)", "max(ms)");
+        for (Map.Entry<String, long[]> e : samples.entrySet()) {
+            int count = counts.get(e.getKey());
+            long[] values = Arrays.copyOf(e.getValue(), count);
+            Arrays.sort(values);
+            System.out.printf("%-14s %8d %10.2f %10.2f %10.2f%n", e.getKey(), count,
+                    percentile(values, 0.50) / 1e6, percentile(values, 0.99) / 1e6, values[count - 1] / 1e6);
+        }
+    }
+
+    /**
+     * 1つのセッションでメニューを一通り操作し、操作ごとの応答時間を返します。
+     * @param session セッションの番号
+     * @return 操作名と応答時間（ナノ秒）
+     */
+    private Map<String, Long> runSession(int session) throws IOException {
+        int user = session % userCount + 1;
+        String code = String.valueOf(firstCode + session);
+        Map<String, Long> timings = new LinkedHashMap<>();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            Conversation c = new Conversation(socket);
+            c.expect("メールアドレスを入力してください：");
+            c.send("user" + user + "@example.com", "パスワードを入力してください：");
+            timings.put("login", c.send("password" + user, MENU_PROMPT));
+
+            c.send("2", "タスクコードを入力してください：");
+            c.send(code, "タスク名を入力してください：");
+            c.send("load" + session % 1000, "担当するユーザーのコードを選択してください：");
+            timings.put("create", c.send(String.valueOf(user), MENU_PROMPT));
+
+            timings.put("list", c.send("1", MENU_PROMPT));
+
+            c.send("1", "ステータスを変更するタスクコードを入力してください：");
+            c.send(code, MENU_PROMPT);
+            timings.put("changeStatus", c.send("1", MENU_PROMPT));
+
+            timings.put("back", c.send("3", MENU_PROMPT));
+            timings.put("logout", c.sendAndClose("3"));
+        }
+        return timings;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String key = args[i].replaceFirst("^--", "");
+            boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+            options.put(key, hasValue ? args[++i] : "true");
+        }
+        return options;
+    }
+
+    /**
+     * 1つの接続で入力を送り、プロンプトが届くまで出力を読み進めます。
+     */
+    private static class Conversation {
+        private final Reader reader;
+        private final Writer writer;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder tail = new StringBuilder();
+
+        private Conversation(Socket socket) throws IOException {
+            reader = new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8);
+            writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+        }
+
+        /**
+         * 1行を送り、指定したプロンプトが届くまでの時間を返します。
+         */
+        private long send(String line, String prompt) throws IOException {
+            long start = System.nanoTime();
+            writeLine(line);
+            expect(prompt);
+            return System.nanoTime() - start;
+        }
+
+        /**
+         * 1行を送り、サーバーが接続を閉じるまでの時間を返します。
+         */
+        private long sendAndClose(String line) throws IOException {
+            long start = System.nanoTime();
+            writeLine(line);
+            while (reader.read(buffer) >= 0) {
+                //終了メッセージを読み捨てる
+            }
+            return System.nanoTime() - start;
+        }
+
+        private void writeLine(String line) throws IOException {
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+        }
+
+        private void expect(String prompt) throws IOException {
+            tail.setLength(0);
+            while (true) {
+                int read = reader.read(buffer);
+                if (read < 0) {
+                    throw new IOException("接続が閉じられました: " + tail);
+                }
+                tail.append(buffer, 0, read);
+                if (tail.length() >= prompt.length()
+                        && tail.lastIndexOf(prompt) == tail.length() - prompt.length()) {
+                    return;
+                }
+                //一覧などの長い出力は末尾だけ残す
+                if (tail.length() > 4096) {
+                    tail.delete(0, tail.length() - 64);
+                }
+            }
+        }
+    }
+}
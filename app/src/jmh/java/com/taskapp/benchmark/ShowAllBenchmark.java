@@ -0,0 +1,83 @@
+package com.taskapp.benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.logic.TaskLogic;
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+/**
+ * タスク一覧の表示を、タスクごとに4回printする従来の方法とバッファにまとめる方法で比較します。
+ * 出力先は{@link System#out}と同じく自動フラッシュする{@link PrintStream}で、書き込んだ内容は破棄します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ShowAllBenchmark {
+
+    private final PrintStream out = new PrintStream(OutputStream.nullOutputStream(), true, StandardCharsets.UTF_8);
+
+    private TaskDataAccess taskDataAccess;
+
+    private UserDataAccess userDataAccess;
+
+    private TaskLogic taskLogic;
+
+    private User loginUser;
+
+    @Setup(Level.Iteration)
+    public void setUp(Dataset dataset) {
+        userDataAccess = new UserDataAccess(dataset.path("users.csv"));
+        taskDataAccess = new TaskDataAccess(dataset.path("tasks.csv"), userDataAccess);
+        taskLogic = new TaskLogic(taskDataAccess, null, userDataAccess);
+        loginUser = userDataAccess.findByCode(1);
+    }
+
+    @Benchmark
+    public void printPerField() {
+        for (Task t : taskDataAccess.findAll()) {
+            String reqUser = "あなたが担当しています";
+            if (!t.getRepUser().equals(loginUser)) {
+                reqUser = t.getRepUser().getName() + "が担当しています";
+            }
+            String status = switch (t.getStatus()) {
+                case 0 -> "未着手";
+                case 1 -> "着手中";
+                case 2 -> "完了";
+                default -> "";
+            };
+            out.print(t.getCode() + ". ");
+            out.print("タスク名：" + t.getName());
+            out.print(", 担当者名：" + reqUser);
+            out.println(", ステータス：" + status);
+        }
+    }
+
+    @Benchmark
+    public void buffered() {
+        taskLogic.showAll(loginUser, out);
+    }
+
+    /**
+     * CSVを読み込みながら表示します。読み込みの時間を含みます。
+     */
+    @Benchmark
+    public void streamingFromFile(Dataset dataset) {
+        TaskDataAccess cold = new TaskDataAccess(dataset.path("tasks.csv"), userDataAccess);
+        new TaskLogic(cold, null, userDataAccess).showAllStreaming(loginUser, out);
+    }
+}
@@ -0,0 +1,82 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.taskapp.dataaccess.BinaryConverter;
+import com.taskapp.dataaccess.BinaryFormat;
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.StorageFormat;
+import com.taskapp.dataaccess.StorageOptions;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.model.Log;
+import com.taskapp.model.Task;
+
+/**
+ * 保存形式ごとに、タスクとログを全件読み込む時間を比較します。
+ * バイナリ形式のファイルは反復ごとにCSVから変換して用意し、最初の反復でCSVとのファイルサイズの比較を表示します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageFormatBenchmark {
+
+    @Param({"CSV", "BINARY"})
+    public StorageFormat format;
+
+    private StorageOptions options;
+
+    private String tasksPath;
+
+    private String logsPath;
+
+    private boolean reported;
+
+    @Setup(Level.Iteration)
+    public void setUp(Dataset dataset) throws IOException {
+        options = new StorageOptions();
+        options.setFormat(format);
+        tasksPath = dataset.path("tasks.csv");
+        logsPath = dataset.path("logs.csv");
+        if (format == StorageFormat.BINARY) {
+            tasksPath = dataset.path("tasks.bin");
+            logsPath = dataset.path("logs.bin");
+            BinaryConverter.toBinary(dataset.path("tasks.csv"), tasksPath, BinaryFormat.TASKS);
+            BinaryConverter.toBinary(dataset.path("logs.csv"), logsPath, BinaryFormat.LOGS);
+            if (!reported) {
+                System.out.printf("%n[file size] rows=%d tasks: csv=%,d bin=%,d  logs: csv=%,d bin=%,d%n", dataset.rows,
+                        size(dataset.path("tasks.csv")), size(tasksPath), size(dataset.path("logs.csv")), size(logsPath));
+                reported = true;
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Task> loadTasks(Dataset dataset) {
+        UserDataAccess userDataAccess = new UserDataAccess(dataset.path("users.csv"));
+        return new TaskDataAccess(tasksPath, userDataAccess, options).findAll();
+    }
+
+    @Benchmark
+    public List<Log> loadLogs() {
+        return new LogDataAccess(logsPath, options).findAll();
+    }
+
+    private static long size(String path) throws IOException {
+        return Files.size(Paths.get(path));
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskapp.benchmark;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+/**
+ * {@link TaskDataAccess}の各操作を計測します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskDataAccessBenchmark {
+
+    private TaskDataAccess taskDataAccess;
+
+    private User repUser;
+
+    private SplittableRandom random;
+
+    private int rows;
+
+    @Setup(Level.Iteration)
+    public void setUp(Dataset dataset) {
+        UserDataAccess userDataAccess = new UserDataAccess(dataset.path("users.csv"));
+        taskDataAccess = new TaskDataAccess(dataset.path("tasks.csv"), userDataAccess);
+        //読み込みを計測に含めない
+        taskDataAccess.findByCode(1);
+        repUser = userDataAccess.findByCode(1);
+        random = new SplittableRandom(1);
+        rows = dataset.rows;
+    }
+
+    /**
+     * 新しいインスタンスで読み込むところから計測します。
+     */
+    @Benchmark
+    public List<Task> findAllCold(Dataset dataset) {
+        return new TaskDataAccess(dataset.path("tasks.csv"), new UserDataAccess(dataset.path("users.csv"))).findAll();
+    }
+
+    @Benchmark
+    public List<Task> findAll() {
+        return taskDataAccess.findAll();
+    }
+
+    @Benchmark
+    public Task findByCode() {
+        return taskDataAccess.findByCode(random.nextInt(rows) + 1);
+    }
+
+    @Benchmark
+    public void update() {
+        int code = random.nextInt(rows) + 1;
+        taskDataAccess.update(new Task(code, "task" + code, random.nextInt(3), repUser));
+    }
+
+    /**
+     * 削除したタスクを保存し直すまでを計測し、反復の間にタスクが尽きないようにします。
+     */
+    @Benchmark
+    public void deleteAndSave() {
+        int code = random.nextInt(rows) + 1;
+        Task task = taskDataAccess.findByCode(code);
+        taskDataAccess.delete(code);
+        if (task != null) {
+            taskDataAccess.save(task);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.model.Task;
+
+/**
+ * タスク件数を変えながら{@link TaskDataAccess#findAll()}の所要時間を計測します。
+ * ユーザー数を固定しているため、所要時間はタスク件数に比例して伸びるはずです。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskFindAllBenchmark {
+
+    @Param({"1000", "10000", "100000", "200000"})
+    public int taskCount;
+
+    @Param({"5000"})
+    public int userCount;
+
+    private Path dir;
+
+    private TaskDataAccess taskDataAccess;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("taskapp-bench");
+        Path users = dir.resolve("users.csv");
+        Path tasks = dir.resolve("tasks.csv");
+        BenchmarkData.writeUsers(users, userCount);
+        BenchmarkData.writeTasks(tasks, taskCount, userCount);
+        taskDataAccess = new TaskDataAccess(tasks.toString(), new UserDataAccess(users.toString()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteDirectory(dir);
+    }
+
+    @Benchmark
+    public List<Task> findAll() {
+        return taskDataAccess.findAll();
+    }
+}
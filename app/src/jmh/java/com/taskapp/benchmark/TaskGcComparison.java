@@ -0,0 +1,166 @@
+package com.taskapp.benchmark;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.taskapp.dataaccess.StorageOptions;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.model.Task;
+
+/**
+ * 大量のタスクをヒープ上とヒープ外に保持した場合の、GCの停止時間を比較します。
+ * 方式ごとに同じヒープサイズの子プロセスを起動してtasks.csvを読み込み、
+ * 対話セッションを模した処理（コードでの取得・ステータス変更・一時オブジェクトの生成）を一定時間続けて、
+ * その間のGCの回数・合計停止時間・最大停止時間と、GC後に残るヒープの大きさを表示します。
+ * <pre>
+ * ./gradlew taskGc -PloadArgs="--tasks 5000000 --seconds 30 --heap 3g"
+ * </pre>
+ */
+public class TaskGcComparison {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        if (options.containsKey("child")) {
+            runChild(options);
+            return;
+        }
+        int taskCount = Integer.parseInt(options.getOrDefault("tasks", "5000000"));
+        String heap = options.getOrDefault("heap", "3g");
+
+        Path dir = Files.createTempDirectory("taskapp-gc");
+        try {
+            int userCount = Math.max(10, Math.min(5000, taskCount / 40));
+            BenchmarkData.writeUsers(dir.resolve("users.csv"), userCount);
+            BenchmarkData.writeTasks(dir.resolve("tasks.csv"), taskCount, userCount);
+
+            System.out.printf("tasks=%,d heap=%s%n", taskCount, heap);
+            System.out.printf("%-8s %10s %8s %12s %12s %14s%n",
+                    "store", "load(ms)", "gcs", "total(ms)", "max(ms)", "live heap(MB)");
+            for (String mode : new String[] {"heap", "offheap"}) {
+                List<String> command = new ArrayList<>();
+                command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+                command.add("-Xms" + heap);
+                command.add("-Xmx" + heap);
+                command.add("-XX:MaxDirectMemorySize=" + heap);
+                command.add("-cp");
+                command.add(System.getProperty("java.class.path"));
+                command.add(TaskGcComparison.class.getName());
+                command.addAll(List.of(args));
+                command.addAll(List.of("--child", "--mode", mode, "--dir", dir.toString()));
+                Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        System.out.println(line);
+                    }
+                }
+                process.waitFor();
+            }
+        } finally {
+            BenchmarkData.deleteDirectory(dir);
+        }
+    }
+
+    /**
+     * 子プロセスで1つの方式を計測し、結果を1行で表示します。
+     */
+    private static void runChild(Map<String, String> options) throws Exception {
+        String mode = options.get("mode");
+        Path dir = Paths.get(options.get("dir"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+
+        StorageOptions storage = new StorageOptions();
+        storage.setOffHeap(mode.equals("offheap"));
+        storage.setJournaled(true);
+        storage.setJournalMaxRecords(Integer.MAX_VALUE);
+        storage.setJournalRatio(Double.MAX_VALUE);
+        UserDataAccess userDataAccess = new UserDataAccess(dir.resolve("users.csv").toString());
+        TaskDataAccess taskDataAccess = new TaskDataAccess(dir.resolve("tasks.csv").toString(), userDataAccess, storage);
+
+        long start = System.nanoTime();
+        int loaded = taskDataAccess.findAll().size();
+        long load = System.nanoTime() - start;
+        long liveHeap = liveHeap();
+
+        //読み込み後のGCだけを数える
+        AtomicLong count = new AtomicLong();
+        AtomicLong total = new AtomicLong();
+        AtomicLong max = new AtomicLong();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) gc).addNotificationListener((notification, handback) -> {
+                if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                    return;
+                }
+                GarbageCollectionNotificationInfo info =
+                        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                //並行GCのサイクルは停止を伴わないため除く
+                if (info.getGcAction().contains("concurrent") || info.getGcName().contains("Concurrent")) {
+                    return;
+                }
+                long duration = info.getGcInfo().getDuration();
+                count.incrementAndGet();
+                total.addAndGet(duration);
+                max.accumulateAndGet(duration, Math::max);
+            }, null, null);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        long sink = 0;
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < 1000; i++) {
+                Task task = taskDataAccess.findByCode(random.nextInt(loaded) + 1);
+                if (task != null) {
+                    sink += task.getName().length();
+                    if (i % 100 == 0) {
+                        taskDataAccess.update(new Task(task.getCode(), task.getName(),
+                                (task.getStatus() + 1) % 3, task.getRepUser()));
+                    }
+                }
+                //画面表示などの一時オブジェクト
+                sink += ("row" + i + task).length();
+                sink += new byte[256].length;
+            }
+        }
+        //最適化で処理が省かれないよう結果を使う
+        System.out.printf("%-8s %10.0f %8d %12d %12d %14.1f%s%n", mode, load / 1e6, count.get(), total.get(), max.get(),
+                liveHeap / 1048576.0, sink == 42 ? " " : "");
+    }
+
+    private static long liveHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String key = args[i].replaceFirst("^--", "");
+            boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+            options.put(key, hasValue ? args[++i] : "true");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,48 @@
+package com.taskapp.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.taskapp.dataaccess.StorageOptions;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.model.Task;
+
+/**
+ * tasks.csvを新しいインスタンスで全件読み込む時間を、読み込むスレッドの数ごとに比較します。
+ * 1MBに満たないCSVは分けずに読むため、スレッド数による差は{@code rows}が10万件以上の場合に現れます。
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=TaskLoadScaling -PjmhRows=1000000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskLoadScalingBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private StorageOptions options;
+
+    @Setup
+    public void setUp() {
+        options = new StorageOptions();
+        options.setLoadParallelism(parallelism);
+    }
+
+    @Benchmark
+    public List<Task> loadTasks(Dataset dataset) {
+        UserDataAccess userDataAccess = new UserDataAccess(dataset.path("users.csv"));
+        return new TaskDataAccess(dataset.path("tasks.csv"), userDataAccess, options).findAll();
+    }
+}
@@ -0,0 +1,74 @@
+package com.taskapp.benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.exception.AppException;
+import com.taskapp.logic.TaskLogic;
+import com.taskapp.model.User;
+
+/**
+ * {@link TaskLogic}の各操作を計測します。
+ * 一覧表示の出力は破棄し、コンソールへの書き込みは計測に含めません。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskLogicBenchmark {
+
+    private TaskLogic taskLogic;
+
+    private LogDataAccess logDataAccess;
+
+    private User loginUser;
+
+    private int nextCode;
+
+    private final PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+
+    @Setup(Level.Iteration)
+    public void setUp(Dataset dataset) {
+        UserDataAccess userDataAccess = new UserDataAccess(dataset.path("users.csv"));
+        TaskDataAccess taskDataAccess = new TaskDataAccess(dataset.path("tasks.csv"), userDataAccess);
+        logDataAccess = new LogDataAccess(dataset.path("logs.csv"));
+        taskLogic = new TaskLogic(taskDataAccess, logDataAccess, userDataAccess);
+        loginUser = userDataAccess.findByCode(1);
+        nextCode = dataset.rows + 1;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        logDataAccess.close();
+    }
+
+    @Benchmark
+    public void showAll() {
+        taskLogic.showAll(loginUser, discard);
+    }
+
+    /**
+     * 新規登録から着手中・完了への変更、削除までの一連の操作を計測します。
+     */
+    @Benchmark
+    public void lifecycle() throws AppException {
+        int code = nextCode++;
+        taskLogic.save(code, "bench" + code, 1, loginUser);
+        taskLogic.changeStatus(code, 1, loginUser);
+        taskLogic.changeStatus(code, 2, loginUser);
+        taskLogic.delete(code);
+    }
+}
@@ -0,0 +1,49 @@
+package com.taskapp.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.model.User;
+
+/**
+ * {@link UserDataAccess#findByEmailAndPassword(String, String)}を計測します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserDataAccessBenchmark {
+
+    private UserDataAccess userDataAccess;
+
+    private SplittableRandom random;
+
+    private int userCount;
+
+    @Setup(Level.Iteration)
+    public void setUp(Dataset dataset) {
+        userDataAccess = new UserDataAccess(dataset.path("users.csv"));
+        random = new SplittableRandom(1);
+        userCount = dataset.userCount();
+    }
+
+    @Benchmark
+    public User findByEmailAndPassword() {
+        int code = random.nextInt(userCount) + 1;
+        return userDataAccess.findByEmailAndPassword("user" + code + "@example.com", "password" + code);
+    }
+
+    @Benchmark
+    public User findByEmailAndPasswordMiss() {
+        return userDataAccess.findByEmailAndPassword("nobody@example.com", "password");
+    }
+}
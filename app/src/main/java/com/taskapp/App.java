@@ -1,11 +1,114 @@
 package com.taskapp;
 
+import java.io.IOException;
+
+import com.taskapp.dataaccess.BinaryConverter;
+import com.taskapp.dataaccess.BinaryFormat;
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.logic.BulkTransfer;
+import com.taskapp.logic.CycleTimeAnalytics;
+import com.taskapp.logic.TaskLogic;
+import com.taskapp.logic.UserLogic;
+import com.taskapp.model.CycleTimeReport;
+import com.taskapp.server.TaskHttpServer;
+import com.taskapp.server.TaskServer;
 import com.taskapp.ui.TaskUI;
 
 public class App {
 
+    /**
+     * 引数なしではコンソールで1人分のメニューを実行します。
+     * {@code --server <port>}を指定した場合は、ローカルのソケットで複数のセッションを受け付けます。
+     * {@code --http <port>}を指定した場合は、ローカルのHTTP/JSON APIを提供します。
+     * {@code --to-binary <tasks|logs> <CSV> <出力先>}・{@code --to-csv <tasks|logs> <バイナリ> <出力先>}を指定した場合は、
+     * CSVとバイナリ形式を相互に変換します。
+     * {@code --import <tasks|logs> <CSV> [並列度]}・{@code --export <tasks|logs> <出力先>}を指定した場合は、
+     * タスクまたはログをまとめて取り込み・書き出し、処理件数と1スレッドあたりの処理速度を表示します。
+     * {@code --cycle-time [logs.csv]}を指定した場合は、ログからリードタイム・サイクルタイムと日ごとの完了件数を集計して表示します。
+     * @param args 起動引数
+     */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+            try (TaskServer server = new TaskServer(port, new UserLogic(), openTaskLogic())) {
+                System.out.println("ポート" + server.getPort() + "で待ち受けています。");
+                server.run();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--http")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+            try {
+                TaskHttpServer server = new TaskHttpServer(port, new UserLogic(), openTaskLogic());
+                server.start();
+                System.out.println("http://localhost:" + server.getPort() + "/ で待ち受けています。");
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+        if (args.length == 4 && (args[0].equals("--to-binary") || args[0].equals("--to-csv"))) {
+            BinaryFormat format = args[1].equals("logs") ? BinaryFormat.LOGS : BinaryFormat.TASKS;
+            try {
+                int count = args[0].equals("--to-binary")
+                        ? BinaryConverter.toBinary(args[2], args[3], format)
+                        : BinaryConverter.toCsv(args[2], args[3], format);
+                System.out.println(count + "件を" + args[3] + "に変換しました。");
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+        if (args.length >= 3 && (args[0].equals("--import") || args[0].equals("--export"))) {
+            int parallelism = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+            UserDataAccess userDataAccess = new UserDataAccess();
+            LogDataAccess logDataAccess = new LogDataAccess();
+            BulkTransfer transfer = new BulkTransfer(new TaskDataAccess("app/src/main/resources/tasks.csv", userDataAccess),
+                    logDataAccess, userDataAccess, parallelism);
+            boolean logs = args[1].equals("logs");
+            try {
+                BulkTransfer.Report report;
+                if (args[0].equals("--import")) {
+                    report = logs ? transfer.importLogs(args[2]) : transfer.importTasks(args[2]);
+                } else {
+                    report = logs ? transfer.exportLogs(args[2]) : transfer.exportTasks(args[2]);
+                }
+                System.out.println(report);
+            } catch (IOException e) {
+                e.printStackTrace();
+            } finally {
+                logDataAccess.close();
+            }
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--cycle-time")) {
+            LogDataAccess logDataAccess = args.length > 1 ? new LogDataAccess(args[1]) : new LogDataAccess();
+            CycleTimeReport report = new CycleTimeAnalytics(logDataAccess).analyze();
+            System.out.println("ログ：" + report.getRows() + "件, 未完了のタスク：" + report.getOpenTasks() + "件");
+            System.out.println("リードタイム：" + report.getLeadTime());
+            System.out.println("サイクルタイム：" + report.getCycleTime());
+            System.out.println("待ち時間：" + report.getWaitTime());
+            report.getCompletedByUser().forEach((user, count) -> System.out.println("ユーザー" + user + "：完了" + count
+                    + "件, リードタイム " + report.getLeadTimeByUser().get(user)
+                    + ", サイクルタイム " + report.getCycleTimeByUser().get(user)));
+            report.getCompletedByDay().forEach((day, count) -> System.out.println(day + "：完了" + count + "件"));
+            return;
+        }
         TaskUI ui = new TaskUI();
         ui.displayMenu();
     }
+
+    /**
+     * 前回書き込み途中で中断した変更をやり直してから、サーバーで共有するタスクの処理を返します。
+     * @return タスクの処理
+     */
+    private static TaskLogic openTaskLogic() {
+        TaskLogic taskLogic = new TaskLogic();
+        taskLogic.recover();
+        return taskLogic;
+    }
 }
@@ -0,0 +1,38 @@
+package com.taskapp.dataaccess;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ジャーナルの反映などのファイル整理をバックグラウンドで実行します。
+ * 同じ対象への依頼は実行待ちの間1回にまとめます。
+ */
+class BackgroundCompactor {
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "taskapp-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Set<Object> PENDING = ConcurrentHashMap.newKeySet();
+
+    private BackgroundCompactor() {
+    }
+
+    /**
+     * 整理処理を依頼します。同じ対象の処理が実行待ちの場合は何もしません。
+     * @param target 整理対象
+     * @param task 整理処理
+     */
+    static void submit(Object target, Runnable task) {
+        if (!PENDING.add(target)) {
+            return;
+        }
+        EXECUTOR.execute(() -> {
+            PENDING.remove(target);
+            task.run();
+        });
+    }
+}
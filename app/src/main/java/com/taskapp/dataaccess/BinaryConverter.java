@@ -0,0 +1,58 @@
+package com.taskapp.dataaccess;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * CSVと{@link BinaryFormat}のバイナリ形式を相互に変換します。
+ * 1行ずつ読み書きするため、件数に関わらず使用するメモリは一定です。
+ */
+public final class BinaryConverter {
+
+    private BinaryConverter() {
+    }
+
+    /**
+     * CSVをバイナリ形式に変換します。
+     * @param csvPath 変換元のCSVのパス
+     * @param binaryPath 変換先のパス
+     * @param format レイアウト
+     * @return 変換した件数
+     * @throws IOException 読み書きに失敗した場合
+     */
+    public static int toBinary(String csvPath, String binaryPath, BinaryFormat format) throws IOException {
+        int count = 0;
+        try (CsvRowReader cursor = CsvStreams.openSkippingHeader(ReadStrategy.BUFFERED, csvPath);
+                BinaryWriter writer = BinaryWriter.create(binaryPath, format)) {
+            while (cursor.nextRow()) {
+                writer.copyRow(cursor);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * バイナリ形式をCSVに変換します。CSVはヘッダー付きで、末尾に改行を付けません。
+     * @param binaryPath 変換元のパス
+     * @param csvPath 変換先のCSVのパス
+     * @param format レイアウト
+     * @return 変換した件数
+     * @throws IOException 読み書きに失敗した場合
+     */
+    public static int toCsv(String binaryPath, String csvPath, BinaryFormat format) throws IOException {
+        int count = 0;
+        try (BinaryCursor cursor = BinaryCursor.open(binaryPath, format);
+                BufferedWriter writer = Files.newBufferedWriter(Paths.get(csvPath))) {
+            writer.write(format.csvHeader());
+            while (cursor.nextRow()) {
+                writer.newLine();
+                cursor.writeRow(writer);
+                count++;
+            }
+        }
+        return count;
+    }
+}
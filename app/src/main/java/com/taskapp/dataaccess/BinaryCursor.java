@@ -0,0 +1,252 @@
+package com.taskapp.dataaccess;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.taskapp.dataaccess.BinaryFormat.Field;
+
+/**
+ * {@link BinaryFormat}のファイルを1レコードずつ読み進めるカーソルです。
+ * {@link CsvRowReader}として、CSVと同じ列順で項目を返すため、CSVの読み込み処理をそのまま利用できます。
+ * 整数と日付は変換せずにそのまま返し、文字列の項目だけUTF-8から変換します。
+ * <p>
+ * 1レコード全体をバッファに読み込んでから項目を返します。
+ * 開いた時点のファイルの長さまで読み、末尾の書き込み途中のレコードは読み飛ばします。
+ * {@link #seek(long)}でレコードの位置を指定して読み始めることもできます。
+ */
+public class BinaryCursor implements CsvRowReader {
+    //文字列の最大長（65535バイト）を含むレコードが収まる大きさ
+    private static final int BUFFER_SIZE = 1 << 17;
+
+    private final FileChannel channel;
+    private final List<Field> fields;
+    private final long fileSize;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private long filePosition;
+
+    private long rowOffset = -1;
+    private int rowLength;
+    private int field;
+    private int next;
+
+    /**
+     * @param channel 読み込むファイル（先頭の識別子を読み終えた位置から読みます）
+     * @param format レイアウト
+     * @param position 読み始める位置
+     * @throws IOException ファイルの大きさを取得できない場合
+     */
+    BinaryCursor(FileChannel channel, BinaryFormat format, long position) throws IOException {
+        this.channel = channel;
+        this.fields = format.fields();
+        this.fileSize = channel.size();
+        seek(position);
+    }
+
+    /**
+     * ファイルを開き、先頭の識別子を確認します。空のファイルはレコードが0件のファイルとして扱います。
+     * @param filePath ファイルのパス
+     * @param format レイアウト
+     * @return カーソル
+     * @throws IOException ファイルを開けない、または識別子が一致しない場合
+     */
+    public static BinaryCursor open(String filePath, BinaryFormat format) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        try {
+            BinaryCursor cursor = new BinaryCursor(channel, format, 0);
+            if (cursor.fileSize > 0) {
+                if (!cursor.fill(BinaryFormat.HEADER_SIZE) || cursor.buffer.getInt() != format.magic()) {
+                    throw new IOException("unexpected binary header: " + filePath);
+                }
+            }
+            return cursor;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 指定した位置のレコードから読み直します。次の{@link #nextRow()}でその位置のレコードに進みます。
+     * @param offset レコードの先頭のバイト位置
+     */
+    public void seek(long offset) {
+        buffer.clear().flip();
+        filePosition = offset;
+        rowOffset = -1;
+        rowLength = 0;
+    }
+
+    /**
+     * 現在のレコードの先頭のバイト位置を返します。
+     * {@link #seek(long)}に渡すと、同じレコードを読み直せます。
+     * @return バイト位置、レコードを読んでいない場合は-1
+     */
+    public long rowOffset() {
+        return rowOffset;
+    }
+
+    /**
+     * 次のレコードに進みます。
+     * @return レコードがあればtrue、ファイルの終わりであればfalse
+     * @throws IOException 読み込みに失敗した場合
+     */
+    @Override
+    public boolean nextRow() throws IOException {
+        buffer.position(buffer.position() + rowLength);
+        rowLength = 0;
+        rowOffset = -1;
+
+        //可変長の項目は長さを先読みしてレコード全体の長さを求める
+        int length = 0;
+        for (Field f : fields) {
+            if (f == Field.STRING) {
+                if (!fill(length + 2)) {
+                    return false;
+                }
+                length += 2 + Short.toUnsignedInt(buffer.getShort(buffer.position() + length));
+            } else {
+                length += f.size();
+            }
+        }
+        if (!fill(length)) {
+            return false;
+        }
+        rowOffset = filePosition - buffer.remaining();
+        rowLength = length;
+        next = buffer.position();
+        field = 0;
+        return true;
+    }
+
+    @Override
+    public int nextInt() {
+        Field f = advance();
+        switch (f) {
+            case BYTE:
+                return buffer.get(next++);
+            case STRING:
+                return Integer.parseInt(readString());
+            default:
+                int value = buffer.getInt(next);
+                next += 4;
+                return value;
+        }
+    }
+
+    @Override
+    public String nextString() {
+        Field f = advance();
+        switch (f) {
+            case STRING:
+                return readString();
+            case BYTE:
+                return String.valueOf(buffer.get(next++));
+            case DATE:
+                return LocalDate.ofEpochDay(readInt()).toString();
+            default:
+                return String.valueOf(readInt());
+        }
+    }
+
+    @Override
+    public int nextEpochDay() {
+        Field f = advance();
+        switch (f) {
+            case DATE:
+            case INT:
+                return readInt();
+            case STRING:
+                return CsvDates.toEpochDay(readString());
+            default:
+                throw new IllegalStateException("field " + (field - 1) + " is not a date");
+        }
+    }
+
+    @Override
+    public void skip() {
+        Field f = advance();
+        next += f == Field.STRING ? 2 + Short.toUnsignedInt(buffer.getShort(next)) : f.size();
+    }
+
+    /**
+     * 現在のレコードをCSVの1行として書き込みます。改行は含みません。
+     * @param writer 書き込み先
+     * @throws IOException 書き込みに失敗した場合
+     */
+    @Override
+    public void writeRow(Writer writer) throws IOException {
+        if (rowLength == 0) {
+            throw new IllegalStateException("no current row");
+        }
+        int savedNext = next;
+        int savedField = field;
+        next = buffer.position();
+        field = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(nextString());
+        }
+        next = savedNext;
+        field = savedField;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Field advance() {
+        if (rowLength == 0 || field >= fields.size()) {
+            throw new IllegalStateException("no more fields in row at " + rowOffset);
+        }
+        return fields.get(field++);
+    }
+
+    private int readInt() {
+        int value = buffer.getInt(next);
+        next += 4;
+        return value;
+    }
+
+    private String readString() {
+        int length = Short.toUnsignedInt(buffer.getShort(next));
+        String value = new String(buffer.array(), buffer.arrayOffset() + next + 2, length, StandardCharsets.UTF_8);
+        next += 2 + length;
+        return value;
+    }
+
+    /**
+     * バッファの読み取り位置から指定したバイト数を読み込み済みにします。
+     * 足りない場合は読み取り済みの部分を詰めてからファイルを読み足します。
+     * @param bytes 必要なバイト数
+     * @return 読み込めた場合はtrue、ファイルの終わりに達した場合はfalse
+     */
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        try {
+            while (buffer.position() < bytes && filePosition < fileSize) {
+                buffer.limit(buffer.position() + (int) Math.min(buffer.capacity() - buffer.position(), fileSize - filePosition));
+                int read = channel.read(buffer, filePosition);
+                if (read < 0) {
+                    break;
+                }
+                filePosition += read;
+            }
+        } finally {
+            buffer.flip();
+        }
+        return buffer.remaining() >= bytes;
+    }
+}
@@ -0,0 +1,115 @@
+package com.taskapp.dataaccess;
+
+import java.util.List;
+
+/**
+ * CSVの代わりに利用するバイナリ形式のレイアウトです。
+ * ファイルの先頭に4バイトの識別子を置き、その後にCSVと同じ列順でレコードを並べます。
+ * 数値はビッグエンディアンで、文字列は2バイトの長さに続けてUTF-8で格納します。
+ * <ul>
+ * <li>{@link #TASKS}: コード(int)、タスク名(文字列)、ステータス(byte)、担当ユーザーコード(int)</li>
+ * <li>{@link #LOGS}: タスクコード(int)、変更ユーザーコード(int)、ステータス(byte)、変更日(1970-01-01からの日数のint)の13バイト固定長</li>
+ * </ul>
+ * 固定長のレイアウトでは、n件目のレコードの位置を{@link #recordOffset(long)}で計算できます。
+ */
+public final class BinaryFormat {
+    /** 先頭の識別子のバイト数 */
+    public static final int HEADER_SIZE = 4;
+
+    /** tasks.csvに対応するレイアウト */
+    public static final BinaryFormat TASKS = new BinaryFormat(0x54534b31, "Code,Name,Status,Rep_User_Code",
+            Field.INT, Field.STRING, Field.BYTE, Field.INT);
+
+    /** logs.csvに対応するレイアウト */
+    public static final BinaryFormat LOGS = new BinaryFormat(0x544c4731, "Task_Code,Change_User_Code,Status,Change_Date",
+            Field.INT, Field.INT, Field.BYTE, Field.DATE);
+
+    /**
+     * 項目の種類です。
+     */
+    public enum Field {
+        /** 4バイトの整数 */
+        INT(4),
+        /** 1バイトの整数 */
+        BYTE(1),
+        /** 2バイトの長さに続くUTF-8の文字列 */
+        STRING(-1),
+        /** 1970-01-01からの日数を表す4バイトの整数 */
+        DATE(4);
+
+        private final int size;
+
+        Field(int size) {
+            this.size = size;
+        }
+
+        /**
+         * 項目のバイト数を返します。
+         * @return バイト数、可変長の場合は-1
+         */
+        public int size() {
+            return size;
+        }
+    }
+
+    private final int magic;
+    private final String csvHeader;
+    private final List<Field> fields;
+    private final int recordSize;
+
+    private BinaryFormat(int magic, String csvHeader, Field... fields) {
+        this.magic = magic;
+        this.csvHeader = csvHeader;
+        this.fields = List.of(fields);
+        int size = 0;
+        for (Field field : fields) {
+            size = field.size() < 0 || size < 0 ? -1 : size + field.size();
+        }
+        this.recordSize = size;
+    }
+
+    /**
+     * ファイル先頭の識別子を返します。
+     * @return 識別子
+     */
+    public int magic() {
+        return magic;
+    }
+
+    /**
+     * 対応するCSVのヘッダーを返します。
+     * @return CSVのヘッダー
+     */
+    public String csvHeader() {
+        return csvHeader;
+    }
+
+    /**
+     * レコードの項目を列順で返します。
+     * @return 項目のリスト
+     */
+    public List<Field> fields() {
+        return fields;
+    }
+
+    /**
+     * 1レコードのバイト数を返します。
+     * @return バイト数、可変長の場合は-1
+     */
+    public int recordSize() {
+        return recordSize;
+    }
+
+    /**
+     * 固定長のレイアウトで、指定した番号のレコードの位置を返します。
+     * @param index レコードの番号（0から）
+     * @return ファイル先頭からのバイト位置
+     * @throws IllegalStateException 可変長のレイアウトの場合
+     */
+    public long recordOffset(long index) {
+        if (recordSize < 0) {
+            throw new IllegalStateException("variable-length records have no fixed offset");
+        }
+        return HEADER_SIZE + index * recordSize;
+    }
+}
@@ -0,0 +1,144 @@
+package com.taskapp.dataaccess;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.taskapp.dataaccess.BinaryFormat.Field;
+import com.taskapp.model.Log;
+import com.taskapp.model.Task;
+
+/**
+ * {@link BinaryFormat}のファイルにレコードを書き込みます。
+ */
+public class BinaryWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final BinaryFormat format;
+    private final DataOutputStream output;
+
+    private BinaryWriter(String filePath, BinaryFormat format, boolean append) throws IOException {
+        this.format = format;
+        boolean writeHeader = !append || new File(filePath).length() == 0;
+        this.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filePath, append), BUFFER_SIZE));
+        if (writeHeader) {
+            output.writeInt(format.magic());
+        }
+    }
+
+    /**
+     * ファイルを新しく作成します。既存のファイルは空にします。
+     * @param filePath ファイルのパス
+     * @param format レイアウト
+     * @return ライター
+     * @throws IOException ファイルを開けない場合
+     */
+    public static BinaryWriter create(String filePath, BinaryFormat format) throws IOException {
+        return new BinaryWriter(filePath, format, false);
+    }
+
+    /**
+     * ファイルの末尾に追記します。ファイルがない場合は作成します。
+     * @param filePath ファイルのパス
+     * @param format レイアウト
+     * @return ライター
+     * @throws IOException ファイルを開けない場合
+     */
+    public static BinaryWriter append(String filePath, BinaryFormat format) throws IOException {
+        return new BinaryWriter(filePath, format, true);
+    }
+
+    /**
+     * タスクを1レコード書き込みます。
+     * @param task 書き込むタスク
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void writeTask(Task task) throws IOException {
+        expect(BinaryFormat.TASKS);
+        writeInt(task.getCode());
+        writeString(task.getName());
+        writeByte(task.getStatus());
+        writeInt(task.getRepUser().getCode());
+    }
+
+    /**
+     * ログを1レコード書き込みます。
+     * @param log 書き込むログ
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void writeLog(Log log) throws IOException {
+        expect(BinaryFormat.LOGS);
+        writeInt(log.getTaskCode());
+        writeInt(log.getChangeUserCode());
+        writeByte(log.getStatus());
+        writeInt((int) log.getChangeDate().toEpochDay());
+    }
+
+    /**
+     * カーソルの現在の行を1レコードとして書き込みます。
+     * CSVとバイナリのどちらのカーソルからでも、列順に項目を読み取って変換します。
+     * @param row 現在の行
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void copyRow(CsvRowReader row) throws IOException {
+        for (Field field : format.fields()) {
+            switch (field) {
+                case INT:
+                    writeInt(row.nextInt());
+                    break;
+                case BYTE:
+                    writeByte(row.nextInt());
+                    break;
+                case STRING:
+                    writeString(row.nextString());
+                    break;
+                case DATE:
+                    writeInt(row.nextEpochDay());
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 書き込んだ内容をファイルに書き出します。
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+    private void expect(BinaryFormat expected) {
+        if (format != expected) {
+            throw new IllegalStateException("writer is not for " + expected.csvHeader());
+        }
+    }
+
+    private void writeInt(int value) throws IOException {
+        output.writeInt(value);
+    }
+
+    private void writeByte(int value) throws IOException {
+        if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("value does not fit in a byte: " + value);
+        }
+        output.writeByte(value);
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("string longer than 65535 bytes");
+        }
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+}
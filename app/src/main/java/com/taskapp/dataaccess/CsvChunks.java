@@ -0,0 +1,174 @@
+package com.taskapp.dataaccess;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * CSVのデータ行を行の境目でバイト範囲に分け、範囲ごとに並列で解釈します。
+ * 各範囲は{@link CsvCursor#open(String, long, long)}で独立して読み込むため、範囲どうしで状態を共有しません。
+ * 解釈した結果はファイルの順番に1つのスレッドへ渡すため、書き込み側は並列を意識せずに順番に処理できます。
+ * <pre>
+ * CsvChunks.read(filePath, pool, parallelism, cursor -&gt; {
+ *     List&lt;Task&gt; tasks = new ArrayList&lt;&gt;();
+ *     while (cursor.nextRow()) {
+ *         tasks.add(...);
+ *     }
+ *     return tasks;
+ * }, tasks -&gt; tasks.forEach(repository::add));
+ * </pre>
+ */
+public final class CsvChunks {
+    /** 1つの範囲の最小の大きさです。これより小さいファイルは分けずに読みます。 */
+    static final long MIN_CHUNK_BYTES = 1 << 20;
+
+    /** 1スレッドあたりの範囲の数です。行の長さの偏りで処理時間に差が出ても、空いたスレッドが次の範囲を処理できます。 */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    private CsvChunks() {
+    }
+
+    /**
+     * 範囲の内容を解釈する処理です。
+     * @param <T> 解釈した結果
+     */
+    @FunctionalInterface
+    public interface ChunkParser<T> {
+        /**
+         * 範囲の全ての行を解釈します。
+         * @param cursor 範囲の先頭の行の手前にあるカーソル
+         * @return 解釈した結果
+         * @throws IOException 読み込みに失敗した場合
+         */
+        T parse(CsvCursor cursor) throws IOException;
+    }
+
+    /**
+     * ヘッダーを除いたデータ行を、行の境目で指定した数のバイト範囲に分けます。
+     * 範囲{@code i}は{@code bounds[i]}から{@code bounds[i + 1]}の手前までで、データ行が少ない場合は空の範囲を含みます。
+     * @param filePath CSVファイルのパス
+     * @param chunks 範囲の数
+     * @return 範囲の境目の位置（要素数は{@code chunks + 1}）
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public static long[] split(String filePath, int chunks) throws IOException {
+        long[] bounds = new long[chunks + 1];
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+            //ヘッダー行の次から分ける
+            long dataStart = lineStartAtOrAfter(channel, buffer, 0, size);
+            bounds[0] = dataStart;
+            for (int i = 1; i < chunks; i++) {
+                long target = dataStart + (size - dataStart) * i / chunks;
+                bounds[i] = target <= bounds[i - 1] ? bounds[i - 1] : lineStartAtOrAfter(channel, buffer, target, size);
+            }
+            bounds[chunks] = size;
+        }
+        return bounds;
+    }
+
+    /**
+     * ファイルの大きさと並列度から、範囲の数を決めます。
+     * @param fileSize ファイルの大きさ（バイト）
+     * @param parallelism 並列度
+     * @return 範囲の数
+     */
+    public static int chunkCount(long fileSize, int parallelism) {
+        return (int) Math.max(1, Math.min((long) parallelism * CHUNKS_PER_THREAD, fileSize / MIN_CHUNK_BYTES));
+    }
+
+    /**
+     * CSVのデータ行を範囲に分けてプールで並列に解釈し、結果をファイルの順番で呼び出し元のスレッドに渡します。
+     * 解釈が終わって受け取られていない範囲は並列度の2倍までに抑えるため、
+     * 受け取り側が遅い場合もファイル全体の結果を一度にメモリに持ちません。
+     * @param <T> 解釈した結果
+     * @param filePath CSVファイルのパス
+     * @param pool 解釈に使うプール
+     * @param parallelism 並列度
+     * @param parser 範囲ごとの解釈
+     * @param consumer 結果の受け取り（ファイルの順番に、呼び出し元のスレッドで呼び出します）
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public static <T> void read(String filePath, ForkJoinPool pool, int parallelism,
+            ChunkParser<T> parser, Consumer<? super T> consumer) throws IOException {
+        long size = Paths.get(filePath).toFile().length();
+        long[] bounds = split(filePath, chunkCount(size, parallelism));
+        int window = Math.max(1, parallelism * 2);
+        Deque<ForkJoinTask<T>> pending = new ArrayDeque<>();
+        try {
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                if (pending.size() >= window) {
+                    consumer.accept(join(pending.poll()));
+                }
+                long start = bounds[i];
+                long end = bounds[i + 1];
+                pending.add(pool.submit(() -> {
+                    try (CsvCursor cursor = CsvCursor.open(filePath, start, end)) {
+                        return parser.parse(cursor);
+                    }
+                }));
+            }
+            while (!pending.isEmpty()) {
+                consumer.accept(join(pending.poll()));
+            }
+        } finally {
+            //途中で失敗した場合は残りの範囲を取り消す
+            pending.forEach(task -> task.cancel(true));
+        }
+    }
+
+    private static <T> T join(ForkJoinTask<T> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted", e);
+        } catch (ExecutionException e) {
+            //プールが例外を包み直すため、原因をたどって読み込みの失敗を探す
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException io) {
+                    throw io;
+                }
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * 指定した位置以降で最初に始まる行の位置を返します。
+     * 指定した位置が行の先頭であればその位置を返します。
+     */
+    private static long lineStartAtOrAfter(FileChannel channel, ByteBuffer buffer, long position, long size)
+            throws IOException {
+        //1つ前のバイトが改行であれば、指定した位置が行の先頭
+        long pos = Math.max(0, position - 1);
+        while (pos < size) {
+            buffer.clear();
+            int read = channel.read(buffer, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,306 @@
+package com.taskapp.dataaccess;
+
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * CSVを1行ずつ読み進め、各項目を文字バッファから直接解釈するカーソルです。
+ * {@code String#split}や行ごとの文字列・リストを作らず、数値と日付は文字のまま計算して返します。
+ * 文字列が必要な項目（タスク名など）だけ{@link #nextString()}で文字列にします。
+ * <pre>
+ * try (CsvCursor cursor = CsvCursor.open(filePath)) {
+ *     cursor.nextRow(); //ヘッダー
+ *     while (cursor.nextRow()) {
+ *         int code = cursor.nextInt();
+ *         String name = cursor.nextString();
+ *     }
+ * }
+ * </pre>
+ * 空行は読み飛ばします。項目の区切りはカンマのみで、引用符は扱いません。
+ */
+public class CsvCursor implements CsvRowReader {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Reader reader;
+    private char[] buffer = new char[BUFFER_SIZE];
+    private int limit;
+    private boolean eof;
+
+    private int rowStart;
+    private int rowEnd;
+    private int next;
+    private int position;
+
+    /**
+     * @param reader 読み込むCSV
+     */
+    public CsvCursor(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * ファイルをUTF-8で開きます。
+     * 開いた時点のファイルの長さまで読み、読み込み中に追記された内容は読みません。
+     * @param filePath CSVファイルのパス
+     * @return カーソル
+     * @throws IOException ファイルを開けない場合
+     */
+    public static CsvCursor open(String filePath) throws IOException {
+        FileInputStream in = new FileInputStream(filePath);
+        InputStream bounded = new BoundedInputStream(in, in.getChannel().size());
+        return new CsvCursor(new InputStreamReader(bounded, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * ファイルの指定した範囲だけをUTF-8で開きます。
+     * 範囲は行の先頭から始まり、行の終わりで終わるように指定してください。
+     * @see CsvChunks#split(String, int)
+     * @param filePath CSVファイルのパス
+     * @param start 読み始める位置（バイト）
+     * @param end 読み終える位置（バイト、含まない）
+     * @return カーソル
+     * @throws IOException ファイルを開けない場合
+     */
+    public static CsvCursor open(String filePath, long start, long end) throws IOException {
+        FileInputStream in = new FileInputStream(filePath);
+        try {
+            in.getChannel().position(start);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        InputStream bounded = new BoundedInputStream(in, Math.max(0, end - start));
+        return new CsvCursor(new InputStreamReader(bounded, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 次の行に進みます。
+     * @return 行があればtrue、ファイルの終わりであればfalse
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public boolean nextRow() throws IOException {
+        while (true) {
+            int start = next;
+            int end = indexOfLineEnd(start);
+            while (end < 0 && !eof) {
+                start = fill(start);
+                end = indexOfLineEnd(start);
+            }
+            if (end < 0) {
+                //最終行は改行なしで終わる
+                if (start >= limit) {
+                    next = limit;
+                    return false;
+                }
+                end = limit;
+            }
+            next = end + 1;
+            //CRLFのCRを除く
+            if (end > start && buffer[end - 1] == '\r') {
+                end--;
+            }
+            if (end > start) {
+                rowStart = start;
+                rowEnd = end;
+                position = start;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 現在の項目を整数として読み、次の項目に進みます。
+     * @return 整数値
+     */
+    public int nextInt() {
+        int i = position;
+        boolean negative = i < rowEnd && buffer[i] == '-';
+        if (negative) {
+            i++;
+        }
+        if (i >= rowEnd || buffer[i] == ',') {
+            throw invalid("integer");
+        }
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int multmin = limit / 10;
+        int value = 0;
+        for (; i < rowEnd && buffer[i] != ','; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalid("integer");
+            }
+            //Integer.parseIntと同じく負の値で数え、範囲を超える場合は桁あふれさせずに解釈できない値とする
+            if (value < multmin) {
+                throw invalid("integer");
+            }
+            value *= 10;
+            if (value < limit + digit) {
+                throw invalid("integer");
+            }
+            value -= digit;
+        }
+        skipSeparator(i);
+        return negative ? value : -value;
+    }
+
+    /**
+     * 現在の項目を文字列として読み、次の項目に進みます。
+     * @return 文字列
+     */
+    public String nextString() {
+        int end = fieldEnd();
+        String value = new String(buffer, position, end - position);
+        skipSeparator(end);
+        return value;
+    }
+
+    /**
+     * 現在の項目をyyyy-MM-dd形式の日付として読み、1970-01-01からの日数を返して次の項目に進みます。
+     * @return 1970-01-01からの日数
+     */
+    public int nextEpochDay() {
+        int i = position;
+        if (fieldEnd() - i != 10 || buffer[i + 4] != '-' || buffer[i + 7] != '-') {
+            throw invalid("date");
+        }
+        int year = digits(i, 4);
+        int month = digits(i + 5, 2);
+        int day = digits(i + 8, 2);
+        skipSeparator(i + 10);
+        return CsvDates.epochDay(year, month, day);
+    }
+
+    /**
+     * 現在の項目をyyyy-MM-dd形式の日付として読み、次の項目に進みます。
+     * @return 日付
+     */
+    public LocalDate nextDate() {
+        return LocalDate.ofEpochDay(nextEpochDay());
+    }
+
+    /**
+     * 現在の項目を読み飛ばします。
+     */
+    public void skip() {
+        skipSeparator(fieldEnd());
+    }
+
+    /**
+     * 現在の行をそのまま書き込みます。改行は含みません。
+     * @param writer 書き込み先
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void writeRow(Writer writer) throws IOException {
+        writer.write(buffer, rowStart, rowEnd - rowStart);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int indexOfLineEnd(int from) {
+        for (int i = from; i < limit; i++) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 未処理の部分をバッファの先頭に寄せ、続きを読み込みます。
+     * @param start 未処理の部分の先頭
+     * @return 寄せた後の未処理の部分の先頭
+     */
+    private int fill(int start) throws IOException {
+        int remaining = limit - start;
+        if (start > 0) {
+            System.arraycopy(buffer, start, buffer, 0, remaining);
+        } else if (remaining == buffer.length) {
+            //1行がバッファより長い場合は拡張
+            buffer = Arrays.copyOf(buffer, buffer.length << 1);
+        }
+        limit = remaining;
+        next = 0;
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+        } else {
+            limit += read;
+        }
+        return 0;
+    }
+
+    private int fieldEnd() {
+        int i = position;
+        while (i < rowEnd && buffer[i] != ',') {
+            i++;
+        }
+        return i;
+    }
+
+    private void skipSeparator(int fieldEnd) {
+        position = fieldEnd < rowEnd ? fieldEnd + 1 : rowEnd;
+    }
+
+    private int digits(int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalid("date");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private NumberFormatException invalid(String type) {
+        return new NumberFormatException("invalid " + type + " in row: " + new String(buffer, rowStart, rowEnd - rowStart));
+    }
+
+    /**
+     * 指定したバイト数までを読む入力です。
+     */
+    private static class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.taskapp.dataaccess;
+
+/**
+ * CSVの日付（yyyy-MM-dd）を1970-01-01からの日数に変換します。
+ * {@link java.time.LocalDate}を生成せずに計算するため、大量の行を読み込む際に利用します。
+ */
+class CsvDates {
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private CsvDates() {
+    }
+
+    /**
+     * yyyy-MM-dd形式の日付を1970-01-01からの日数に変換します。
+     * @param text 日付の文字列
+     * @return 1970-01-01からの日数
+     */
+    static int toEpochDay(String text) {
+        if (text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            throw new NumberFormatException("invalid date: " + text);
+        }
+        return epochDay(
+            Integer.parseInt(text, 0, 4, 10),
+            Integer.parseInt(text, 5, 7, 10),
+            Integer.parseInt(text, 8, 10, 10));
+    }
+
+    /**
+     * 年月日を1970-01-01からの日数に変換します。
+     * @param year 年
+     * @param month 月
+     * @param day 日
+     * @return 1970-01-01からの日数
+     */
+    static int epochDay(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            throw new NumberFormatException("invalid date: " + year + "-" + month + "-" + day);
+        }
+        //3月始まりの暦に直し、400年周期で日数を数える
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int monthFromMarch = (month + 9) % 12;
+        int dayOfYear = (153 * monthFromMarch + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2 && (year % 4 == 0 && year % 100 != 0 || year % 400 == 0)) {
+            return 29;
+        }
+        return DAYS_IN_MONTH[month - 1];
+    }
+}
@@ -0,0 +1,58 @@
+package com.taskapp.dataaccess;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+
+/**
+ * CSVを1行ずつ読み進め、現在の行の項目を先頭から順に読み取ります。
+ * 実装は{@link ReadStrategy}で選択します。
+ */
+public interface CsvRowReader extends Closeable {
+
+    /**
+     * 次の行に進みます。空行は読み飛ばします。
+     * @return 行があればtrue、ファイルの終わりであればfalse
+     * @throws IOException 読み込みに失敗した場合
+     */
+    boolean nextRow() throws IOException;
+
+    /**
+     * 現在の項目を整数として読み、次の項目に進みます。
+     * @return 整数値
+     */
+    int nextInt();
+
+    /**
+     * 現在の項目を文字列として読み、次の項目に進みます。
+     * @return 文字列
+     */
+    String nextString();
+
+    /**
+     * 現在の項目をyyyy-MM-dd形式の日付として読み、1970-01-01からの日数を返して次の項目に進みます。
+     * @return 1970-01-01からの日数
+     */
+    int nextEpochDay();
+
+    /**
+     * 現在の項目をyyyy-MM-dd形式の日付として読み、次の項目に進みます。
+     * @return 日付
+     */
+    default LocalDate nextDate() {
+        return LocalDate.ofEpochDay(nextEpochDay());
+    }
+
+    /**
+     * 現在の項目を読み飛ばします。
+     */
+    void skip();
+
+    /**
+     * 現在の行をそのまま書き込みます。改行は含みません。
+     * @param writer 書き込み先
+     * @throws IOException 書き込みに失敗した場合
+     */
+    void writeRow(Writer writer) throws IOException;
+}
@@ -0,0 +1,74 @@
+package com.taskapp.dataaccess;
+
+import java.io.IOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link CsvRowReader}を、要求されたときに1行ずつ読み進める{@link Stream}に変換します。
+ * ストリームは読み込んだ行を保持しないため、件数に関わらず使用するメモリは一定です。
+ * ストリームを閉じるとファイルも閉じます。{@code findFirst}などで途中で終えた場合も、
+ * try-with-resourcesで閉じてください。
+ */
+final class CsvStreams {
+
+    private CsvStreams() {
+    }
+
+    /**
+     * CSVファイルを開き、ヘッダー行を読み飛ばしたカーソルを返します。
+     * @param strategy 読み込み方式
+     * @param filePath CSVファイルのパス
+     * @return ヘッダーを読み終えたカーソル
+     * @throws IOException ファイルを開けない場合
+     */
+    static CsvRowReader openSkippingHeader(ReadStrategy strategy, String filePath) throws IOException {
+        CsvRowReader cursor = strategy.open(filePath);
+        try {
+            cursor.nextRow();
+        } catch (IOException e) {
+            cursor.close();
+            throw e;
+        }
+        return cursor;
+    }
+
+    /**
+     * カーソルの残りの行を順番に変換するストリームを返します。
+     * 読み込みに失敗した場合はスタックトレースを出力し、その時点でストリームを終えます。
+     *
+     * @param cursor ヘッダーを読み終えたカーソル
+     * @param mapper 現在の行を変換する関数、nullを返した行は読み飛ばします
+     * @return 変換した行のストリーム
+     */
+    static <T> Stream<T> stream(CsvRowReader cursor, Function<? super CsvRowReader, ? extends T> mapper) {
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    while (cursor.nextRow()) {
+                        T row = mapper.apply(cursor);
+                        if (row != null) {
+                            action.accept(row);
+                            return true;
+                        }
+                    }
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                return false;
+            }
+        };
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            try {
+                cursor.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.taskapp.dataaccess;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * ファイルの更新日時とサイズを記録し、読み込み後に外部から変更されたかを判定します。
+ */
+class FileSnapshot {
+    private final long lastModified;
+    private final long size;
+
+    private FileSnapshot(long lastModified, long size) {
+        this.lastModified = lastModified;
+        this.size = size;
+    }
+
+    /**
+     * 現在のファイルの状態を記録します。
+     * @param filePath 対象のファイル
+     * @return ファイルの状態、読み取れない場合は存在しないものとして扱います
+     */
+    static FileSnapshot of(String filePath) {
+        Path path = Paths.get(filePath);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileSnapshot(attributes.lastModifiedTime().toMillis(), attributes.size());
+        } catch (IOException e) {
+            return new FileSnapshot(-1, -1);
+        }
+    }
+
+    /**
+     * 記録した状態から変更されていないか判定します。
+     * @param filePath 対象のファイル
+     * @return 変更されていなければtrue
+     */
+    boolean isCurrent(String filePath) {
+        FileSnapshot current = of(filePath);
+        return current.lastModified == lastModified && current.size == size;
+    }
+}
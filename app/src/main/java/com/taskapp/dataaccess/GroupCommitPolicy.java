@@ -0,0 +1,52 @@
+package com.taskapp.dataaccess;
+
+/**
+ * {@link LogAppender}がバッファをファイルに書き出すタイミングの設定です。
+ * 書き込み件数・経過時間のどちらかが上限に達した時点、または{@link LogAppender#sync()}の呼び出し時に書き出します。
+ */
+public class GroupCommitPolicy {
+    private final int maxRecords;
+    private final long maxDelayMillis;
+    private final boolean fsync;
+    private final boolean waitForCommit;
+
+    /**
+     * 1件ごとにファイルへ書き出し、fsyncは行わない設定を生成します。
+     * 従来の1件ごとにファイルを開いて閉じる動作と同じ内容がすぐにファイルから読めます。
+     */
+    public GroupCommitPolicy() {
+        this(1, 0, false, false);
+    }
+
+    /**
+     * @param maxRecords この件数が溜まったら書き出します
+     * @param maxDelayMillis 最初の未書き出しのレコードからこの時間が経過したら書き出します。0の場合は時間では書き出しません
+     * @param fsync 書き出し時にfsyncでディスクへの反映まで行う場合はtrue
+     * @param waitForCommit 保存処理が自分のレコードの書き出し完了まで待つ場合はtrue
+     */
+    public GroupCommitPolicy(int maxRecords, long maxDelayMillis, boolean fsync, boolean waitForCommit) {
+        if (maxRecords < 1 || maxDelayMillis < 0) {
+            throw new IllegalArgumentException("maxRecords must be positive and maxDelayMillis must not be negative");
+        }
+        this.maxRecords = maxRecords;
+        this.maxDelayMillis = maxDelayMillis;
+        this.fsync = fsync;
+        this.waitForCommit = waitForCommit;
+    }
+
+    public int getMaxRecords() {
+        return maxRecords;
+    }
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    public boolean isFsync() {
+        return fsync;
+    }
+
+    public boolean isWaitForCommit() {
+        return waitForCommit;
+    }
+}
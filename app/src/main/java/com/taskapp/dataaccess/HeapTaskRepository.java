@@ -0,0 +1,264 @@
+package com.taskapp.dataaccess;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.taskapp.model.Task;
+import com.taskapp.model.TaskPage;
+import com.taskapp.model.TaskQuery;
+import com.taskapp.model.TaskSort;
+import com.taskapp.model.TaskSummary;
+import com.taskapp.util.IntIntMap;
+
+/**
+ * タスクをヒープ上のオブジェクトとして保持し、コードで索引するリポジトリです。
+ * コードから先頭の行位置を引く索引と、同じコードの次の行位置を持つ配列で検索します。
+ * ページ単位の取得のため、ステータスごとと担当ユーザーごとの行位置の索引も保持します。
+ * 集計のため、ステータスごとと担当ユーザーごとの件数も{@link TaskCounters}で数えておきます。
+ */
+public class HeapTaskRepository implements TaskRepository {
+    private static final int NONE = -1;
+    private static final int NO_USER = Integer.MIN_VALUE;
+
+    private Task[] rows = new Task[16];
+    private int[] next = new int[16];
+    private int slotCount;
+    private int size;
+    private final IntIntMap heads = new IntIntMap();
+    private final SlotIndex byStatus = new SlotIndex();
+    private final SlotIndex byRepUser = new SlotIndex();
+    private final TaskCounters counters = new TaskCounters();
+
+    /**
+     * タスクを末尾に追加します。
+     * @param task 追加するタスク
+     */
+    @Override
+    public void add(Task task) {
+        if (slotCount == rows.length) {
+            rows = Arrays.copyOf(rows, slotCount << 1);
+            next = Arrays.copyOf(next, slotCount << 1);
+        }
+        int slot = slotCount++;
+        rows[slot] = task;
+        next[slot] = NONE;
+        size++;
+        index(slot);
+
+        //同じコードの行があれば末尾につなぐ
+        int head = heads.get(task.getCode(), NONE);
+        if (head == NONE) {
+            heads.put(task.getCode(), slot);
+            return;
+        }
+        while (next[head] != NONE) {
+            head = next[head];
+        }
+        next[head] = slot;
+    }
+
+    /**
+     * コードを基にタスクを1件取得します。
+     * @param code 取得するタスクのコード
+     * @return 見つかったタスク、存在しない場合はnull
+     */
+    @Override
+    public Task findByCode(int code) {
+        int slot = heads.get(code, NONE);
+        return slot == NONE ? null : rows[slot];
+    }
+
+    /**
+     * 全てのタスクを行順で取得します。
+     * @return タスクのリスト
+     */
+    @Override
+    public List<Task> findAll() {
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < slotCount; i++) {
+            if (rows[i] != null) {
+                tasks.add(rows[i]);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * 同じコードを持つタスクを全て置き換えます。
+     * @param task 置き換え後のタスク
+     * @return 置き換えた場合はtrue
+     */
+    @Override
+    public boolean update(Task task) {
+        int slot = heads.get(task.getCode(), NONE);
+        if (slot == NONE) {
+            return false;
+        }
+        for (; slot != NONE; slot = next[slot]) {
+            unindex(slot);
+            rows[slot] = task;
+            index(slot);
+        }
+        return true;
+    }
+
+    /**
+     * コードを基にタスクを全て削除します。
+     * @param code 削除するタスクのコード
+     * @return 削除した場合はtrue
+     */
+    @Override
+    public boolean delete(int code) {
+        int slot = heads.remove(code, NONE);
+        if (slot == NONE) {
+            return false;
+        }
+        for (; slot != NONE; slot = next[slot]) {
+            unindex(slot);
+            rows[slot] = null;
+            size--;
+        }
+
+        //空き行が半分を超えたら詰め直す
+        if (slotCount - size > size && slotCount > 16) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * 条件に該当するタスクを1ページ分取得します。
+     * ステータスか担当ユーザーで絞り込む場合は、件数の少ない方の索引から候補の行だけを調べます。
+     * タスク名の前方一致は候補の行に対して判定します。
+     * @param query 取得する条件
+     * @return 該当するタスクの1ページ
+     */
+    @Override
+    public TaskPage query(TaskQuery query) {
+        int[] candidates = candidates(query);
+        int end = candidates == null ? slotCount : candidates.length;
+        int offset = query.getOffset();
+        int limit = query.getLimit();
+        TaskSort sort = query.getSort();
+
+        //行順の場合は、該当件数を数えながらページの範囲だけ取り出す
+        if (sort == TaskSort.FILE_ORDER) {
+            List<Task> page = new ArrayList<>(Math.min(limit, end));
+            int total = 0;
+            for (int i = 0; i < end; i++) {
+                Task task = rows[candidates == null ? i : candidates[i]];
+                if (matches(task, query)) {
+                    if (total >= offset && page.size() < limit) {
+                        page.add(task);
+                    }
+                    total++;
+                }
+            }
+            return new TaskPage(page, total, offset);
+        }
+
+        List<Task> matched = new ArrayList<>();
+        for (int i = 0; i < end; i++) {
+            Task task = rows[candidates == null ? i : candidates[i]];
+            if (matches(task, query)) {
+                matched.add(task);
+            }
+        }
+        matched.sort(sort.comparator());
+        int from = Math.min(offset, matched.size());
+        int to = Math.min(from + limit, matched.size());
+        return new TaskPage(new ArrayList<>(matched.subList(from, to)), matched.size(), offset);
+    }
+
+    /**
+     * 保持しているタスクの件数を返します。
+     * @return 件数
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * ステータスごとと担当ユーザーごとのタスクの件数を返します。
+     * 件数は追加・更新・削除のたびに数え直しているため、タスクの件数によらず一定の時間で返します。
+     * @return 件数の集計
+     */
+    @Override
+    public TaskSummary summary() {
+        return counters.summary();
+    }
+
+    /**
+     * 索引から候補の行位置を行順で取り出します。
+     * @param query 取得する条件
+     * @return 候補の行位置、索引で絞り込めない場合はnull
+     */
+    private int[] candidates(TaskQuery query) {
+        Integer status = query.getStatus();
+        Integer repUserCode = query.getRepUserCode();
+        int[] slots;
+        if (status != null && (repUserCode == null || byStatus.count(status) <= byRepUser.count(repUserCode))) {
+            slots = byStatus.slots(status);
+        } else if (repUserCode != null) {
+            slots = byRepUser.slots(repUserCode);
+        } else {
+            return null;
+        }
+        Arrays.sort(slots);
+        return slots;
+    }
+
+    private static boolean matches(Task task, TaskQuery query) {
+        if (task == null) {
+            return false;
+        }
+        if (query.getStatus() != null && task.getStatus() != query.getStatus()) {
+            return false;
+        }
+        if (query.getRepUserCode() != null && repUserKey(task) != query.getRepUserCode()) {
+            return false;
+        }
+        String prefix = query.getNamePrefix();
+        return prefix == null || prefix.isEmpty()
+                || (task.getName() != null && task.getName().startsWith(prefix));
+    }
+
+    private void index(int slot) {
+        byStatus.add(rows[slot].getStatus(), slot);
+        byRepUser.add(repUserKey(rows[slot]), slot);
+        counters.add(rows[slot].getStatus(), repUserKey(rows[slot]));
+    }
+
+    private void unindex(int slot) {
+        byStatus.remove(rows[slot].getStatus(), slot);
+        byRepUser.remove(repUserKey(rows[slot]), slot);
+        counters.remove(rows[slot].getStatus(), repUserKey(rows[slot]));
+    }
+
+    private static int repUserKey(Task task) {
+        return task.getRepUser() == null ? NO_USER : task.getRepUser().getCode();
+    }
+
+    private void compact() {
+        Task[] live = new Task[size];
+        int count = 0;
+        for (int i = 0; i < slotCount; i++) {
+            if (rows[i] != null) {
+                live[count++] = rows[i];
+            }
+        }
+        rows = new Task[Math.max(16, count)];
+        next = new int[rows.length];
+        slotCount = 0;
+        size = 0;
+        heads.clear();
+        byStatus.clear();
+        byRepUser.clear();
+        counters.clear();
+        for (Task task : live) {
+            add(task);
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.taskapp.dataaccess;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSVファイルを開いたままにして行を追記し続けるライターです。
+ * 追記した行はバッファに溜め、{@link GroupCommitPolicy}に従ってまとめてファイルに書き出します。
+ * 書き出し完了を待つ設定の場合、同時に待っている全ての呼び出し元が1回の書き出し（fsync）を共有します。
+ * <p>
+ * 既存のCSVに合わせ、各行は改行を先に書いてから追記します。
+ * JVM終了時には、未書き出しの行があるライターを1つのシャットダウンフックでまとめて書き出してから閉じます。
+ * 書き出し済みのライターはフックから参照しないため、閉じずに使い終えた場合もGCで回収されます。
+ */
+public class LogAppender implements Closeable {
+    /** 未書き出しの行があるライターです。 */
+    private static final Set<LogAppender> UNFLUSHED = ConcurrentHashMap.newKeySet();
+
+    static {
+        //JVM終了時に未書き出しの行を失わないようにする
+        Runtime.getRuntime().addShutdownHook(new Thread(LogAppender::closeUnflushed, "taskapp-log-close"));
+    }
+
+    private final Path path;
+    private final Object fileKey;
+    private final GroupCommitPolicy policy;
+    private final FileOutputStream output;
+    private final FileChannel channel;
+    private final BufferedWriter writer;
+    private final ScheduledExecutorService flusher;
+
+    private static final int SEPARATOR_BYTES = System.lineSeparator().length();
+
+    private long position;
+    private long flushedPosition;
+    private long appended;
+    private long committed;
+    private int pending;
+    private boolean closed;
+
+    private final long openedAt = System.nanoTime();
+    private long flushes;
+    private long syncs;
+
+    /**
+     * ファイルを追記モードで開きます。
+     * @param filePath 追記するファイル
+     * @param policy 書き出しのタイミング
+     * @return 開いたライター
+     * @throws IOException ファイルを開けない場合
+     */
+    public static LogAppender open(String filePath, GroupCommitPolicy policy) throws IOException {
+        LogAppender appender = new LogAppender(filePath, policy);
+        appender.startFlusher();
+        return appender;
+    }
+
+    private LogAppender(String filePath, GroupCommitPolicy policy) throws IOException {
+        this.path = Paths.get(filePath);
+        this.policy = policy;
+        this.output = new FileOutputStream(filePath, true);
+        try {
+            this.channel = output.getChannel();
+            this.position = channel.size();
+            this.flushedPosition = position;
+            this.fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        } catch (IOException e) {
+            output.close();
+            throw e;
+        }
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        this.flusher = policy.getMaxDelayMillis() > 0
+                ? Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "taskapp-log-flusher");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    /**
+     * 時間経過での書き出しを始めます。
+     */
+    private void startFlusher() {
+        if (flusher != null) {
+            flusher.scheduleWithFixedDelay(this::flushQuietly,
+                    policy.getMaxDelayMillis(), policy.getMaxDelayMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 開いているファイルが、まだパスの指すファイルで、自分が書き込んだ分以外に変わっていないかを判定します。
+     * 他のインスタンスやプロセスがファイルを置き換えた場合や追記した場合はfalseを返すため、開き直してください。
+     * @return 変わっていなければtrue
+     */
+    public synchronized boolean isCurrent() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            //バッファが一杯になると書き出し前でも一部がファイルに書かれるため、書き込み済みの位置までは許す
+            return Objects.equals(attributes.fileKey(), fileKey)
+                    && attributes.size() >= flushedPosition && attributes.size() <= position;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 1行を追記します。設定に応じて書き出し完了まで待ちます。
+     * @param line 追記する行（改行を含まない）
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void append(String line) throws IOException {
+        long sequence = write(line);
+        if (policy.isWaitForCommit()) {
+            awaitCommit(sequence);
+        }
+    }
+
+    /**
+     * 1行をバッファに書き込みます。書き出し完了は待ちません。
+     * @param line 追記する行（改行を含まない）
+     * @return 書き込んだレコードの番号。{@link #awaitCommit(long)}に渡します
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public synchronized long write(String line) throws IOException {
+        ensureOpen();
+        writer.newLine();
+        writer.write(line);
+        position += SEPARATOR_BYTES + utf8Length(line);
+        appended++;
+        if (pending == 0) {
+            UNFLUSHED.add(this);
+        }
+        if (++pending >= policy.getMaxRecords()) {
+            commit();
+        }
+        return appended;
+    }
+
+    /**
+     * 次に追記する行の改行の位置（書き出し前の分も含めたファイルの末尾）を返します。
+     * 次の行そのものは、この位置に改行のバイト数を足した位置から始まります。
+     * @return ファイルの末尾のバイト位置
+     */
+    public synchronized long position() {
+        return position;
+    }
+
+    /**
+     * 改行のバイト数を返します。
+     * @return 改行のバイト数
+     */
+    public static int separatorBytes() {
+        return SEPARATOR_BYTES;
+    }
+
+    /**
+     * 文字列をUTF-8で書き込んだ場合のバイト数を返します。
+     * @param text 文字列
+     * @return バイト数
+     */
+    public static int utf8Length(String text) {
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * 指定した番号のレコードが書き出されるまで待ちます。
+     * 時間経過で書き出さない設定の場合は、待たずに自分で書き出します。
+     * @param sequence {@link #write(String)}が返したレコードの番号
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public synchronized void awaitCommit(long sequence) throws IOException {
+        while (committed < sequence) {
+            ensureOpen();
+            if (flusher == null) {
+                commit();
+                return;
+            }
+            try {
+                wait(policy.getMaxDelayMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for log commit");
+            }
+        }
+    }
+
+    /**
+     * 未書き出しの行を全てファイルに書き出し、設定に応じてfsyncします。
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public synchronized void sync() throws IOException {
+        ensureOpen();
+        if (pending > 0) {
+            commit();
+        }
+    }
+
+    /**
+     * 未書き出しの行を書き出してfsyncし、ファイルを閉じます。
+     * @throws IOException 書き出しに失敗した場合
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            try {
+                writer.flush();
+                channel.force(false);
+                flushedPosition = position;
+                committed = appended;
+                pending = 0;
+            } finally {
+                closed = true;
+                UNFLUSHED.remove(this);
+                notifyAll();
+                writer.close();
+            }
+        }
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+    }
+
+    /**
+     * 書き込み件数や書き出し回数などの統計を返します。
+     * @return 統計
+     */
+    public synchronized Metrics metrics() {
+        return new Metrics(appended, flushes, syncs, System.nanoTime() - openedAt);
+    }
+
+    private void commit() throws IOException {
+        writer.flush();
+        flushedPosition = position;
+        UNFLUSHED.remove(this);
+        flushes++;
+        if (policy.isFsync()) {
+            channel.force(false);
+            syncs++;
+        }
+        committed = appended;
+        pending = 0;
+        notifyAll();
+    }
+
+    private synchronized void flushQuietly() {
+        if (closed || pending == 0) {
+            return;
+        }
+        try {
+            commit();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 未書き出しの行がある全てのライターを書き出して閉じます。シャットダウンフックから呼び出されます。
+     */
+    private static void closeUnflushed() {
+        for (LogAppender appender : UNFLUSHED) {
+            try {
+                appender.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("log appender is closed");
+        }
+    }
+
+    /**
+     * 追記の統計です。
+     */
+    public static class Metrics {
+        private final long records;
+        private final long flushes;
+        private final long syncs;
+        private final long elapsedNanos;
+
+        public Metrics(long records, long flushes, long syncs, long elapsedNanos) {
+            this.records = records;
+            this.flushes = flushes;
+            this.syncs = syncs;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRecords() {
+            return records;
+        }
+
+        public long getFlushes() {
+            return flushes;
+        }
+
+        public long getSyncs() {
+            return syncs;
+        }
+
+        /**
+         * 開いてからの1秒あたりの追記件数を返します。
+         * @return 1秒あたりの件数
+         */
+        public double getRecordsPerSecond() {
+            return elapsedNanos == 0 ? 0 : records * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        /**
+         * 1回の書き出しあたりの平均件数を返します。
+         * @return 平均件数
+         */
+        public double getRecordsPerFlush() {
+            return flushes == 0 ? 0 : (double) records / flushes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("records=%d, flushes=%d, syncs=%d, records/s=%.1f, records/flush=%.1f",
+                    records, flushes, syncs, getRecordsPerSecond(), getRecordsPerFlush());
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.taskapp.dataaccess;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.taskapp.model.Log;
+
+/**
+ * ログを項目ごとのプリミティブ配列で保持するストアです。
+ * タスクコード・変更ユーザーコード・変更日はint、ステータスはbyteの配列に格納し、1件あたり13バイトで保持します。
+ * {@link Log}と{@link LocalDate}のオブジェクトは{@link #get(int)}などで必要になった時点で作成します。
+ * <p>
+ * 絞り込みは{@link RowFilter}で各項目をプリミティブのまま判定し、該当する行番号を返します。
+ * 1つのインスタンスを複数のスレッドで共有する場合は、呼び出し側で同期してください。
+ */
+public class LogColumns {
+    private int[] taskCodes;
+    private int[] userCodes;
+    private byte[] statuses;
+    private int[] epochDays;
+    private int size;
+
+    public LogColumns() {
+        this(64);
+    }
+
+    /**
+     * @param capacity 最初に確保する件数
+     */
+    public LogColumns(int capacity) {
+        int initial = Math.max(1, capacity);
+        taskCodes = new int[initial];
+        userCodes = new int[initial];
+        statuses = new byte[initial];
+        epochDays = new int[initial];
+    }
+
+    /**
+     * 行の各項目をプリミティブのまま判定する条件です。
+     */
+    @FunctionalInterface
+    public interface RowFilter {
+        /**
+         * @param taskCode タスクコード
+         * @param userCode 変更ユーザーコード
+         * @param status ステータス
+         * @param epochDay 変更日（1970-01-01からの日数）
+         * @return 該当する場合はtrue
+         */
+        boolean test(int taskCode, int userCode, int status, int epochDay);
+    }
+
+    /**
+     * ログを末尾に追加します。
+     * @param taskCode タスクコード
+     * @param userCode 変更ユーザーコード
+     * @param status ステータス（-128～127）
+     * @param epochDay 変更日（1970-01-01からの日数）
+     */
+    public void add(int taskCode, int userCode, int status, int epochDay) {
+        if (status < Byte.MIN_VALUE || status > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("status does not fit in a byte: " + status);
+        }
+        if (size == taskCodes.length) {
+            int capacity = size << 1;
+            taskCodes = Arrays.copyOf(taskCodes, capacity);
+            userCodes = Arrays.copyOf(userCodes, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+        }
+        taskCodes[size] = taskCode;
+        userCodes[size] = userCode;
+        statuses[size] = (byte) status;
+        epochDays[size] = epochDay;
+        size++;
+    }
+
+    /**
+     * ログを末尾に追加します。
+     * @param log 追加するログ
+     */
+    public void add(Log log) {
+        add(log.getTaskCode(), log.getChangeUserCode(), log.getStatus(), (int) log.getChangeDate().toEpochDay());
+    }
+
+    /**
+     * 保持しているログの件数を返します。
+     * @return 件数
+     */
+    public int size() {
+        return size;
+    }
+
+    public int taskCode(int row) {
+        return taskCodes[check(row)];
+    }
+
+    public int userCode(int row) {
+        return userCodes[check(row)];
+    }
+
+    public int status(int row) {
+        return statuses[check(row)];
+    }
+
+    public int epochDay(int row) {
+        return epochDays[check(row)];
+    }
+
+    /**
+     * 指定した行を{@link Log}として返します。呼び出すたびに新しいオブジェクトを作成します。
+     * @param row 行番号
+     * @return ログ
+     */
+    public Log get(int row) {
+        check(row);
+        return new Log(taskCodes[row], userCodes[row], statuses[row], LocalDate.ofEpochDay(epochDays[row]));
+    }
+
+    /**
+     * 条件に該当する行番号を、追加した順番で返します。
+     * @param filter 条件
+     * @return 行番号の配列
+     */
+    public int[] select(RowFilter filter) {
+        int[] rows = new int[16];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (filter.test(taskCodes[i], userCodes[i], statuses[i], epochDays[i])) {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, count << 1);
+                }
+                rows[count++] = i;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * 条件に該当する行の件数を返します。
+     * @param filter 条件
+     * @return 件数
+     */
+    public int count(RowFilter filter) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (filter.test(taskCodes[i], userCodes[i], statuses[i], epochDays[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 条件に該当する行を削除し、残りの行を詰めます。
+     * @param filter 削除する条件
+     * @return 削除した件数
+     */
+    public int removeIf(RowFilter filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (filter.test(taskCodes[i], userCodes[i], statuses[i], epochDays[i])) {
+                continue;
+            }
+            taskCodes[kept] = taskCodes[i];
+            userCodes[kept] = userCodes[i];
+            statuses[kept] = statuses[i];
+            epochDays[kept] = epochDays[i];
+            kept++;
+        }
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    /**
+     * 指定した行を{@link Log}のリストに変換します。
+     * @param rows 行番号
+     * @return ログのリスト
+     */
+    public List<Log> toLogs(int[] rows) {
+        List<Log> logs = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            logs.add(get(row));
+        }
+        return logs;
+    }
+
+    /**
+     * 配列の大きさを件数に合わせ、余分な領域を解放します。
+     */
+    public void trimToSize() {
+        int capacity = Math.max(1, size);
+        taskCodes = Arrays.copyOf(taskCodes, capacity);
+        userCodes = Arrays.copyOf(userCodes, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+    }
+
+    private int check(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + " out of " + size);
+        }
+        return row;
+    }
+}
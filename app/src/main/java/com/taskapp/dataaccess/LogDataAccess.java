@@ -1,23 +1,73 @@
 package com.taskapp.dataaccess;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.taskapp.model.Log;
+import com.taskapp.util.IntIntMap;
 
+/**
+ * logs.csvへのアクセスを行います。
+ * <p>
+ * {@link StorageOptions#isLogTombstones()}を有効にした場合、{@link #deleteByTaskCode(int)}はCSVを書き直さずに
+ * {@link LogTombstones}へ削除を記録するだけで済ませ、読み込み時に削除済みのログを除外します。
+ * 物理的な削除は{@link #compact()}または{@link #purge(Collection)}でまとめて行います。
+ * <p>
+ * ログの追記は開いたままの{@link LogAppender}で行い、{@link StorageOptions#getCommitPolicy()}に従ってまとめて書き出します。
+ * 利用を終える際は{@link #close()}を呼び出してください。
+ * <p>
+ * タスクコード・変更ユーザー・変更日での絞り込みは{@link LogIndex}を使い、CSVを全件読み込まずに行います。
+ * 索引は初回の絞り込み時に読み込み、以降は追記に合わせて更新します。
+ * <p>
+ * {@link StorageOptions#getFormat()}でバイナリ形式を選んだ場合は、{@link BinaryFormat#LOGS}の固定長レコードで読み書きします。
+ */
 public class LogDataAccess {
+    private static final String HEADER = "Task_Code,Change_User_Code,Status,Change_Date";
+
     private final String filePath;
 
+    private final StorageOptions options;
+
+    private final LogTombstones tombstones;
+
+    private LogAppender appender;
+
+    private LogIndex index;
+
+    private int rowCount = -1;
+
+    /**
+     * ログの各項目をプリミティブのまま受け取る処理です。
+     */
+    @FunctionalInterface
+    public interface RowConsumer {
+        /**
+         * @param taskCode タスクコード
+         * @param userCode 変更ユーザーコード
+         * @param status ステータス
+         * @param epochDay 変更日（1970-01-01からの日数）
+         */
+        void accept(int taskCode, int userCode, int status, int epochDay);
+    }
 
     public LogDataAccess() {
         filePath = "app/src/main/resources/logs.csv";
+        options = new StorageOptions();
+        tombstones = null;
     }
 
     /**
@@ -25,92 +75,570 @@ public class LogDataAccess {
      * @param filePath
      */
     public LogDataAccess(String filePath) {
+        this(filePath, new StorageOptions());
+    }
+
+    /**
+     * 保存方式を指定してインスタンスを生成します。
+     * 削除記録はCSVと同じ場所に「.tombstones」を付けた名前で作成します。
+     * @param filePath logs.csvのパス
+     * @param options 保存方式
+     */
+    public LogDataAccess(String filePath, StorageOptions options) {
         this.filePath = filePath;
+        this.options = options;
+        this.tombstones = options.isLogTombstones() ? new LogTombstones(filePath + ".tombstones") : null;
     }
 
     /**
      * ログをCSVファイルに保存します。
      *
      * @param log 保存するログ
+     * @return 書き込めた場合（書き出しの完了を待つ設定ではその完了まで）はtrue
+     */
+    public boolean save(Log log) {
+        if (options.getFormat() == StorageFormat.BINARY) {
+            return saveBinary(log);
+        }
+        LogAppender target;
+        long sequence;
+        synchronized (this) {
+            try {
+                //最後の行に書き込み
+                target = appender();
+                String line = createLine(log);
+                long offset = target.position() + LogAppender.separatorBytes();
+                sequence = target.write(line);
+                //索引を読み込み済みであれば追記した行を追加
+                if (index != null) {
+                    index.add(offset, LogAppender.utf8Length(line), log.getTaskCode(), log.getChangeUserCode(),
+                            log.getStatus(), (int) log.getChangeDate().toEpochDay());
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                return false;
+            }
+            if (rowCount >= 0) {
+                rowCount++;
+            }
+        }
+        //書き出し完了を待つ間は他の保存処理を止めず、同じ書き出しを共有させる
+        return awaitCommit(target, sequence);
+    }
+
+    /**
+     * 複数のログを1回の追記でCSVファイルに保存します。
+     * 全ての行を続けて書き込み、書き出しの完了を待つ場合も最後の行の分を1回だけ待ちます。
+     *
+     * @param logs 保存するログ
+     * @return 全て書き込めた場合、または保存するログがない場合はtrue
      */
-    public void save(Log log) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true))) {
-            //成形
-            List<String> textList = new ArrayList<>(Arrays.asList(
-                Integer.toString(log.getTaskCode()),
-                Integer.toString(log.getChangeUserCode()),
-                Integer.toString(log.getStatus()),
-                log.getChangeDate().toString()));
-            
-            //最後の行に書き込み
-            writer.newLine();
-            writer.write(String.join(",", textList));
+    public boolean saveAll(List<Log> logs) {
+        if (logs.isEmpty()) {
+            return true;
+        }
+        if (options.getFormat() == StorageFormat.BINARY) {
+            return saveAllBinary(logs);
+        }
+        LogAppender target;
+        long sequence = 0;
+        synchronized (this) {
+            int written = 0;
+            try {
+                //最後の行に続けて書き込み
+                target = appender();
+                for (Log log : logs) {
+                    String line = createLine(log);
+                    long offset = target.position() + LogAppender.separatorBytes();
+                    sequence = target.write(line);
+                    written++;
+                    //索引を読み込み済みであれば追記した行を追加
+                    if (index != null) {
+                        index.add(offset, LogAppender.utf8Length(line), log.getTaskCode(), log.getChangeUserCode(),
+                                log.getStatus(), (int) log.getChangeDate().toEpochDay());
+                    }
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                return false;
+            } finally {
+                if (rowCount >= 0) {
+                    rowCount += written;
+                }
+            }
+        }
+        return awaitCommit(target, sequence);
+    }
+
+    /**
+     * 書き出しの完了を待つ設定の場合は、指定したレコードまで書き出されるのを待ちます。
+     * @param target 書き込んだアペンダー
+     * @param sequence 書き込んだレコードの番号
+     * @return 待つ必要がない場合、または書き出せた場合はtrue
+     */
+    private boolean awaitCommit(LogAppender target, long sequence) {
+        if (!options.getCommitPolicy().isWaitForCommit()) {
+            return true;
+        }
+        try {
+            target.awaitCommit(sequence);
         } catch (IOException e) {
             e.printStackTrace();
+            return false;
         }
+        return true;
     }
 
     /**
-     * すべてのログを取得します。
+     * 未書き出しのログをファイルに書き出します。
+     */
+    public synchronized void sync() {
+        try {
+            if (appender != null) {
+                appender.sync();
+            }
+            if (index != null) {
+                index.flush();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 未書き出しのログを書き出してファイルを閉じます。
+     * 閉じた後に保存した場合は、ファイルを開き直して追記します。
+     */
+    public synchronized void close() {
+        try {
+            if (appender != null) {
+                appender.close();
+            }
+            if (index != null) {
+                index.flush();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        appender = null;
+    }
+
+    /**
+     * ログの追記に関する統計を返します。
+     * @return 統計、まだ追記していない場合はnull
+     */
+    public synchronized LogAppender.Metrics appenderMetrics() {
+        return appender == null ? null : appender.metrics();
+    }
+
+    /**
+     * すべてのログを取得します。削除記録のあるログは含みません。
      *
+     * @see #stream()
      * @return すべてのログのリスト
      */
-    public List<Log> findAll() {
-        List<Log> log = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            //reader line temp
-            String line = "";
-            //ヘッダー回避
-            reader.readLine();
-
-            //""を読むまでループ
-            while ((line = reader.readLine()) != null) {
-                List<String> value = new ArrayList<>(Arrays.asList(line.split(",")));
-                List<String> dateList = new ArrayList<>(Arrays.asList(value.get(3).split("-")));
-                log.add(new Log(
-                    Integer.parseInt(value.get(0)),
-                    Integer.parseInt(value.get(1)),
-                    Integer.parseInt(value.get(2)),
-                    LocalDate.of(
-                        Integer.parseInt(dateList.get(0)),
-                        Integer.parseInt(dateList.get(1)),
-                        Integer.parseInt(dateList.get(2))
-                    )
-                ));
+    public synchronized List<Log> findAll() {
+        try (Stream<Log> logs = stream()) {
+            return logs.collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    /**
+     * すべてのログを、項目ごとのプリミティブ配列で取得します。削除記録のあるログは含みません。
+     * {@link Log}のオブジェクトを作らずに読み込むため、{@link #findAll()}より使用するメモリが大幅に少なく済みます。
+     *
+     * @return すべてのログ
+     */
+    public synchronized LogColumns findAllColumns() {
+        sync();
+        LogColumns columns = new LogColumns(rowCount >= 0 ? rowCount : 64);
+        boolean filter = tombstones != null && !tombstones.isEmpty();
+        int rowIndex = 0;
+        try (CsvRowReader cursor = openRows()) {
+            while (cursor.nextRow()) {
+                int taskCode = cursor.nextInt();
+                //削除済みのログを除外
+                if (filter && tombstones.isDeleted(taskCode, rowIndex++)) {
+                    continue;
+                }
+                columns.add(taskCode, cursor.nextInt(), cursor.nextInt(), cursor.nextEpochDay());
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        columns.trimToSize();
+        return columns;
+    }
+
+    /**
+     * すべてのログを、読み込みながら記録された順番で返すストリームを取得します。削除記録のあるログは含みません。
+     * 1行ずつ読み込んで変換するため、件数に関わらず使用するメモリは一定で、途中で読むのをやめることもできます。
+     * ストリームを閉じるまでファイルを開いたままにするため、try-with-resourcesで閉じてください。
+     * 開いた時点までに保存したログを返し、その後に保存したログは含みません。
+     *
+     * @return ログのストリーム
+     */
+    public Stream<Log> stream() {
+        CsvRowReader cursor;
+        IntIntMap deleted;
+        synchronized (this) {
+            sync();
+            deleted = tombstones == null || tombstones.isEmpty() ? null : tombstones.deletedBefore();
+            try {
+                cursor = openRows();
+            } catch (IOException e) {
+                e.printStackTrace();
+                return Stream.empty();
+            }
+        }
+        int[] rowIndex = new int[1];
+        return CsvStreams.stream(cursor, row -> {
+            int taskCode = row.nextInt();
+            //削除済みのログを除外
+            if (deleted != null && rowIndex[0]++ < deleted.get(taskCode, 0)) {
+                return null;
+            }
+            return new Log(taskCode, row.nextInt(), row.nextInt(), row.nextDate());
+        });
+    }
+
+    /**
+     * すべてのログを、記録された順番に項目ごとのプリミティブのまま処理します。削除記録のあるログは含みません。
+     * {@link Log}も行ごとの文字列も作らずに1行ずつ読むため、ログの件数に関わらず使用するメモリは一定です。
+     * 開いた時点までに保存したログを処理し、読み込み中はロックを保持しないため他の保存処理を止めません。
+     *
+     * @param action ログごとの処理
+     */
+    public void forEachRow(RowConsumer action) {
+        CsvRowReader cursor;
+        IntIntMap deleted;
+        synchronized (this) {
+            sync();
+            deleted = tombstones == null || tombstones.isEmpty() ? null : tombstones.deletedBefore();
+            try {
+                cursor = openRows();
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+        }
+        int rowIndex = 0;
+        try (CsvRowReader rows = cursor) {
+            while (rows.nextRow()) {
+                int taskCode = rows.nextInt();
+                //削除済みのログを除外
+                if (deleted != null && rowIndex++ < deleted.get(taskCode, 0)) {
+                    continue;
+                }
+                action.accept(taskCode, rows.nextInt(), rows.nextInt(), rows.nextEpochDay());
             }
         } catch (IOException e) {
             e.printStackTrace();
         }
-        return log;
+    }
+
+    /**
+     * 指定したタスクコードのログを、記録された順番で取得します。
+     *
+     * @param taskCode タスクコード
+     * @return ログのリスト
+     */
+    public synchronized List<Log> findByTaskCode(int taskCode) {
+        if (options.getFormat() == StorageFormat.BINARY) {
+            return scan(log -> log.getTaskCode() == taskCode);
+        }
+        LogIndex logIndex = index();
+        return logIndex == null ? new ArrayList<>() : toLogs(logIndex, logIndex.rowsByTask(taskCode));
+    }
+
+    /**
+     * 指定したユーザーが変更したログを、記録された順番で取得します。
+     *
+     * @param changeUserCode 変更ユーザーコード
+     * @return ログのリスト
+     */
+    public synchronized List<Log> findByUser(int changeUserCode) {
+        if (options.getFormat() == StorageFormat.BINARY) {
+            return scan(log -> log.getChangeUserCode() == changeUserCode);
+        }
+        LogIndex logIndex = index();
+        return logIndex == null ? new ArrayList<>() : toLogs(logIndex, logIndex.rowsByUser(changeUserCode));
+    }
+
+    /**
+     * 変更日が指定した期間にあるログを、変更日の順番で取得します。
+     *
+     * @param from 開始日（含む）
+     * @param to 終了日（含む）
+     * @return ログのリスト
+     */
+    public synchronized List<Log> findByDateRange(LocalDate from, LocalDate to) {
+        if (options.getFormat() == StorageFormat.BINARY) {
+            List<Log> logs = scan(log -> !log.getChangeDate().isBefore(from) && !log.getChangeDate().isAfter(to));
+            logs.sort(Comparator.comparing(Log::getChangeDate));
+            return logs;
+        }
+        LogIndex logIndex = index();
+        return logIndex == null ? new ArrayList<>()
+                : toLogs(logIndex, logIndex.rowsByDateRange((int) from.toEpochDay(), (int) to.toEpochDay()));
     }
 
     /**
      * 指定したタスクコードに該当するログを削除します。
+     * 削除記録を使う設定の場合は、削除を記録するだけでCSVは書き直しません。
      *
-     * @see #findAll()
+     * @see #purge(Collection)
      * @param taskCode 削除するログのタスクコード
+     * @return 削除または削除の記録を書き込めた場合はtrue
+     */
+    public synchronized boolean deleteByTaskCode(int taskCode) {
+        if (tombstones == null) {
+            return purge(Set.of(taskCode));
+        }
+        if (!tombstones.add(taskCode, rowCount())) {
+            return false;
+        }
+        if (tombstones.records() >= options.getTombstoneMaxRecords()) {
+            BackgroundCompactor.submit(this, this::compact);
+        }
+        return true;
+    }
+
+    /**
+     * 指定した全てのタスクコードに該当するログを削除します。
+     * 削除記録を使わない設定の場合も、CSVの書き直しは1回で済ませます。
+     *
+     * @see #purge(Collection)
+     * @param taskCodes 削除するログのタスクコード
+     * @return 削除または削除の記録を書き込めた場合、あるいは削除するタスクコードがない場合はtrue
+     */
+    public synchronized boolean deleteByTaskCodes(Collection<Integer> taskCodes) {
+        if (taskCodes.isEmpty()) {
+            return true;
+        }
+        if (tombstones == null) {
+            return purge(taskCodes);
+        }
+        if (!tombstones.addAll(taskCodes, rowCount())) {
+            return false;
+        }
+        if (tombstones.records() >= options.getTombstoneMaxRecords()) {
+            BackgroundCompactor.submit(this, this::compact);
+        }
+        return true;
+    }
+
+    /**
+     * 削除記録のあるログをCSVから物理的に削除します。
      */
-    public void deleteByTaskCode(int taskCode) {
-        //csv内情報取得
-        List<Log> log = findAll();
-        List<String> textList = new ArrayList<>();
+    public synchronized void compact() {
+        if (tombstones == null || tombstones.isEmpty()) {
+            return;
+        }
+        purge(Set.of());
+    }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
+    /**
+     * 指定した全てのタスクコードのログと、削除記録のあるログを1回の書き直しでCSVから削除します。
+     * CSVは1行ずつ一時ファイルに書き写してから置き換えるため、ログの件数に関わらず使用するメモリは一定です。
+     *
+     * @param taskCodes 削除するログのタスクコード
+     * @return 置き換えまで完了した場合はtrue
+     */
+    public synchronized boolean purge(Collection<Integer> taskCodes) {
+        //置き換え後のファイルに追記するため開き直す
+        close();
+        Set<Integer> codes = new HashSet<>(taskCodes);
+        boolean filter = tombstones != null && !tombstones.isEmpty();
+        Path target = Paths.get(filePath);
+        Path temp = Paths.get(filePath + ".tmp");
+        boolean binary = options.getFormat() == StorageFormat.BINARY;
+        int rowIndex = 0;
+        int written = 0;
+        try (CsvRowReader cursor = binary ? openRows() : CsvStreams.openSkippingHeader(ReadStrategy.BUFFERED, filePath);
+                BufferedWriter writer = binary ? null : Files.newBufferedWriter(temp);
+                BinaryWriter binaryWriter = binary ? BinaryWriter.create(temp.toString(), BinaryFormat.LOGS) : null) {
             //ヘッダー書き込み
-            writer.write("Task_Code,Change_User_Code,Status,Change_Date");
+            if (writer != null) {
+                writer.write(HEADER);
+            }
 
-            //削除するcodeと一致しないlogをadd
-            for (Log l : log){
-                if (l.getTaskCode() != taskCode) {
-                    textList.add(l.getTaskCode() + "," + l.getChangeUserCode() + "," + l.getStatus() + "," + l.getChangeDate());
+            //削除対象でない行をそのまま書き写す
+            while (cursor.nextRow()) {
+                int taskCode = cursor.nextInt();
+                boolean deleted = codes.contains(taskCode) || filter && tombstones.isDeleted(taskCode, rowIndex);
+                rowIndex++;
+                if (deleted) {
+                    continue;
+                }
+                if (binaryWriter != null) {
+                    binaryWriter.writeLog(new Log(taskCode, cursor.nextInt(), cursor.nextInt(), cursor.nextDate()));
+                } else {
+                    writer.newLine();
+                    cursor.writeRow(writer);
                 }
+                written++;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        rowCount = written;
+        if (tombstones != null) {
+            tombstones.clear();
+        }
+        //行の位置が変わったため索引は次回作り直す
+        index = null;
+        try {
+            LogIndex.delete(filePath);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return true;
+    }
+
+    /**
+     * ヘッダーを除いたログの件数を返します。初回のみCSVを数えます。
+     * @return ログの件数
+     */
+    private int rowCount() {
+        if (rowCount >= 0) {
+            return rowCount;
+        }
+        sync();
+        int count = 0;
+        try (CsvRowReader cursor = openRows()) {
+            while (cursor.nextRow()) {
+                count++;
             }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        rowCount = count;
+        return rowCount;
+    }
+
+    /**
+     * 保存形式に従ってファイルを開き、最初のデータ行の手前まで進めたカーソルを返します。
+     * @return カーソル
+     * @throws IOException ファイルを開けない場合
+     */
+    private CsvRowReader openRows() throws IOException {
+        return options.getFormat().openRows(filePath, BinaryFormat.LOGS, options.getReadStrategy());
+    }
+
+    /**
+     * 全てのログを1回走査し、条件に一致するログを記録された順番で取得します。
+     * 索引を使わないバイナリ形式の絞り込みに利用します。
+     * @param condition 条件
+     * @return ログのリスト
+     */
+    private List<Log> scan(Predicate<Log> condition) {
+        try (Stream<Log> logs = stream()) {
+            return logs.filter(condition).collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    /**
+     * ログをバイナリ形式のファイルの末尾に1レコード書き込みます。
+     * @param log 保存するログ
+     * @return 書き込めた場合はtrue
+     */
+    private synchronized boolean saveBinary(Log log) {
+        try (BinaryWriter writer = BinaryWriter.append(filePath, BinaryFormat.LOGS)) {
+            writer.writeLog(log);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        if (rowCount >= 0) {
+            rowCount++;
+        }
+        return true;
+    }
 
-            //joinして書き込み
-            writer.write(String.join("\n", textList));
+    /**
+     * 複数のログをバイナリ形式のファイルの末尾に続けて書き込みます。
+     * @param logs 保存するログ
+     * @return 書き込めた場合はtrue
+     */
+    private synchronized boolean saveAllBinary(List<Log> logs) {
+        try (BinaryWriter writer = BinaryWriter.append(filePath, BinaryFormat.LOGS)) {
+            for (Log log : logs) {
+                writer.writeLog(log);
+            }
         } catch (IOException e) {
             e.printStackTrace();
+            return false;
+        }
+        if (rowCount >= 0) {
+            rowCount += logs.size();
+        }
+        return true;
+    }
+
+    /**
+     * 索引を返します。未読み込みの場合は保存済みの索引を読み込み、足りない行を読み足します。
+     * @return 索引、読み込めなかった場合はnull
+     */
+    private LogIndex index() {
+        sync();
+        if (index == null) {
+            try {
+                index = LogIndex.open(filePath);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
         }
+        return index;
+    }
+
+    /**
+     * 索引の行番号をログに変換します。削除記録のあるログは含みません。
+     * @param logIndex 索引
+     * @param rows 行番号
+     * @return ログのリスト
+     */
+    private List<Log> toLogs(LogIndex logIndex, int[] rows) {
+        boolean filter = tombstones != null && !tombstones.isEmpty();
+        List<Log> logs = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            int taskCode = logIndex.taskCode(row);
+            if (filter && tombstones.isDeleted(taskCode, row)) {
+                continue;
+            }
+            logs.add(new Log(taskCode, logIndex.userCode(row), logIndex.status(row),
+                    LocalDate.ofEpochDay(logIndex.epochDay(row))));
+        }
+        return logs;
+    }
+
+    /**
+     * 追記用のライターを返します。閉じている場合は開き直します。
+     * 他のインスタンスやプロセスがファイルを書き直した・追記した場合も、置き換え後のファイルを開き直し、
+     * 行の位置が変わっているため索引と件数は次回読み直します。
+     * 書き出しを待たない設定で未書き出しの行があった場合、その行は置き換え前のファイルに書き出されます。
+     * @return 追記用のライター
+     * @throws IOException ファイルを開けない場合
+     */
+    private LogAppender appender() throws IOException {
+        if (appender != null && !appender.isCurrent()) {
+            appender.close();
+            appender = null;
+            //古いファイルの索引は保存しない
+            index = null;
+            rowCount = -1;
+        }
+        if (appender == null) {
+            appender = LogAppender.open(filePath, options.getCommitPolicy());
+        }
+        return appender;
     }
 
     /**
@@ -119,7 +647,8 @@ public class LogDataAccess {
      * @param log フォーマットを作成するログ
      * @return CSVファイルに書き込むためのフォーマット
      */
-    // private String createLine(Log log) {
-    // }
+    private String createLine(Log log) {
+        return log.getTaskCode() + "," + log.getChangeUserCode() + "," + log.getStatus() + "," + log.getChangeDate();
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,411 @@
+package com.taskapp.dataaccess;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import com.taskapp.util.IntIntMap;
+
+/**
+ * logs.csvの各行の内容と位置を保持する索引です。
+ * タスクコード・変更ユーザーコードごとの行の並びと、日付順の並びを持ち、ログを絞り込む際にCSVを読まずに済ませます。
+ * <p>
+ * 索引はlogs.csvと同じ場所に「.idx」を付けた名前で、1行を固定長（24バイト）のレコードとして追記保存します。
+ * 開く際は最後のレコードがlogs.csvの該当位置の行と一致するかを確かめ、一致すればそれ以降の行だけを読み足します。
+ * 一致しない場合はlogs.csvが書き直されたものとして作り直します。
+ */
+public class LogIndex {
+    private static final int RECORD_BYTES = 24;
+    private static final int FLUSH_INTERVAL = 4096;
+    private static final int NONE = -1;
+
+    private final String logFilePath;
+    private final String indexFilePath;
+
+    private long[] offsets = new long[64];
+    private int[] taskCodes = new int[64];
+    private int[] userCodes = new int[64];
+    private byte[] statuses = new byte[64];
+    private int[] epochDays = new int[64];
+    private int[] nextByTask = new int[64];
+    private int[] nextByUser = new int[64];
+    private int size;
+    private int persisted;
+
+    private final IntIntMap headByTask = new IntIntMap();
+    private final IntIntMap tailByTask = new IntIntMap();
+    private final IntIntMap headByUser = new IntIntMap();
+    private final IntIntMap tailByUser = new IntIntMap();
+
+    private long[] byDay;
+
+    private long indexedEnd;
+
+    private LogIndex(String logFilePath) {
+        this.logFilePath = logFilePath;
+        this.indexFilePath = logFilePath + ".idx";
+    }
+
+    /**
+     * 保存済みの索引を読み込み、logs.csvに追加された行を読み足します。
+     * 索引がない、またはlogs.csvと一致しない場合は作り直します。
+     * @param logFilePath logs.csvのパス
+     * @return 索引
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public static LogIndex open(String logFilePath) throws IOException {
+        LogIndex index = new LogIndex(logFilePath);
+        if (!index.loadPersisted()) {
+            index = new LogIndex(logFilePath);
+            Files.deleteIfExists(Paths.get(index.indexFilePath));
+            index.scan(0, true);
+        } else {
+            index.scan(index.indexedEnd, false);
+        }
+        index.flush();
+        return index;
+    }
+
+    /**
+     * 保存済みの索引ファイルを削除します。logs.csvを書き直した後に呼び出します。
+     * @param logFilePath logs.csvのパス
+     * @throws IOException 削除に失敗した場合
+     */
+    public static void delete(String logFilePath) throws IOException {
+        Files.deleteIfExists(Paths.get(logFilePath + ".idx"));
+    }
+
+    /**
+     * 追記した行を索引に追加します。
+     * @param offset 行の先頭のバイト位置
+     * @param lineBytes 行のバイト数（改行を含まない）
+     * @param taskCode タスクコード
+     * @param userCode 変更ユーザーコード
+     * @param status ステータス
+     * @param epochDay 変更日（1970-01-01からの日数）
+     */
+    public void add(long offset, int lineBytes, int taskCode, int userCode, int status, int epochDay) {
+        put(offset, taskCode, userCode, status, epochDay);
+        indexedEnd = offset + lineBytes;
+
+        //一定件数ごとに保存し、異常終了時に読み足す量を抑える
+        if (size - persisted >= FLUSH_INTERVAL) {
+            try {
+                flush();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void put(long offset, int taskCode, int userCode, int status, int epochDay) {
+        if (size == offsets.length) {
+            grow();
+        }
+        int row = size++;
+        offsets[row] = offset;
+        taskCodes[row] = taskCode;
+        userCodes[row] = userCode;
+        statuses[row] = (byte) status;
+        epochDays[row] = epochDay;
+        nextByTask[row] = NONE;
+        nextByUser[row] = NONE;
+        link(headByTask, tailByTask, nextByTask, taskCode, row);
+        link(headByUser, tailByUser, nextByUser, userCode, row);
+        byDay = null;
+    }
+
+    /**
+     * まだ保存していないレコードを索引ファイルに追記します。
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void flush() throws IOException {
+        if (persisted == size) {
+            return;
+        }
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(indexFilePath, true)))) {
+            for (int row = persisted; row < size; row++) {
+                out.writeLong(offsets[row]);
+                out.writeInt(taskCodes[row]);
+                out.writeInt(userCodes[row]);
+                out.writeInt(statuses[row]);
+                out.writeInt(epochDays[row]);
+            }
+        }
+        persisted = size;
+    }
+
+    /**
+     * 索引している行の件数を返します。
+     * @return 件数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 指定したタスクコードの行番号を、ファイル内の順番で返します。
+     * @param taskCode タスクコード
+     * @return 行番号の配列
+     */
+    public int[] rowsByTask(int taskCode) {
+        return collect(headByTask.get(taskCode, NONE), nextByTask);
+    }
+
+    /**
+     * 指定した変更ユーザーコードの行番号を、ファイル内の順番で返します。
+     * @param userCode 変更ユーザーコード
+     * @return 行番号の配列
+     */
+    public int[] rowsByUser(int userCode) {
+        return collect(headByUser.get(userCode, NONE), nextByUser);
+    }
+
+    /**
+     * 変更日が指定した範囲にある行番号を、日付順（同じ日付はファイル内の順番）で返します。
+     * @param fromEpochDay 開始日（含む）
+     * @param toEpochDay 終了日（含む）
+     * @return 行番号の配列
+     */
+    public int[] rowsByDateRange(int fromEpochDay, int toEpochDay) {
+        if (byDay == null) {
+            //日付を上位、行番号を下位に詰めて並べ替える
+            long[] keys = new long[size];
+            for (int row = 0; row < size; row++) {
+                keys[row] = (long) epochDays[row] << 32 | row;
+            }
+            Arrays.sort(keys);
+            byDay = keys;
+        }
+        int from = lowerBound(byDay, (long) fromEpochDay << 32);
+        int to = lowerBound(byDay, ((long) toEpochDay + 1) << 32);
+        int[] rows = new int[Math.max(0, to - from)];
+        for (int i = from; i < to; i++) {
+            rows[i - from] = (int) byDay[i];
+        }
+        return rows;
+    }
+
+    public int taskCode(int row) {
+        return taskCodes[row];
+    }
+
+    public int userCode(int row) {
+        return userCodes[row];
+    }
+
+    public int status(int row) {
+        return statuses[row];
+    }
+
+    public int epochDay(int row) {
+        return epochDays[row];
+    }
+
+    /**
+     * 索引ファイルを読み込み、最後のレコードがlogs.csvと一致するか確かめます。
+     * @return 利用できる場合はtrue
+     */
+    private boolean loadPersisted() throws IOException {
+        File indexFile = new File(indexFilePath);
+        if (!indexFile.exists() || indexFile.length() < RECORD_BYTES) {
+            return false;
+        }
+        int records = (int) (indexFile.length() / RECORD_BYTES);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            for (int i = 0; i < records; i++) {
+                long offset = in.readLong();
+                int taskCode = in.readInt();
+                int userCode = in.readInt();
+                int status = in.readInt();
+                int epochDay = in.readInt();
+                put(offset, taskCode, userCode, status, epochDay);
+            }
+        } catch (EOFException e) {
+            return false;
+        }
+        persisted = size;
+        //書き込み途中のレコードが残っていれば切り詰める
+        if (indexFile.length() != (long) records * RECORD_BYTES) {
+            try (RandomAccessFile file = new RandomAccessFile(indexFile, "rw")) {
+                file.setLength((long) records * RECORD_BYTES);
+            }
+        }
+
+        //最後のレコードとlogs.csvの該当行を照合
+        int last = size - 1;
+        try (RandomAccessFile log = new RandomAccessFile(logFilePath, "r")) {
+            if (offsets[last] >= log.length()) {
+                return false;
+            }
+            log.seek(offsets[last]);
+            String line = log.readLine();
+            if (line == null) {
+                return false;
+            }
+            String[] value = line.split(",");
+            if (value.length < 4
+                    || !value[0].equals(Integer.toString(taskCodes[last]))
+                    || !value[1].equals(Integer.toString(userCodes[last]))
+                    || !value[2].equals(Integer.toString(statuses[last]))
+                    || CsvDates.toEpochDay(value[3]) != epochDays[last]) {
+                return false;
+            }
+            indexedEnd = offsets[last] + line.length();
+        } catch (RuntimeException e) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * logs.csvを指定した位置から読み、各行を索引に追加します。
+     * @param start 読み始める位置
+     * @param skipHeader 先頭行をヘッダーとして読み飛ばす場合はtrue
+     */
+    private void scan(long start, boolean skipHeader) throws IOException {
+        File logFile = new File(logFilePath);
+        if (!logFile.exists() || logFile.length() <= start) {
+            return;
+        }
+        try (InputStream in = new FileInputStream(logFile)) {
+            in.skipNBytes(start);
+            byte[] buffer = new byte[1 << 16];
+            byte[] line = new byte[128];
+            int length = 0;
+            long lineStart = start;
+            long position = start;
+            boolean header = skipHeader;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++, position++) {
+                    byte b = buffer[i];
+                    if (b != '\n') {
+                        if (length == line.length) {
+                            line = Arrays.copyOf(line, length << 1);
+                        }
+                        line[length++] = b;
+                        continue;
+                    }
+                    //1行分たまったら索引に追加
+                    header = endLine(line, length, lineStart, header);
+                    length = 0;
+                    lineStart = position + 1;
+                }
+            }
+            endLine(line, length, lineStart, header);
+        }
+    }
+
+    private boolean endLine(byte[] line, int length, long offset, boolean header) {
+        int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+        if (!header && end > 0) {
+            addLine(line, end, offset);
+        }
+        return false;
+    }
+
+    private void addLine(byte[] line, int length, long offset) {
+        //タスクコード,変更ユーザーコード,ステータス,yyyy-MM-dd を文字列にせずに解釈する
+        int[] fields = new int[3];
+        int position = 0;
+        for (int f = 0; f < 3; f++) {
+            int value = 0;
+            int start = position;
+            while (position < length && line[position] != ',') {
+                int digit = line[position++] - '0';
+                if (digit < 0 || digit > 9) {
+                    return;
+                }
+                value = value * 10 + digit;
+            }
+            if (position == start || position == length) {
+                return;
+            }
+            fields[f] = value;
+            position++;
+        }
+        if (length - position != 10 || line[position + 4] != '-' || line[position + 7] != '-') {
+            return;
+        }
+        try {
+            int epochDay = CsvDates.epochDay(
+                digits(line, position, 4), digits(line, position + 5, 2), digits(line, position + 8, 2));
+            add(offset, length, fields[0], fields[1], fields[2], epochDay);
+        } catch (NumberFormatException e) {
+            //解釈できない行は索引しない
+        }
+    }
+
+    private static int digits(byte[] line, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("invalid date");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private void link(IntIntMap heads, IntIntMap tails, int[] next, int key, int row) {
+        int tail = tails.get(key, NONE);
+        if (tail == NONE) {
+            heads.put(key, row);
+        } else {
+            next[tail] = row;
+        }
+        tails.put(key, row);
+    }
+
+    private int[] collect(int head, int[] next) {
+        int count = 0;
+        for (int row = head; row != NONE; row = next[row]) {
+            count++;
+        }
+        int[] rows = new int[count];
+        int i = 0;
+        for (int row = head; row != NONE; row = next[row]) {
+            rows[i++] = row;
+        }
+        return rows;
+    }
+
+    private static int lowerBound(long[] keys, long key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void grow() {
+        int capacity = offsets.length << 1;
+        offsets = Arrays.copyOf(offsets, capacity);
+        taskCodes = Arrays.copyOf(taskCodes, capacity);
+        userCodes = Arrays.copyOf(userCodes, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        nextByTask = Arrays.copyOf(nextByTask, capacity);
+        nextByUser = Arrays.copyOf(nextByUser, capacity);
+    }
+}
@@ -0,0 +1,141 @@
+package com.taskapp.dataaccess;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+
+import com.taskapp.util.IntIntMap;
+
+/**
+ * logs.csvから論理的に削除したタスクコードを記録するファイルです。
+ * 1行が「タスクコード,削除時点のログ件数」で、その件数より前にあるログだけを削除済みとして扱います。
+ * そのため削除後に同じタスクコードで追加されたログは削除されません。
+ */
+public class LogTombstones {
+    private final String filePath;
+
+    private IntIntMap deletedBefore;
+
+    private int records;
+
+    /**
+     * @param filePath 削除記録ファイルのパス
+     */
+    public LogTombstones(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * タスクコードの削除を記録します。
+     * @param taskCode 削除するタスクコード
+     * @param rowCount 削除時点のログの件数
+     * @return 書き込めた場合はtrue
+     */
+    public boolean add(int taskCode, int rowCount) {
+        return addAll(List.of(taskCode), rowCount);
+    }
+
+    /**
+     * 複数のタスクコードの削除を1回の書き込みで記録します。
+     * @param taskCodes 削除するタスクコード
+     * @param rowCount 削除時点のログの件数
+     * @return 書き込めた場合はtrue
+     */
+    public boolean addAll(Collection<Integer> taskCodes, int rowCount) {
+        IntIntMap deleted = deleted();
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true))) {
+            for (int taskCode : taskCodes) {
+                writer.write(taskCode + "," + rowCount);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        for (int taskCode : taskCodes) {
+            deleted.put(taskCode, Math.max(rowCount, deleted.get(taskCode, 0)));
+        }
+        records += taskCodes.size();
+        return true;
+    }
+
+    /**
+     * 指定した位置のログが削除済みか判定します。
+     * @param taskCode ログのタスクコード
+     * @param rowIndex ログの位置（ヘッダーを除いて0から数えた行番号）
+     * @return 削除済みであればtrue
+     */
+    public boolean isDeleted(int taskCode, int rowIndex) {
+        return rowIndex < deleted().get(taskCode, 0);
+    }
+
+    /**
+     * 現在の削除記録を返します。
+     * {@link #clear()}しても返した記録は変わらないため、物理削除前に開いたファイルを最後まで同じ基準で判定できます。
+     * @return タスクコードと、その件数より前のログを削除済みとする件数
+     */
+    public IntIntMap deletedBefore() {
+        return deleted();
+    }
+
+    /**
+     * 削除記録が1件もないか判定します。
+     * @return 記録がなければtrue
+     */
+    public boolean isEmpty() {
+        return deleted().size() == 0;
+    }
+
+    /**
+     * 記録されている削除の件数を返します。
+     * @return レコード数
+     */
+    public int records() {
+        deleted();
+        return records;
+    }
+
+    /**
+     * 削除記録を全て消去します。ログから物理的に削除した後に呼び出します。
+     */
+    public void clear() {
+        try {
+            Files.write(Paths.get(filePath), new byte[0]);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        deletedBefore = new IntIntMap();
+        records = 0;
+    }
+
+    private IntIntMap deleted() {
+        if (deletedBefore != null) {
+            return deletedBefore;
+        }
+        deletedBefore = new IntIntMap();
+        records = 0;
+        if (!new File(filePath).exists()) {
+            return deletedBefore;
+        }
+        try (CsvCursor cursor = CsvCursor.open(filePath)) {
+            while (cursor.nextRow()) {
+                try {
+                    int taskCode = cursor.nextInt();
+                    int rowCount = cursor.nextInt();
+                    deletedBefore.put(taskCode, Math.max(rowCount, deletedBefore.get(taskCode, 0)));
+                    records++;
+                } catch (RuntimeException e) {
+                    //書き込み途中の行は無視
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return deletedBefore;
+    }
+}
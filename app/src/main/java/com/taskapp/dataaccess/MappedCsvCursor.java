@@ -0,0 +1,232 @@
+package com.taskapp.dataaccess;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * CSVファイルをメモリにマップし、バイトのまま1行ずつ読み進めるカーソルです。
+ * 区切り文字・改行・数字はASCIIのためUTF-8のバイト列をそのまま走査でき、
+ * 文字列が必要な項目だけ{@link #nextString()}でUTF-8を変換します。
+ * <p>
+ * 2GBを超えるファイルも読めるよう、ファイルは{@link #WINDOW_SIZE}ずつマップし、
+ * 行が範囲の終わりをまたぐ場合はその行の先頭からマップし直します。
+ * 空行の扱いや項目の区切りは{@link CsvCursor}と同じです。
+ */
+public class MappedCsvCursor implements CsvRowReader {
+    static final int WINDOW_SIZE = 1 << 30;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+
+    private MappedByteBuffer buffer;
+    private long base;
+    private int limit;
+
+    private int rowStart;
+    private int rowEnd;
+    private int next;
+    private int position;
+
+    private byte[] scratch = new byte[256];
+
+    /**
+     * @param channel 読み込むCSVのチャネル
+     * @param windowSize 一度にマップする大きさ
+     * @throws IOException マップできない場合
+     */
+    MappedCsvCursor(FileChannel channel, int windowSize) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        map(0);
+    }
+
+    /**
+     * ファイルを読み取り専用でマップして開きます。
+     * @param filePath CSVファイルのパス
+     * @return カーソル
+     * @throws IOException ファイルを開けない場合
+     */
+    public static MappedCsvCursor open(String filePath) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        try {
+            return new MappedCsvCursor(channel, WINDOW_SIZE);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean nextRow() throws IOException {
+        while (true) {
+            int start = next;
+            int end = indexOfLineEnd(start);
+            if (end < 0 && base + limit < fileSize) {
+                //行が範囲の終わりをまたぐため、行の先頭からマップし直す
+                map(base + start);
+                start = 0;
+                end = indexOfLineEnd(start);
+            }
+            if (end < 0) {
+                //最終行は改行なしで終わる
+                if (start >= limit) {
+                    next = limit;
+                    return false;
+                }
+                end = limit;
+            }
+            next = end + 1;
+            //CRLFのCRを除く
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            if (end > start) {
+                rowStart = start;
+                rowEnd = end;
+                position = start;
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public int nextInt() {
+        int i = position;
+        boolean negative = i < rowEnd && buffer.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+        if (i >= rowEnd || buffer.get(i) == ',') {
+            throw invalid("integer");
+        }
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int multmin = limit / 10;
+        int value = 0;
+        for (; i < rowEnd; i++) {
+            byte b = buffer.get(i);
+            if (b == ',') {
+                break;
+            }
+            int digit = b - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalid("integer");
+            }
+            //Integer.parseIntと同じく負の値で数え、範囲を超える場合は桁あふれさせずに解釈できない値とする
+            if (value < multmin) {
+                throw invalid("integer");
+            }
+            value *= 10;
+            if (value < limit + digit) {
+                throw invalid("integer");
+            }
+            value -= digit;
+        }
+        skipSeparator(i);
+        return negative ? value : -value;
+    }
+
+    @Override
+    public String nextString() {
+        int end = fieldEnd();
+        String value = decode(position, end - position);
+        skipSeparator(end);
+        return value;
+    }
+
+    @Override
+    public int nextEpochDay() {
+        int i = position;
+        if (fieldEnd() - i != 10 || buffer.get(i + 4) != '-' || buffer.get(i + 7) != '-') {
+            throw invalid("date");
+        }
+        int year = digits(i, 4);
+        int month = digits(i + 5, 2);
+        int day = digits(i + 8, 2);
+        skipSeparator(i + 10);
+        return CsvDates.epochDay(year, month, day);
+    }
+
+    @Override
+    public void skip() {
+        skipSeparator(fieldEnd());
+    }
+
+    @Override
+    public void writeRow(Writer writer) throws IOException {
+        writer.write(decode(rowStart, rowEnd - rowStart));
+    }
+
+    @Override
+    public void close() throws IOException {
+        //マップした領域はGCで解放される
+        buffer = null;
+        channel.close();
+    }
+
+    /**
+     * 指定した位置から最大{@link #windowSize}をマップします。
+     * @param offset ファイル先頭からの位置
+     */
+    private void map(long offset) throws IOException {
+        long size = Math.min(windowSize, fileSize - offset);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        base = offset;
+        limit = (int) size;
+        next = 0;
+    }
+
+    private int indexOfLineEnd(int from) {
+        for (int i = from; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int fieldEnd() {
+        int i = position;
+        while (i < rowEnd && buffer.get(i) != ',') {
+            i++;
+        }
+        return i;
+    }
+
+    private void skipSeparator(int fieldEnd) {
+        position = fieldEnd < rowEnd ? fieldEnd + 1 : rowEnd;
+    }
+
+    private int digits(int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalid("date");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * 指定した範囲のバイト列をUTF-8として文字列にします。
+     */
+    private String decode(int from, int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length << 1)];
+        }
+        buffer.get(from, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private NumberFormatException invalid(String type) {
+        return new NumberFormatException("invalid " + type + " in row: " + decode(rowStart, rowEnd - rowStart));
+    }
+}
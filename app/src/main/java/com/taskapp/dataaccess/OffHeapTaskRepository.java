@@ -0,0 +1,332 @@
+package com.taskapp.dataaccess;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.taskapp.model.Task;
+import com.taskapp.model.TaskPage;
+import com.taskapp.model.TaskQuery;
+import com.taskapp.model.TaskSummary;
+import com.taskapp.model.TaskSort;
+import com.taskapp.model.User;
+import com.taskapp.util.IntIntMap;
+
+/**
+ * タスクをヒープ外のメモリに保持するリポジトリです。
+ * 各タスクは固定長（24バイト）のレコードとしてダイレクトバッファに並べ、タスク名はUTF-8で別のダイレクトバッファ（文字列領域）に追記します。
+ * ヒープ上に持つのはコードから先頭の行位置を引く索引と、担当ユーザーのマップだけです。
+ * {@link Task}のオブジェクトは取得時にその都度作成するため、保持しているタスクの件数がGCの対象に含まれません。
+ * <p>
+ * 行順・同じコードの行の扱いは{@link HeapTaskRepository}と同じです。
+ * 同じコードの行は、レコード内の次の行位置でつなぎます。
+ */
+public class OffHeapTaskRepository implements TaskRepository {
+    private static final int NONE = -1;
+    private static final int NO_USER = Integer.MIN_VALUE;
+    private static final int NULL_NAME = -1;
+    private static final int DELETED = -2;
+
+    //レコード内の各項目の位置
+    private static final int CODE = 0;
+    private static final int STATUS = 4;
+    private static final int REP_USER = 8;
+    private static final int NAME_OFFSET = 12;
+    private static final int NAME_LENGTH = 16;
+    private static final int NEXT = 20;
+    private static final int RECORD_BYTES = 24;
+
+    private ByteBuffer records = ByteBuffer.allocateDirect(RECORD_BYTES * 1024);
+    private ByteBuffer names = ByteBuffer.allocateDirect(16 * 1024);
+    private int namesEnd;
+    private int slotCount;
+    private int size;
+    private final IntIntMap heads = new IntIntMap();
+    private final TaskCounters counters = new TaskCounters();
+    private final Map<Integer, User> users;
+
+    /**
+     * @param users 担当ユーザーのコードとユーザーのマップ。取得したタスクの担当ユーザーはこのマップから解決します
+     */
+    public OffHeapTaskRepository(Map<Integer, User> users) {
+        this.users = new HashMap<>(users);
+    }
+
+    @Override
+    public void add(Task task) {
+        //intで計算すると約8900万行で桁あふれするため、必要な大きさはlongで求める
+        long required = (long) (slotCount + 1) * RECORD_BYTES;
+        if (required > records.capacity()) {
+            records = grow(records, required, records.capacity());
+        }
+        //バッファに収まった行の位置はintで表せる
+        int slot = slotCount++;
+        int base = slot * RECORD_BYTES;
+        records.putInt(base + CODE, task.getCode());
+        records.putInt(base + NEXT, NONE);
+        records.putInt(base + NAME_LENGTH, NULL_NAME);
+        write(slot, task);
+        count(slot);
+        size++;
+
+        //同じコードの行があれば末尾につなぐ
+        int head = heads.get(task.getCode(), NONE);
+        if (head == NONE) {
+            heads.put(task.getCode(), slot);
+            return;
+        }
+        while (next(head) != NONE) {
+            head = next(head);
+        }
+        records.putInt(head * RECORD_BYTES + NEXT, slot);
+    }
+
+    @Override
+    public Task findByCode(int code) {
+        int slot = heads.get(code, NONE);
+        return slot == NONE ? null : read(slot);
+    }
+
+    @Override
+    public List<Task> findAll() {
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < slotCount; i++) {
+            if (isLive(i)) {
+                tasks.add(read(i));
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public boolean update(Task task) {
+        int slot = heads.get(task.getCode(), NONE);
+        if (slot == NONE) {
+            return false;
+        }
+        for (; slot != NONE; slot = next(slot)) {
+            uncount(slot);
+            write(slot, task);
+            count(slot);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean delete(int code) {
+        int slot = heads.remove(code, NONE);
+        if (slot == NONE) {
+            return false;
+        }
+        for (; slot != NONE; slot = next(slot)) {
+            uncount(slot);
+            records.putInt(slot * RECORD_BYTES + NAME_LENGTH, DELETED);
+            size--;
+        }
+
+        //空き行が半分を超えたら詰め直す
+        if (slotCount - size > size && slotCount > 16) {
+            compact();
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 条件に該当するタスクを1ページ分取得します。
+     * ステータスと担当ユーザーはレコードのまま判定し、{@link Task}は該当したものだけ作成します。
+     * @param query 取得する条件
+     * @return 該当するタスクの1ページ
+     */
+    @Override
+    public TaskPage query(TaskQuery query) {
+        Integer status = query.getStatus();
+        Integer repUserCode = query.getRepUserCode();
+        String prefix = query.getNamePrefix();
+        byte[] prefixBytes = prefix == null || prefix.isEmpty() ? null : prefix.getBytes(StandardCharsets.UTF_8);
+        int offset = query.getOffset();
+        int limit = query.getLimit();
+        boolean fileOrder = query.getSort() == TaskSort.FILE_ORDER;
+
+        List<Task> matched = new ArrayList<>();
+        int total = 0;
+        for (int i = 0; i < slotCount; i++) {
+            int base = i * RECORD_BYTES;
+            if (!isLive(i)
+                    || status != null && records.getInt(base + STATUS) != status
+                    || repUserCode != null && records.getInt(base + REP_USER) != repUserCode
+                    || prefixBytes != null && !nameStartsWith(i, prefixBytes)) {
+                continue;
+            }
+            //行順の場合はページの範囲だけタスクを作成する
+            if (!fileOrder || total >= offset && matched.size() < limit) {
+                matched.add(read(i));
+            }
+            total++;
+        }
+        if (fileOrder) {
+            return new TaskPage(matched, total, offset);
+        }
+        matched.sort(query.getSort().comparator());
+        int from = Math.min(offset, matched.size());
+        int to = Math.min(from + limit, matched.size());
+        return new TaskPage(new ArrayList<>(matched.subList(from, to)), matched.size(), offset);
+    }
+
+    /**
+     * ヒープ外に確保しているバイト数を返します。
+     * @return レコードと文字列領域の合計のバイト数
+     */
+    public long offHeapBytes() {
+        return (long) records.capacity() + names.capacity();
+    }
+
+    /**
+     * ステータスごとと担当ユーザーごとのタスクの件数を返します。
+     * 件数はレコードの書き込みのたびに数え直しているため、タスクの件数によらず一定の時間で返します。
+     * @return 件数の集計
+     */
+    @Override
+    public TaskSummary summary() {
+        return counters.summary();
+    }
+
+    private boolean isLive(int slot) {
+        return records.getInt(slot * RECORD_BYTES + NAME_LENGTH) != DELETED;
+    }
+
+    private int next(int slot) {
+        return records.getInt(slot * RECORD_BYTES + NEXT);
+    }
+
+    private void count(int slot) {
+        int base = slot * RECORD_BYTES;
+        counters.add(records.getInt(base + STATUS), records.getInt(base + REP_USER));
+    }
+
+    private void uncount(int slot) {
+        int base = slot * RECORD_BYTES;
+        counters.remove(records.getInt(base + STATUS), records.getInt(base + REP_USER));
+    }
+
+    /**
+     * タスクのコード以外の項目をレコードに書き込みます。タスク名は変わった場合のみ文字列領域に追記します。
+     */
+    private void write(int slot, Task task) {
+        int base = slot * RECORD_BYTES;
+        records.putInt(base + STATUS, task.getStatus());
+        User repUser = task.getRepUser();
+        if (repUser == null) {
+            records.putInt(base + REP_USER, NO_USER);
+        } else {
+            records.putInt(base + REP_USER, repUser.getCode());
+            users.putIfAbsent(repUser.getCode(), repUser);
+        }
+
+        String name = task.getName();
+        if (name == null) {
+            records.putInt(base + NAME_LENGTH, NULL_NAME);
+            return;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int length = records.getInt(base + NAME_LENGTH);
+        if (length == bytes.length && nameStartsWith(slot, bytes)) {
+            return;
+        }
+        long required = (long) namesEnd + bytes.length;
+        if (required > names.capacity()) {
+            names = grow(names, required, namesEnd);
+        }
+        names.put(namesEnd, bytes);
+        records.putInt(base + NAME_OFFSET, namesEnd);
+        records.putInt(base + NAME_LENGTH, bytes.length);
+        namesEnd += bytes.length;
+    }
+
+    private Task read(int slot) {
+        int base = slot * RECORD_BYTES;
+        int repUserCode = records.getInt(base + REP_USER);
+        return new Task(
+            records.getInt(base + CODE),
+            readName(slot),
+            records.getInt(base + STATUS),
+            repUserCode == NO_USER ? null : users.get(repUserCode));
+    }
+
+    private String readName(int slot) {
+        int base = slot * RECORD_BYTES;
+        int length = records.getInt(base + NAME_LENGTH);
+        if (length == NULL_NAME) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        names.get(records.getInt(base + NAME_OFFSET), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * タスク名のUTF-8が指定したバイト列で始まるか判定します。
+     */
+    private boolean nameStartsWith(int slot, byte[] prefix) {
+        int base = slot * RECORD_BYTES;
+        int length = records.getInt(base + NAME_LENGTH);
+        if (length < prefix.length) {
+            return false;
+        }
+        int offset = records.getInt(base + NAME_OFFSET);
+        for (int i = 0; i < prefix.length; i++) {
+            if (names.get(offset + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 削除した行と使われなくなったタスク名を取り除き、レコードと文字列領域を作り直します。
+     */
+    private void compact() {
+        List<Task> live = findAll();
+        records = ByteBuffer.allocateDirect(RECORD_BYTES * Math.max(1024, live.size()));
+        names = ByteBuffer.allocateDirect(Math.max(16 * 1024, namesEnd / 2));
+        namesEnd = 0;
+        slotCount = 0;
+        size = 0;
+        heads.clear();
+        counters.clear();
+        for (Task task : live) {
+            add(task);
+        }
+    }
+
+    /**
+     * 必要な大きさ以上になるまで倍にしたダイレクトバッファに、使用中の範囲を写します。
+     * @param buffer 元のバッファ
+     * @param required 必要なバイト数
+     * @param used 使用中のバイト数
+     * @return 新しいバッファ
+     * @throws IllegalStateException 必要なバイト数がダイレクトバッファの上限を超える場合
+     */
+    private static ByteBuffer grow(ByteBuffer buffer, long required, int used) {
+        long capacity = buffer.capacity();
+        while (capacity < required) {
+            capacity <<= 1;
+        }
+        if (capacity > Integer.MAX_VALUE - 8) {
+            capacity = Integer.MAX_VALUE - 8;
+            if (capacity < required) {
+                throw new IllegalStateException("off-heap buffer is full");
+            }
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+        grown.put(0, buffer, 0, used);
+        return grown;
+    }
+}
@@ -0,0 +1,38 @@
+package com.taskapp.dataaccess;
+
+import java.io.IOException;
+
+/**
+ * CSVの読み込み方式です。
+ */
+public enum ReadStrategy {
+    /**
+     * {@link java.io.Reader}でUTF-8を文字に変換しながら読み込みます。
+     */
+    BUFFERED {
+        @Override
+        public CsvRowReader open(String filePath) throws IOException {
+            return CsvCursor.open(filePath);
+        }
+    },
+
+    /**
+     * ファイルをメモリにマップしてバイトのまま走査し、文字列の項目だけUTF-8を変換します。
+     * 大きなファイルの読み込みに向いています。
+     * マップした領域はGCまで解放されないため、Windowsでは読み込み直後のファイルを置き換えられない場合があります。
+     */
+    MAPPED {
+        @Override
+        public CsvRowReader open(String filePath) throws IOException {
+            return MappedCsvCursor.open(filePath);
+        }
+    };
+
+    /**
+     * この方式でCSVファイルを開きます。
+     * @param filePath CSVファイルのパス
+     * @return カーソル
+     * @throws IOException ファイルを開けない場合
+     */
+    public abstract CsvRowReader open(String filePath) throws IOException;
+}
@@ -0,0 +1,99 @@
+package com.taskapp.dataaccess;
+
+import java.util.Arrays;
+
+import com.taskapp.util.IntIntMap;
+
+/**
+ * {@link HeapTaskRepository}の行位置を、ステータスや担当ユーザーなどのキーで引くための索引です。
+ * キーごとに行位置の配列を持ち、各行の配列内の位置を覚えておくことで、削除は末尾の要素との入れ替えで行います。
+ * 配列内の行位置は順不同です。
+ */
+class SlotIndex {
+    private final IntIntMap lists = new IntIntMap();
+    private int[][] slots = new int[4][];
+    private int[] sizes = new int[4];
+    private int listCount;
+    private int[] positions = new int[16];
+
+    /**
+     * 行位置をキーに追加します。
+     * @param key キー
+     * @param slot 行位置
+     */
+    void add(int key, int slot) {
+        int list = lists.get(key, -1);
+        if (list < 0) {
+            if (listCount == slots.length) {
+                slots = Arrays.copyOf(slots, listCount << 1);
+                sizes = Arrays.copyOf(sizes, listCount << 1);
+            }
+            list = listCount++;
+            slots[list] = new int[8];
+            sizes[list] = 0;
+            lists.put(key, list);
+        }
+        if (sizes[list] == slots[list].length) {
+            slots[list] = Arrays.copyOf(slots[list], sizes[list] << 1);
+        }
+        if (slot >= positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(slot + 1, positions.length << 1));
+        }
+        positions[slot] = sizes[list];
+        slots[list][sizes[list]++] = slot;
+    }
+
+    /**
+     * 行位置をキーから削除します。
+     * @param key キー
+     * @param slot 行位置
+     */
+    void remove(int key, int slot) {
+        int list = lists.get(key, -1);
+        if (list < 0) {
+            return;
+        }
+        if (slot >= positions.length) {
+            return;
+        }
+        int[] array = slots[list];
+        int position = positions[slot];
+        if (position >= sizes[list] || array[position] != slot) {
+            return;
+        }
+        //末尾の行位置を空いた場所に移す
+        int last = array[--sizes[list]];
+        array[position] = last;
+        positions[last] = position;
+    }
+
+    /**
+     * キーに該当する行位置の件数を返します。
+     * @param key キー
+     * @return 件数
+     */
+    int count(int key) {
+        int list = lists.get(key, -1);
+        return list < 0 ? 0 : sizes[list];
+    }
+
+    /**
+     * キーに該当する行位置を返します。
+     * @param key キー
+     * @return 行位置の配列（順不同）
+     */
+    int[] slots(int key) {
+        int list = lists.get(key, -1);
+        return list < 0 ? new int[0] : Arrays.copyOf(slots[list], sizes[list]);
+    }
+
+    /**
+     * 全ての行位置を削除します。
+     */
+    void clear() {
+        lists.clear();
+        slots = new int[4][];
+        sizes = new int[4];
+        listCount = 0;
+    }
+}
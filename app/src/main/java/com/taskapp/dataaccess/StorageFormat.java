@@ -0,0 +1,40 @@
+package com.taskapp.dataaccess;
+
+import java.io.IOException;
+
+/**
+ * tasks.csv・logs.csvの保存形式です。
+ */
+public enum StorageFormat {
+    /**
+     * ヘッダー付きのCSVです。読み込みは{@link StorageOptions#getReadStrategy()}の方式で行います。
+     */
+    CSV {
+        @Override
+        public CsvRowReader openRows(String filePath, BinaryFormat layout, ReadStrategy strategy) throws IOException {
+            return CsvStreams.openSkippingHeader(strategy, filePath);
+        }
+    },
+
+    /**
+     * {@link BinaryFormat}のバイナリ形式です。
+     * 数値や日付を文字から変換せずに読み込め、ファイルも小さくなります。
+     * CSVとの相互変換は{@link BinaryConverter}で行います。
+     */
+    BINARY {
+        @Override
+        public CsvRowReader openRows(String filePath, BinaryFormat layout, ReadStrategy strategy) throws IOException {
+            return BinaryCursor.open(filePath, layout);
+        }
+    };
+
+    /**
+     * この形式でファイルを開き、最初のデータ行の手前まで進めたカーソルを返します。
+     * @param filePath ファイルのパス
+     * @param layout バイナリ形式の場合のレイアウト
+     * @param strategy CSVの場合の読み込み方式
+     * @return カーソル
+     * @throws IOException ファイルを開けない場合
+     */
+    public abstract CsvRowReader openRows(String filePath, BinaryFormat layout, ReadStrategy strategy) throws IOException;
+}
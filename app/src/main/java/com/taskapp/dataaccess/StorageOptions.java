@@ -0,0 +1,186 @@
+package com.taskapp.dataaccess;
+
+/**
+ * DataAccessクラスの保存方式に関する設定です。
+ * 既定値は従来どおりCSVをその場で書き換える方式です。
+ */
+public class StorageOptions {
+    private boolean journaled = false;
+    private int journalMaxRecords = 10000;
+    private double journalRatio = 0.5;
+    private boolean logTombstones = false;
+    private int tombstoneMaxRecords = 1000;
+    private GroupCommitPolicy commitPolicy = new GroupCommitPolicy();
+    private ReadStrategy readStrategy = ReadStrategy.BUFFERED;
+    private StorageFormat format = StorageFormat.CSV;
+    private boolean offHeap = false;
+    private int loadParallelism = 1;
+
+    /**
+     * タスクの更新・削除をジャーナルへの追記で記録するかを返します。
+     * @return ジャーナル方式であればtrue
+     */
+    public boolean isJournaled() {
+        return journaled;
+    }
+
+    /**
+     * タスクの更新・削除をジャーナルへの追記で記録するかを設定します。
+     * @param journaled ジャーナル方式にする場合はtrue
+     */
+    public void setJournaled(boolean journaled) {
+        this.journaled = journaled;
+    }
+
+    /**
+     * ジャーナルをCSVに反映するまでの最大レコード数を返します。
+     * @return 最大レコード数
+     */
+    public int getJournalMaxRecords() {
+        return journalMaxRecords;
+    }
+
+    /**
+     * ジャーナルをCSVに反映するまでの最大レコード数を設定します。
+     * @param journalMaxRecords 最大レコード数
+     */
+    public void setJournalMaxRecords(int journalMaxRecords) {
+        this.journalMaxRecords = journalMaxRecords;
+    }
+
+    /**
+     * タスク件数に対するジャーナルのレコード数の割合の上限を返します。
+     * @return 割合の上限
+     */
+    public double getJournalRatio() {
+        return journalRatio;
+    }
+
+    /**
+     * タスク件数に対するジャーナルのレコード数の割合の上限を設定します。
+     * この割合を超えた場合もジャーナルをCSVに反映します。
+     * @param journalRatio 割合の上限
+     */
+    public void setJournalRatio(double journalRatio) {
+        this.journalRatio = journalRatio;
+    }
+
+    /**
+     * ログの削除を削除記録で行うかを返します。
+     * @return 削除記録を使う場合はtrue
+     */
+    public boolean isLogTombstones() {
+        return logTombstones;
+    }
+
+    /**
+     * ログの削除を削除記録で行うかを設定します。
+     * @param logTombstones 削除記録を使う場合はtrue
+     */
+    public void setLogTombstones(boolean logTombstones) {
+        this.logTombstones = logTombstones;
+    }
+
+    /**
+     * ログから物理的に削除するまでに溜める削除記録の最大件数を返します。
+     * @return 最大件数
+     */
+    public int getTombstoneMaxRecords() {
+        return tombstoneMaxRecords;
+    }
+
+    /**
+     * ログから物理的に削除するまでに溜める削除記録の最大件数を設定します。
+     * @param tombstoneMaxRecords 最大件数
+     */
+    public void setTombstoneMaxRecords(int tombstoneMaxRecords) {
+        this.tombstoneMaxRecords = tombstoneMaxRecords;
+    }
+
+    /**
+     * ログを書き出すタイミングを返します。
+     * @return 書き出しのタイミング
+     */
+    public GroupCommitPolicy getCommitPolicy() {
+        return commitPolicy;
+    }
+
+    /**
+     * ログを書き出すタイミングを設定します。
+     * @param commitPolicy 書き出しのタイミング
+     */
+    public void setCommitPolicy(GroupCommitPolicy commitPolicy) {
+        this.commitPolicy = commitPolicy;
+    }
+
+    /**
+     * CSVの読み込み方式を返します。
+     * @return 読み込み方式
+     */
+    public ReadStrategy getReadStrategy() {
+        return readStrategy;
+    }
+
+    /**
+     * CSVの読み込み方式を設定します。
+     * @param readStrategy 読み込み方式
+     */
+    public void setReadStrategy(ReadStrategy readStrategy) {
+        this.readStrategy = readStrategy;
+    }
+
+    /**
+     * タスクとログの保存形式を返します。
+     * @return 保存形式
+     */
+    public StorageFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * タスクとログの保存形式を設定します。
+     * バイナリ形式の場合、ログの追記は{@link #getCommitPolicy()}によらず1件ごとに書き出し、
+     * 絞り込みは索引を使わずにファイルを1回走査して行います。
+     * @param format 保存形式
+     */
+    public void setFormat(StorageFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * 読み込んだタスクをヒープ外のメモリに保持するかを返します。
+     * @return ヒープ外に保持する場合はtrue
+     */
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * 読み込んだタスクをヒープ外のメモリに保持するかを設定します。
+     * 大量のタスクを保持する場合に、GCの停止時間を短くできます。
+     * @see OffHeapTaskRepository
+     * @param offHeap ヒープ外に保持する場合はtrue
+     */
+    public void setOffHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * tasks.csvを読み込むスレッドの数を返します。
+     * @return スレッドの数
+     */
+    public int getLoadParallelism() {
+        return loadParallelism;
+    }
+
+    /**
+     * tasks.csvを読み込むスレッドの数を設定します。
+     * 2以上の場合は、CSVを行の境目で分けて並列に解釈してから、ファイルの順番にまとめます。
+     * 分けるほど大きくないCSVや、バイナリ形式の場合は1つのスレッドで読み込みます。
+     * @see CsvChunks
+     * @param loadParallelism スレッドの数
+     */
+    public void setLoadParallelism(int loadParallelism) {
+        this.loadParallelism = Math.max(1, loadParallelism);
+    }
+}
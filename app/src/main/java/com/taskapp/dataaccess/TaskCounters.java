@@ -0,0 +1,86 @@
+package com.taskapp.dataaccess;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.taskapp.model.TaskSummary;
+import com.taskapp.util.IntIntMap;
+
+/**
+ * リポジトリのタスクの件数を、ステータスごとと担当ユーザーごとに数えておくカウンターです。
+ * 追加・更新・削除のたびに該当するキーの件数だけを増減するため、集計のためにタスクを読み直す必要がありません。
+ * 作成した{@link TaskSummary}は次に件数が変わるまで使い回します。
+ */
+class TaskCounters {
+    /** 担当ユーザーがないことを表すキーです。担当ユーザーごとの件数には含めません。 */
+    static final int NO_USER = Integer.MIN_VALUE;
+
+    private final IntIntMap byStatus = new IntIntMap();
+    private final IntIntMap byRepUser = new IntIntMap();
+    private int total;
+    private TaskSummary summary;
+
+    /**
+     * タスク1件を数えます。
+     * @param status ステータス
+     * @param repUserCode 担当ユーザーコード、担当ユーザーがない場合は{@link #NO_USER}
+     */
+    void add(int status, int repUserCode) {
+        byStatus.add(status, 1);
+        if (repUserCode != NO_USER) {
+            byRepUser.add(repUserCode, 1);
+        }
+        total++;
+        summary = null;
+    }
+
+    /**
+     * タスク1件を数えから外します。
+     * @param status ステータス
+     * @param repUserCode 担当ユーザーコード、担当ユーザーがない場合は{@link #NO_USER}
+     */
+    void remove(int status, int repUserCode) {
+        decrement(byStatus, status);
+        if (repUserCode != NO_USER) {
+            decrement(byRepUser, repUserCode);
+        }
+        total--;
+        summary = null;
+    }
+
+    /**
+     * 全ての件数を0にします。
+     */
+    void clear() {
+        byStatus.clear();
+        byRepUser.clear();
+        total = 0;
+        summary = null;
+    }
+
+    /**
+     * 現在の件数の集計を返します。
+     * 件数が変わっていなければ前回と同じ集計を返し、変わっていればキーの数だけの手間で作り直します。
+     * @return 集計
+     */
+    TaskSummary summary() {
+        if (summary == null) {
+            summary = new TaskSummary(total, toMap(byStatus), toMap(byRepUser));
+        }
+        return summary;
+    }
+
+    private static void decrement(IntIntMap counts, int key) {
+        //件数が0になったキーは残さない
+        if (counts.add(key, -1) <= 0) {
+            counts.remove(key, 0);
+        }
+    }
+
+    private static Map<Integer, Integer> toMap(IntIntMap counts) {
+        Map<Integer, Integer> map = new TreeMap<>();
+        counts.forEach(map::put);
+        return Collections.unmodifiableMap(map);
+    }
+}
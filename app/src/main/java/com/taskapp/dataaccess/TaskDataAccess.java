@@ -1,25 +1,66 @@
 package com.taskapp.dataaccess;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.FileReader;
+import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.taskapp.model.Task;
+import com.taskapp.model.TaskPage;
+import com.taskapp.model.TaskQuery;
+import com.taskapp.model.TaskSummary;
+import com.taskapp.model.User;
 
+/**
+ * tasks.csvへのアクセスを行います。
+ * 初回アクセス時にCSVを読み込んで{@link TaskRepository}に保持し、以降の参照はメモリから返します。
+ * 更新系の処理はメモリに反映したうえで、その場でCSVにも書き込みます。
+ * CSVが外部から変更された場合は次回アクセス時に読み込み直します。
+ * <p>
+ * {@link StorageOptions#isJournaled()}を有効にした場合は、追加・更新・削除を{@link TaskJournal}に追記するだけで済ませ、
+ * ジャーナルが一定の大きさになった時点でバックグラウンドでCSVに反映します。
+ * 読み込み時はCSVを読んだ後にジャーナルを適用します。
+ * <p>
+ * {@link StorageOptions#getFormat()}でバイナリ形式を選んだ場合は、CSVの代わりに{@link BinaryFormat#TASKS}で読み書きします。
+ * <p>
+ * {@link StorageOptions#getLoadParallelism()}を2以上にした場合は、CSVを{@link CsvChunks}で分けて並列に読み込みます。
+ */
 public class TaskDataAccess {
 
+    private static final String HEADER = "Code,Name,Status,Rep_User_Code";
+
     private final String filePath;
 
     private final UserDataAccess userDataAccess;
 
+    private final StorageOptions options;
+
+    private final TaskJournal journal;
+
+    private TaskRepository repository;
+
+    //読み込みに失敗し、メモリ上のタスクがファイルの内容の一部しかない場合はtrue
+    private boolean loadFailed;
+
+    private FileSnapshot snapshot;
+
     public TaskDataAccess() {
         filePath = "app/src/main/resources/tasks.csv";
         userDataAccess = new UserDataAccess();
+        options = new StorageOptions();
+        journal = null;
     }
 
     /**
@@ -28,146 +69,488 @@ public class TaskDataAccess {
      * @param userDataAccess
      */
     public TaskDataAccess(String filePath, UserDataAccess userDataAccess) {
+        this(filePath, userDataAccess, new StorageOptions());
+    }
+
+    /**
+     * 保存方式を指定してインスタンスを生成します。
+     * ジャーナル方式の場合、ジャーナルはCSVと同じ場所に「.journal」を付けた名前で作成します。
+     * @param filePath tasks.csvのパス
+     * @param userDataAccess 担当ユーザーの取得に利用するDataAccess
+     * @param options 保存方式
+     */
+    public TaskDataAccess(String filePath, UserDataAccess userDataAccess, StorageOptions options) {
         this.filePath = filePath;
         this.userDataAccess = userDataAccess;
+        this.options = options;
+        this.journal = options.isJournaled() ? new TaskJournal(filePath + ".journal") : null;
     }
 
     /**
-     * CSVから全てのタスクデータを取得します。
+     * 全てのタスクデータを取得します。
      *
-     * @see com.taskapp.dataaccess.UserDataAccess#findByCode(int)
+     * @see #repository()
      * @return タスクのリスト
      */
-    public List<Task> findAll() {
-        List<Task> task = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            //reader line temp
-            String line = "";
-            //ヘッダー回避
-            reader.readLine();
-
-            //""を読むまでループ
-            while ((line = reader.readLine()) != null) {
-                List<String> value = new ArrayList<>(Arrays.asList(line.split(",")));
-                task.add(new Task(
-                    Integer.parseInt(value.get(0)),
-                    value.get(1),
-                    Integer.parseInt(value.get(2)),
-                    userDataAccess.findByCode(Integer.parseInt(value.get(3)))));
+    public synchronized List<Task> findAll() {
+        return repository().findAll();
+    }
+
+    /**
+     * 全てのタスクデータを順番に処理します。
+     *
+     * @see #stream()
+     * @param action タスクごとの処理
+     */
+    public void forEach(Consumer<? super Task> action) {
+        try (Stream<Task> tasks = stream()) {
+            tasks.forEach(action);
+        }
+    }
+
+    /**
+     * 全てのタスクデータを行順で返すストリームを取得します。
+     * 読み込み済みの場合はメモリ上のタスクを、未読み込みの場合はCSVを1行ずつ読みながら返すため、
+     * 全件の読み込みを待たずに処理を始められ、途中で読むのをやめることもできます。
+     * CSVから読む場合は読み込んだ内容を保持せず、ストリームを閉じるまでファイルを開いたままにするため、
+     * try-with-resourcesで閉じてください。
+     *
+     * @return タスクのストリーム
+     */
+    public Stream<Task> stream() {
+        synchronized (this) {
+            //未反映のジャーナルがある場合は適用済みのメモリ上のタスクを使う
+            if (repository != null && snapshot.isCurrent(filePath) || journal != null && journal.records() > 0) {
+                return repository().findAll().stream();
             }
+        }
+
+        //ユーザーを一括で取得
+        Map<Integer, User> users = userDataAccess.findAllByCode();
+        CsvRowReader cursor;
+        try {
+            cursor = openRows();
         } catch (IOException e) {
             e.printStackTrace();
+            return Stream.empty();
         }
-        return task;
+        return CsvStreams.stream(cursor, row -> new Task(
+            row.nextInt(),
+            row.nextString(),
+            row.nextInt(),
+            users.get(row.nextInt())));
     }
 
     /**
      * タスクをCSVに保存します。
      * @param task 保存するタスク
+     * @return 書き込めた場合はtrue
      */
-    public void save(Task task) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true))) {
-            //成形
-            List<String> textList = new ArrayList<>(Arrays.asList(
-                Integer.toString(task.getCode()),
-                task.getName(),
-                Integer.toString(task.getStatus()),
-                Integer.toString(task.getRepUser().getCode())));
-            
-            //最後の行に書き込み
-            writer.newLine();
-            writer.write(String.join(",", textList));
+    public synchronized boolean save(Task task) {
+        TaskRepository tasks = repository();
+        if (journal != null) {
+            if (!journal.appendSave(task)) {
+                return false;
+            }
+            tasks.add(task);
+            requestCompaction(tasks);
+            return true;
+        }
+        try {
+            append(task);
         } catch (IOException e) {
             e.printStackTrace();
+            return false;
         }
+        //書き込めた場合のみメモリに反映
+        tasks.add(task);
+        snapshot = FileSnapshot.of(filePath);
+        return true;
     }
 
     /**
-     * コードを基にタスクデータを1件取得します。
-     * @param code 取得するタスクのコード
-     * @return 取得したタスク
+     * 複数のタスクを1回の書き込みでCSVに保存します。
+     * ファイルを開くのは1回だけで、全てのタスクを続けて末尾に書き込みます。
+     * @param newTasks 保存するタスク
+     * @return 書き込めた場合、または保存するタスクがない場合はtrue
      */
-    public Task findByCode(int code) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            //read Line temp
-            String line = "";
-            //ヘッダー回避
-            reader.readLine();
-
-            //""を読むまでループ
-            while ((line = reader.readLine()) != null) {
-                //分解
-                List<String> value = new ArrayList<>(Arrays.asList(line.split(",")));
-                //codeが一致した場合Task型に成形して返す
-                if (Integer.parseInt(value.get(0)) == code) {
-                    return new Task(
-                        Integer.parseInt(value.get(0)),
-                        value.get(1),
-                        Integer.parseInt(value.get(2)),
-                        userDataAccess.findByCode(Integer.parseInt(value.get(3))));
-                }
+    public synchronized boolean saveAll(List<Task> newTasks) {
+        if (newTasks.isEmpty()) {
+            return true;
+        }
+        TaskRepository tasks = repository();
+        if (journal != null) {
+            if (!journal.appendSaves(newTasks)) {
+                return false;
             }
+            newTasks.forEach(tasks::add);
+            requestCompaction(tasks);
+            return true;
+        }
+        try {
+            appendAll(newTasks);
         } catch (IOException e) {
-            e.printStackTrace();;
-        } catch (Exception e) {
-            e.printStackTrace();;
+            e.printStackTrace();
+            return false;
         }
-        return null;
+        //書き込めた場合のみメモリに反映
+        newTasks.forEach(tasks::add);
+        snapshot = FileSnapshot.of(filePath);
+        return true;
+    }
+
+    /**
+     * コードを基にタスクデータを1件取得します。
+     * @param code 取得するタスクのコード
+     * @return 取得したタスク
+     */
+    public synchronized Task findByCode(int code) {
+        return repository().findByCode(code);
+    }
+
+    /**
+     * 条件に該当するタスクを1ページ分取得します。
+     * 読み込み済みのタスクから索引で絞り込むため、CSVの読み込みは初回か外部から変更された場合のみです。
+     * @see TaskRepository#query(TaskQuery)
+     * @param query 取得する条件
+     * @return 該当するタスクの1ページ
+     */
+    public synchronized TaskPage findPage(TaskQuery query) {
+        return repository().query(query);
+    }
+
+    /**
+     * ステータスごとと担当ユーザーごとのタスクの件数を取得します。
+     * 件数は読み込み済みのタスクの追加・更新・削除に合わせて数えているため、タスクを全件たどらずに返します。
+     * @see TaskRepository#summary()
+     * @return 件数の集計
+     */
+    public synchronized TaskSummary findSummary() {
+        return repository().summary();
     }
 
     /**
      * タスクデータを更新します。
      * @param updateTask 更新するタスク
+     * @return 書き込めた場合、またはタスクが存在しない場合はtrue
      */
-    public void update(Task updateTask) {
-        //csv内情報取得
-        List<Task> task = findAll();
-        List<String> textList = new ArrayList<>();
+    public synchronized boolean update(Task updateTask) {
+        TaskRepository tasks = repository();
+        if (tasks.findByCode(updateTask.getCode()) == null) {
+            return true;
+        }
+        if (journal != null) {
+            if (!journal.appendUpdate(updateTask)) {
+                return false;
+            }
+            tasks.update(updateTask);
+            requestCompaction(tasks);
+            return true;
+        }
+        tasks.update(updateTask);
+        return rewrite(tasks);
+    }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            //ヘッダー書き込み
-            writer.write("Code,Name,Status,Rep_User_Code");
+    /**
+     * 複数のタスクデータを更新し、CSVの書き直しを1回で済ませます。
+     * 存在しないタスクは無視します。
+     * @param updateTasks 更新するタスク
+     * @return 書き込めた場合、または更新するタスクがない場合はtrue
+     */
+    public synchronized boolean updateAll(List<Task> updateTasks) {
+        TaskRepository tasks = repository();
+        List<Task> targets = new ArrayList<>(updateTasks.size());
+        for (Task t : updateTasks) {
+            if (tasks.findByCode(t.getCode()) != null) {
+                targets.add(t);
+            }
+        }
+        if (targets.isEmpty()) {
+            return true;
+        }
+        if (journal != null) {
+            if (!journal.appendUpdates(targets)) {
+                return false;
+            }
+            targets.forEach(tasks::update);
+            requestCompaction(tasks);
+            return true;
+        }
+        targets.forEach(tasks::update);
+        return rewrite(tasks);
+    }
 
-            task.forEach(t -> {
-                if (t.getCode() == updateTask.getCode()) {
-                    textList.add(updateTask.getCode() + "," + updateTask.getName() + "," + updateTask.getStatus() + "," + updateTask.getRepUser().getCode());
-                } else {
-                    textList.add(t.getCode() + "," + t.getName() + "," + t.getStatus() + "," + t.getRepUser().getCode());
-                }
-            });
+    /**
+     * コードを基にタスクデータを削除します。
+     * @param code 削除するタスクのコード
+     * @return 書き込めた場合、またはタスクが存在しない場合はtrue
+     */
+    public synchronized boolean delete(int code) {
+        TaskRepository tasks = repository();
+        if (tasks.findByCode(code) == null) {
+            return true;
+        }
+        if (journal != null) {
+            if (!journal.appendDelete(code)) {
+                return false;
+            }
+            tasks.delete(code);
+            requestCompaction(tasks);
+            return true;
+        }
+        tasks.delete(code);
+        return rewrite(tasks);
+    }
 
-            //joinして書き込み
-            writer.newLine();
-            writer.write(String.join("\n", textList));
+    /**
+     * コードを基に複数のタスクデータを削除し、CSVの書き直しを1回で済ませます。
+     * 存在しないタスクは無視します。
+     * @param codes 削除するタスクのコード
+     * @return 書き込めた場合、または削除するタスクがない場合はtrue
+     */
+    public synchronized boolean deleteAll(Collection<Integer> codes) {
+        TaskRepository tasks = repository();
+        List<Integer> targets = new ArrayList<>(codes.size());
+        for (int code : codes) {
+            if (tasks.findByCode(code) != null) {
+                targets.add(code);
+            }
+        }
+        if (targets.isEmpty()) {
+            return true;
+        }
+        if (journal != null) {
+            if (!journal.appendDeletes(targets)) {
+                return false;
+            }
+            targets.forEach(tasks::delete);
+            requestCompaction(tasks);
+            return true;
+        }
+        targets.forEach(tasks::delete);
+        return rewrite(tasks);
+    }
+
+    /**
+     * ジャーナルの内容をCSVに反映し、ジャーナルを空にします。
+     * ジャーナル方式でない場合は何もしません。
+     * CSVの置き換えに失敗した場合はジャーナルを残すため、変更は次回の反映または読み込み時に適用されます。
+     */
+    public synchronized void compact() {
+        if (journal == null || journal.records() == 0) {
+            return;
+        }
+        if (writeAll(repository())) {
+            journal.reset();
+        }
+    }
+
+    /**
+     * ジャーナルが設定した件数または割合を超えた場合に、バックグラウンドでの反映を依頼します。
+     * @param tasks 現在のタスク
+     */
+    private void requestCompaction(TaskRepository tasks) {
+        int records = journal.records();
+        if (records >= options.getJournalMaxRecords()
+                || records >= Math.max(1, tasks.size()) * options.getJournalRatio()) {
+            BackgroundCompactor.submit(this, this::compact);
+        }
+    }
+
+    /**
+     * メモリ上のタスクを返します。未読み込み、またはCSVが変更されていた場合は読み込み直します。
+     * @return タスクのリポジトリ
+     */
+    private TaskRepository repository() {
+        //読み込みに失敗していた場合は、一部だけのタスクを使い続けずに読み込み直す
+        if (repository == null || loadFailed || !snapshot.isCurrent(filePath)) {
+            //読み込み前の状態を記録し、読み込み中の変更は次回検知する
+            snapshot = FileSnapshot.of(filePath);
+            repository = load();
+        }
+        return repository;
+    }
+
+    /**
+     * CSVから全てのタスクデータを読み込みます。
+     * 担当ユーザーは事前に1回だけ読み込んだユーザーのマップから解決します。
+     * {@link StorageOptions#isOffHeap()}が有効な場合は{@link OffHeapTaskRepository}に読み込みます。
+     *
+     * @see com.taskapp.dataaccess.UserDataAccess#findAllByCode()
+     * @return 読み込んだタスクのリポジトリ
+     */
+    private TaskRepository load() {
+        //ユーザーを一括で取得
+        Map<Integer, User> users = userDataAccess.findAllByCode();
+        TaskRepository tasks = options.isOffHeap() ? new OffHeapTaskRepository(users) : new HeapTaskRepository();
+        boolean loaded;
+        if (options.getLoadParallelism() > 1 && options.getFormat() == StorageFormat.CSV) {
+            loaded = loadParallel(tasks, users);
+        } else {
+            loaded = loadSequential(tasks, users);
+        }
+        //ジャーナルの変更を適用
+        if (journal != null) {
+            loaded &= journal.replay(tasks, users);
+        }
+        loadFailed = !loaded;
+        return tasks;
+    }
+
+    /**
+     * 1つのスレッドで先頭から順番に読み込みます。
+     * @param tasks 読み込み先
+     * @param users 担当ユーザーのマップ
+     * @return 最後まで読み込めた場合はtrue
+     */
+    private boolean loadSequential(TaskRepository tasks, Map<Integer, User> users) {
+        try (CsvRowReader cursor = openRows()) {
+            //最終行までループ
+            while (cursor.nextRow()) {
+                tasks.add(new Task(
+                    cursor.nextInt(),
+                    cursor.nextString(),
+                    cursor.nextInt(),
+                    users.get(cursor.nextInt())));
+            }
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            //ファイルがない場合はタスクが0件
+            e.printStackTrace();
         } catch (IOException e) {
             e.printStackTrace();
+            return false;
         }
+        return true;
     }
 
     /**
-     * コードを基にタスクデータを削除します。
-     * @param code 削除するタスクのコード
+     * CSVを行の境目で分け、分けた範囲ごとに別のスレッドでタスクのリストに解釈してから、
+     * ファイルの順番にリポジトリへ追加します。リポジトリへの追加は呼び出し元のスレッドだけで行います。
+     * @param tasks 読み込み先
+     * @param users 担当ユーザーのマップ
+     * @return 最後まで読み込めた場合はtrue
      */
-    public void delete(int code) {
-        //csv内情報取得
-        List<Task> task = findAll();
-        List<String> textList = new ArrayList<>();
+    private boolean loadParallel(TaskRepository tasks, Map<Integer, User> users) {
+        int parallelism = options.getLoadParallelism();
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            CsvChunks.read(filePath, pool, parallelism, cursor -> {
+                List<Task> chunk = new ArrayList<>();
+                while (cursor.nextRow()) {
+                    chunk.add(new Task(
+                        cursor.nextInt(),
+                        cursor.nextString(),
+                        cursor.nextInt(),
+                        users.get(cursor.nextInt())));
+                }
+                return chunk;
+            }, chunk -> chunk.forEach(tasks::add));
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            //ファイルがない場合はタスクが0件
+            e.printStackTrace();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        return true;
+    }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            //ヘッダー書き込み
-            writer.write("Code,Name,Status,Rep_User_Code");
+    /**
+     * メモリ上で変更したタスクでCSVを書き直します。
+     * 書き込めなかった場合は、メモリ上のタスクがCSVと食い違わないよう捨てて、次回CSVから読み込み直します。
+     * @param tasks 書き込むタスク
+     * @return 置き換えまで完了した場合はtrue
+     */
+    private boolean rewrite(TaskRepository tasks) {
+        if (writeAll(tasks)) {
+            return true;
+        }
+        repository = null;
+        return false;
+    }
+
+    /**
+     * メモリ上の全てのタスクでCSVを書き直します。
+     * 一時ファイルに書き込んでから置き換えるため、途中で中断しても元のCSVは残ります。
+     * 読み込みに失敗したタスクで書き直すと読み込めなかったタスクが失われるため、その場合は書き込みません。
+     * @param tasks 書き込むタスク
+     * @return 置き換えまで完了した場合はtrue
+     */
+    private boolean writeAll(TaskRepository tasks) {
+        if (loadFailed) {
+            return false;
+        }
+        Path target = Paths.get(filePath);
+        Path temp = Paths.get(filePath + ".tmp");
+        try {
+            if (options.getFormat() == StorageFormat.BINARY) {
+                try (BinaryWriter writer = BinaryWriter.create(temp.toString(), BinaryFormat.TASKS)) {
+                    for (Task t : tasks.findAll()) {
+                        writer.writeTask(t);
+                    }
+                }
+            } else {
+                try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+                    //ヘッダー書き込み
+                    writer.write(HEADER);
 
-            //削除するcodeと一致しないTaskをadd
-            for (Task t : task){
-                if (t.getCode() != code) {
-                    textList.add(t.getCode() + "," + t.getName() + "," + t.getStatus() + "," + t.getRepUser().getCode());
+                    for (Task t : tasks.findAll()) {
+                        writer.newLine();
+                        writer.write(createLine(t));
+                    }
                 }
             }
-
-            //joinして書き込み
-            writer.write(String.join("\n", textList));
         } catch (IOException e) {
             e.printStackTrace();
+            return false;
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        snapshot = FileSnapshot.of(filePath);
+        return true;
+    }
+
+    /**
+     * 保存形式に従ってファイルを開き、最初のデータ行の手前まで進めたカーソルを返します。
+     * @return カーソル
+     * @throws IOException ファイルを開けない場合
+     */
+    private CsvRowReader openRows() throws IOException {
+        return options.getFormat().openRows(filePath, BinaryFormat.TASKS, options.getReadStrategy());
+    }
+
+    /**
+     * 保存形式に従ってタスクをファイルの末尾に書き込みます。
+     * @param task 書き込むタスク
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private void append(Task task) throws IOException {
+        appendAll(List.of(task));
+    }
+
+    /**
+     * 保存形式に従って複数のタスクをファイルの末尾に続けて書き込みます。
+     * @param newTasks 書き込むタスク
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private void appendAll(List<Task> newTasks) throws IOException {
+        if (options.getFormat() == StorageFormat.BINARY) {
+            try (BinaryWriter writer = BinaryWriter.append(filePath, BinaryFormat.TASKS)) {
+                for (Task t : newTasks) {
+                    writer.writeTask(t);
+                }
+            }
+            return;
+        }
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true))) {
+            //最後の行に書き込み
+            for (Task t : newTasks) {
+                writer.newLine();
+                writer.write(createLine(t));
+            }
         }
     }
 
@@ -176,6 +559,7 @@ public class TaskDataAccess {
      * @param task フォーマットを作成するタスク
      * @return CSVに書き込むためのフォーマット文字列
      */
-    // private String createLine(Task task) {
-    // }
-}
\ No newline at end of file
+    private String createLine(Task task) {
+        return task.getCode() + "," + task.getName() + "," + task.getStatus() + "," + task.getRepUser().getCode();
+    }
+}
@@ -0,0 +1,203 @@
+package com.taskapp.dataaccess;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+/**
+ * tasks.csvへの変更を1件ずつ追記するジャーナルです。
+ * 1行が1件の変更で、先頭の記号で種類を表します。
+ * <ul>
+ * <li>S,コード,タスク名,ステータス,担当ユーザーコード：追加</li>
+ * <li>U,コード,タスク名,ステータス,担当ユーザーコード：更新</li>
+ * <li>D,コード：削除</li>
+ * </ul>
+ */
+public class TaskJournal {
+    private final String filePath;
+
+    private int records = -1;
+
+    /**
+     * @param filePath ジャーナルファイルのパス
+     */
+    public TaskJournal(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * タスクの追加を記録します。
+     * @param task 追加したタスク
+     * @return 書き込めた場合はtrue
+     */
+    public boolean appendSave(Task task) {
+        return append("S," + createLine(task));
+    }
+
+    /**
+     * タスクの更新を記録します。
+     * @param task 更新後のタスク
+     * @return 書き込めた場合はtrue
+     */
+    public boolean appendUpdate(Task task) {
+        return append("U," + createLine(task));
+    }
+
+    /**
+     * タスクの削除を記録します。
+     * @param code 削除したタスクのコード
+     * @return 書き込めた場合はtrue
+     */
+    public boolean appendDelete(int code) {
+        return append("D," + code);
+    }
+
+    /**
+     * 複数のタスクの追加を1回の書き込みで記録します。
+     * @param tasks 追加したタスク
+     * @return 書き込めた場合はtrue
+     */
+    public boolean appendSaves(Collection<Task> tasks) {
+        List<String> lines = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            lines.add("S," + createLine(task));
+        }
+        return append(lines);
+    }
+
+    /**
+     * 複数のタスクの更新を1回の書き込みで記録します。
+     * @param tasks 更新後のタスク
+     * @return 書き込めた場合はtrue
+     */
+    public boolean appendUpdates(Collection<Task> tasks) {
+        List<String> lines = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            lines.add("U," + createLine(task));
+        }
+        return append(lines);
+    }
+
+    /**
+     * 複数のタスクの削除を1回の書き込みで記録します。
+     * @param codes 削除したタスクのコード
+     * @return 書き込めた場合はtrue
+     */
+    public boolean appendDeletes(Collection<Integer> codes) {
+        List<String> lines = new ArrayList<>(codes.size());
+        for (int code : codes) {
+            lines.add("D," + code);
+        }
+        return append(lines);
+    }
+
+    /**
+     * 記録されている変更をリポジトリに順番に適用します。
+     * 書き込み途中で終わった行など、解釈できない行は読み飛ばします。
+     * @param tasks 適用先のリポジトリ
+     * @param users 担当ユーザーを解決するためのマップ
+     * @return 最後まで読み込めた場合はtrue（ジャーナルがない場合を含む）
+     */
+    public boolean replay(TaskRepository tasks, Map<Integer, User> users) {
+        int count = 0;
+        if (new File(filePath).exists()) {
+            try (CsvCursor cursor = CsvCursor.open(filePath)) {
+                while (cursor.nextRow()) {
+                    count++;
+                    try {
+                        apply(cursor, tasks, users);
+                    } catch (RuntimeException e) {
+                        //書き込み途中の行は無視
+                    }
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                return false;
+            }
+        }
+        records = count;
+        return true;
+    }
+
+    /**
+     * 記録されている変更の件数を返します。
+     * @return レコード数
+     */
+    public int records() {
+        if (records < 0) {
+            replay(new HeapTaskRepository(), Map.of());
+        }
+        return records;
+    }
+
+    /**
+     * ジャーナルを空にします。CSVへの反映が完了した後に呼び出します。
+     */
+    public void reset() {
+        try {
+            Files.write(Paths.get(filePath), new byte[0]);
+            records = 0;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void apply(CsvCursor cursor, TaskRepository tasks, Map<Integer, User> users) {
+        String type = cursor.nextString();
+        switch (type) {
+            case "S" -> {
+                Task task = createTask(cursor, users);
+                //CSVへの反映後、ジャーナルを空にする前に中断した場合は反映済みのため追加しない。
+                //後の更新で内容が変わっていても、同じコードがあれば反映済みとして扱う
+                if (tasks.findByCode(task.getCode()) == null) {
+                    tasks.add(task);
+                }
+            }
+            case "U" -> tasks.update(createTask(cursor, users));
+            case "D" -> tasks.delete(cursor.nextInt());
+            default -> throw new IllegalArgumentException(type);
+        }
+    }
+
+    private boolean append(String line) {
+        return append(List.of(line));
+    }
+
+    private boolean append(List<String> lines) {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true))) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        if (records >= 0) {
+            records += lines.size();
+        }
+        return true;
+    }
+
+    private Task createTask(CsvCursor cursor, Map<Integer, User> users) {
+        return new Task(
+            cursor.nextInt(),
+            cursor.nextString(),
+            cursor.nextInt(),
+            users.get(cursor.nextInt()));
+    }
+
+    private String createLine(Task task) {
+        return task.getCode() + "," + task.getName() + "," + task.getStatus() + "," + task.getRepUser().getCode();
+    }
+}
@@ -0,0 +1,68 @@
+package com.taskapp.dataaccess;
+
+import java.util.List;
+
+import com.taskapp.model.Task;
+import com.taskapp.model.TaskPage;
+import com.taskapp.model.TaskQuery;
+import com.taskapp.model.TaskSummary;
+
+/**
+ * タスクをメモリ上に保持し、コードで索引するリポジトリです。
+ * タスクはCSVと同じ行順で保持し、同じコードの行が複数ある場合もCSVと同様にそのまま保持します。
+ * 実装は{@link StorageOptions#isOffHeap()}に従って{@link HeapTaskRepository}か{@link OffHeapTaskRepository}を使います。
+ */
+public interface TaskRepository {
+
+    /**
+     * タスクを末尾に追加します。
+     * @param task 追加するタスク
+     */
+    void add(Task task);
+
+    /**
+     * コードを基にタスクを1件取得します。同じコードの行が複数ある場合は先頭の行を返します。
+     * @param code 取得するタスクのコード
+     * @return 見つかったタスク、存在しない場合はnull
+     */
+    Task findByCode(int code);
+
+    /**
+     * 全てのタスクを行順で取得します。
+     * @return タスクのリスト
+     */
+    List<Task> findAll();
+
+    /**
+     * 同じコードを持つタスクを全て置き換えます。
+     * @param task 置き換え後のタスク
+     * @return 置き換えた場合はtrue
+     */
+    boolean update(Task task);
+
+    /**
+     * コードを基にタスクを全て削除します。
+     * @param code 削除するタスクのコード
+     * @return 削除した場合はtrue
+     */
+    boolean delete(int code);
+
+    /**
+     * 条件に該当するタスクを1ページ分取得します。
+     * @param query 取得する条件
+     * @return 該当するタスクの1ページ
+     */
+    TaskPage query(TaskQuery query);
+
+    /**
+     * 保持しているタスクの件数を返します。
+     * @return 件数
+     */
+    int size();
+
+    /**
+     * ステータスごとと担当ユーザーごとのタスクの件数を返します。
+     * @return 件数の集計
+     */
+    TaskSummary summary();
+}
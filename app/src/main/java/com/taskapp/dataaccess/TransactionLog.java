@@ -0,0 +1,368 @@
+package com.taskapp.dataaccess;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.taskapp.model.Log;
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+/**
+ * tasks.csvとlogs.csvにまたがる変更を、書き込む前に記録する先行書き込みログです。
+ * 1回の変更を1つのトランザクションとし、変更の内容と確定の記録を1回の書き込みで追記してから
+ * 各ファイルに書き込み、書き込み終えたら終了を記録します。
+ * 書き込みに失敗して変更を取り消した場合は、終了の代わりに取り消しを記録します。
+ * 確定の記録があって終了・取り消しの記録がないトランザクションは、各ファイルへの書き込み途中で中断したものとして、
+ * {@link #pending(Map)}で取り出してやり直します。確定の記録がないものは書き込みを始めていないため捨てます。
+ * <p>
+ * 1行が1件の記録で、先頭の記号で種類を、2つ目の項目でトランザクションを表します。
+ * <ul>
+ * <li>S,番号,コード,タスク名,ステータス,担当ユーザーコード：タスクの追加</li>
+ * <li>U,番号,コード,タスク名,ステータス,担当ユーザーコード：タスクの更新</li>
+ * <li>D,番号,コード：タスクとそのログの削除</li>
+ * <li>L,番号,タスクコード,変更ユーザーコード,ステータス,変更日：ログの追記</li>
+ * <li>C,番号：確定</li>
+ * <li>E,番号：終了</li>
+ * <li>R,番号：取り消し</li>
+ * </ul>
+ * 実行中のトランザクションがなくなった時点で一定の大きさを超えていれば、ファイルを空にします。
+ * ただし、{@link #abort(int)}したトランザクションや、やり直していないトランザクションが残っている間は空にせず、
+ * やり直した後の{@link #reset()}で解消します。
+ */
+public class TransactionLog implements AutoCloseable {
+    /** 実行中のトランザクションがなくなった時点で、ファイルを空にする大きさです。 */
+    private static final long CHECKPOINT_BYTES = 1 << 20;
+
+    private final String filePath;
+
+    private final boolean force;
+
+    private FileChannel channel;
+
+    private int nextId = 1;
+
+    private int active;
+
+    private boolean unapplied;
+
+    /**
+     * @param filePath 記録するファイルのパス
+     * @param force 確定を記録するたびにディスクへの書き出しを待つ場合はtrue
+     */
+    public TransactionLog(String filePath, boolean force) {
+        this.filePath = filePath;
+        this.force = force;
+    }
+
+    /**
+     * タスクの追加とそのログの追記を記録します。
+     * @param tasks 追加するタスク
+     * @param logs 追記するログ
+     * @return トランザクションの番号
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public int beginSaves(Collection<Task> tasks, Collection<Log> logs) throws IOException {
+        return begin("S", tasks, logs);
+    }
+
+    /**
+     * タスクの更新とそのログの追記を記録します。
+     * @param tasks 更新後のタスク
+     * @param logs 追記するログ
+     * @return トランザクションの番号
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public int beginUpdates(Collection<Task> tasks, Collection<Log> logs) throws IOException {
+        return begin("U", tasks, logs);
+    }
+
+    /**
+     * タスクとそのログの削除を記録します。
+     * @param codes 削除するタスクのコード
+     * @return トランザクションの番号
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public synchronized int beginDeletes(Collection<Integer> codes) throws IOException {
+        int id = nextId;
+        StringBuilder sb = new StringBuilder();
+        for (int code : codes) {
+            sb.append("D,").append(id).append(',').append(code).append('\n');
+        }
+        return commit(id, sb);
+    }
+
+    /**
+     * トランザクションの全ての書き込みが終わったことを記録します。
+     * 終了の記録はディスクへの書き出しを待ちません。失われた場合は起動時に同じ変更をやり直すだけです。
+     * @param id {@code begin}で返された番号
+     */
+    public synchronized void end(int id) {
+        finish(id, "E");
+    }
+
+    /**
+     * トランザクションの変更を取り消し、各ファイルが変更前のままであることを記録します。
+     * 取り消しの記録があるトランザクションはやり直しません。
+     * @param id {@code begin}で返された番号
+     */
+    public synchronized void rollback(int id) {
+        finish(id, "R");
+    }
+
+    /**
+     * 終了または取り消しを記録し、実行中のものがなければ一定の大きさを超えたファイルを空にします。
+     */
+    private void finish(int id, String type) {
+        active--;
+        try {
+            FileChannel target = channel();
+            write(target, type + "," + id + "\n");
+            //実行中のものがなければ、全ての記録が反映済み
+            if (active == 0 && !unapplied && target.size() >= CHECKPOINT_BYTES) {
+                target.truncate(0);
+                nextId = 1;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * トランザクションの書き込みに失敗し、取り消すこともできなかったため、終了を記録せずに終えます。
+     * 確定の記録は残るため{@link #pending(Map)}で再度取り出してやり直せます。やり直して{@link #reset()}するまではファイルを空にしません。
+     * @param id {@code begin}で返された番号
+     */
+    public synchronized void abort(int id) {
+        active--;
+        unapplied = true;
+    }
+
+    /**
+     * {@link #abort(int)}したトランザクションや、やり直していないトランザクションが残っているかを返します。
+     * @return やり直す必要がある場合はtrue
+     */
+    public synchronized boolean hasPending() {
+        return unapplied;
+    }
+
+    /**
+     * 確定の記録があり、終了・取り消しの記録がないトランザクションを記録された順番で返します。
+     * 書き込み途中で終わった行など、解釈できない行は読み飛ばします。
+     * それぞれのトランザクションには、後に確定した（取り消されていない）トランザクションが変更したタスクのコードを添えます。
+     * それらのタスクは後の変更が新しいため、やり直すと古い内容に戻ってしまいます。
+     * @param users 担当ユーザーを解決するためのマップ
+     * @return やり直すトランザクション
+     */
+    public synchronized List<Transaction> pending(Map<Integer, User> users) {
+        Map<Integer, Transaction> transactions = new LinkedHashMap<>();
+        if (!new File(filePath).exists()) {
+            return new ArrayList<>();
+        }
+        try (CsvCursor cursor = CsvCursor.open(filePath)) {
+            while (cursor.nextRow()) {
+                try {
+                    read(cursor, transactions, users);
+                } catch (RuntimeException e) {
+                    //書き込み途中の行は無視
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        List<Transaction> pending = new ArrayList<>();
+        Set<Integer> later = new HashSet<>();
+        List<Transaction> all = new ArrayList<>(transactions.values());
+        for (int i = all.size() - 1; i >= 0; i--) {
+            Transaction tx = all.get(i);
+            if (!tx.committed || tx.rolledBack) {
+                continue;
+            }
+            if (!tx.ended) {
+                tx.superseded.addAll(later);
+                pending.add(0, tx);
+            }
+            later.addAll(tx.codes());
+        }
+        for (Transaction tx : all) {
+            //残った記録と番号が重ならないようにする
+            nextId = Math.max(nextId, tx.id + 1);
+        }
+        if (!pending.isEmpty()) {
+            unapplied = true;
+        }
+        return pending;
+    }
+
+    /**
+     * 記録を全て消します。やり直しが終わった後に呼び出します。
+     */
+    public synchronized void reset() {
+        if (active > 0) {
+            return;
+        }
+        try {
+            if (channel != null || new File(filePath).exists()) {
+                channel().truncate(0);
+            }
+            nextId = 1;
+            unapplied = false;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        channel = null;
+    }
+
+    private synchronized int begin(String type, Collection<Task> tasks, Collection<Log> logs) throws IOException {
+        int id = nextId;
+        StringBuilder sb = new StringBuilder();
+        for (Task task : tasks) {
+            sb.append(type).append(',').append(id).append(',').append(task.getCode()).append(',')
+                    .append(task.getName()).append(',').append(task.getStatus()).append(',')
+                    .append(task.getRepUser().getCode()).append('\n');
+        }
+        for (Log log : logs) {
+            sb.append("L,").append(id).append(',').append(log.getTaskCode()).append(',')
+                    .append(log.getChangeUserCode()).append(',').append(log.getStatus()).append(',')
+                    .append(log.getChangeDate()).append('\n');
+        }
+        return commit(id, sb);
+    }
+
+    /**
+     * 変更の内容に確定の記録を付けて1回で書き込みます。
+     * 途中で中断した場合は確定の記録が残らないため、やり直しの対象になりません。
+     */
+    private int commit(int id, StringBuilder sb) throws IOException {
+        sb.append("C,").append(id).append('\n');
+        FileChannel target = channel();
+        write(target, sb.toString());
+        if (force) {
+            target.force(false);
+        }
+        nextId++;
+        active++;
+        return id;
+    }
+
+    private void read(CsvCursor cursor, Map<Integer, Transaction> transactions, Map<Integer, User> users) {
+        String type = cursor.nextString();
+        int id = cursor.nextInt();
+        Transaction tx = transactions.computeIfAbsent(id, Transaction::new);
+        switch (type) {
+            case "S" -> tx.saves.add(createTask(cursor, users));
+            case "U" -> tx.updates.add(createTask(cursor, users));
+            case "D" -> tx.deletes.add(cursor.nextInt());
+            case "L" -> tx.logs.add(new Log(cursor.nextInt(), cursor.nextInt(), cursor.nextInt(), cursor.nextDate()));
+            case "C" -> tx.committed = true;
+            case "E" -> tx.ended = true;
+            case "R" -> {
+                tx.ended = true;
+                tx.rolledBack = true;
+            }
+            default -> throw new IllegalArgumentException(type);
+        }
+    }
+
+    private Task createTask(CsvCursor cursor, Map<Integer, User> users) {
+        return new Task(
+            cursor.nextInt(),
+            cursor.nextString(),
+            cursor.nextInt(),
+            users.get(cursor.nextInt()));
+    }
+
+    private void write(FileChannel target, String text) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(Paths.get(filePath),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    /**
+     * 記録から読み込んだ1つのトランザクションです。
+     */
+    public static class Transaction {
+        private final int id;
+        private final List<Task> saves = new ArrayList<>();
+        private final List<Task> updates = new ArrayList<>();
+        private final List<Integer> deletes = new ArrayList<>();
+        private final List<Log> logs = new ArrayList<>();
+        private final Set<Integer> superseded = new HashSet<>();
+        private boolean committed;
+        private boolean ended;
+        private boolean rolledBack;
+
+        private Transaction(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public List<Task> getSaves() {
+            return saves;
+        }
+
+        public List<Task> getUpdates() {
+            return updates;
+        }
+
+        public List<Integer> getDeletes() {
+            return deletes;
+        }
+
+        public List<Log> getLogs() {
+            return logs;
+        }
+
+        /**
+         * 後に確定したトランザクションが変更したため、やり直さないタスクか判定します。
+         * @param code タスクコード
+         * @return やり直さない場合はtrue
+         */
+        public boolean isSuperseded(int code) {
+            return superseded.contains(code);
+        }
+
+        private Set<Integer> codes() {
+            Set<Integer> codes = new HashSet<>(deletes);
+            saves.forEach(task -> codes.add(task.getCode()));
+            updates.forEach(task -> codes.add(task.getCode()));
+            logs.forEach(log -> codes.add(log.getTaskCode()));
+            return codes;
+        }
+    }
+}
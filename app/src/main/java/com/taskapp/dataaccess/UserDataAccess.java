@@ -1,17 +1,25 @@
 package com.taskapp.dataaccess;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.taskapp.model.User;
 
+/**
+ * users.csvへのアクセスを行います。
+ * CSVを読み込んでメールアドレスとコードで索引したユーザーを保持し、検索はメモリ上で行います。
+ * 各検索の前にCSVの更新日時とサイズを確認し、変更されていれば読み込み直します。
+ * 読み込みに失敗した場合は読み込めた分だけで検索し、次の検索で読み込み直します。
+ */
 public class UserDataAccess {
     private final String filePath;
 
+    private volatile UserTable table;
+
     public UserDataAccess() {
         filePath = "app/src/main/resources/users.csv";
     }
@@ -26,32 +34,17 @@ public class UserDataAccess {
 
     /**
      * メールアドレスとパスワードを基にユーザーデータを探します。
+     * 同じメールアドレスのユーザーが複数いる場合は、パスワードが一致する最初の行のユーザーを返します。
      * @param email メールアドレス
      * @param password パスワード
      * @return 見つかったユーザー
      */
     public User findByEmailAndPassword(String email, String password) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            //read Line temp
-            String line = "";
-            //ヘッダー回避
-            reader.readLine();
-
-            //""を読むまでループ
-            while ((line = reader.readLine()) != null) {
-                //分解
-                List<String> value = new ArrayList<>(Arrays.asList(line.split(",")));
-                //email・passが一致した場合User型に成形して返す
-                if (value.get(2).equals(email) && value.get(3).equals(password)) {
-                    return new User(
-                        Integer.parseInt(value.get(0)),
-                        value.get(1),
-                        value.get(2),
-                        value.get(3));
-                }
+        //メールアドレスで引いてからパスワードを照合
+        for (User user : table().byEmail.getOrDefault(email, List.of())) {
+            if (user.getPassword().equals(password)) {
+                return user;
             }
-        } catch (IOException e) {
-            e.printStackTrace();;
         }
         return null;
     }
@@ -62,30 +55,91 @@ public class UserDataAccess {
      * @return 見つかったユーザー
      */
     public User findByCode(int code) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            //read Line temp
-            String line = "";
+        return table().byCode.get(code);
+    }
+
+    /**
+     * 全てのユーザーデータをコードをキーにしたマップで取得します。
+     * 複数のユーザーをまとめて解決する場合に利用します。
+     * @return ユーザーコードをキーにしたユーザーのマップ（変更不可）
+     */
+    public Map<Integer, User> findAllByCode() {
+        return table().byCode;
+    }
+
+    /**
+     * 索引済みのユーザーを返します。未読み込み、前回の読み込みに失敗した、またはCSVが変更されていた場合は読み込み直します。
+     * @return 索引済みのユーザー
+     */
+    private UserTable table() {
+        UserTable current = table;
+        if (isCurrent(current)) {
+            return current;
+        }
+        synchronized (this) {
+            current = table;
+            if (!isCurrent(current)) {
+                current = load();
+                //一部だけのユーザーを使い続けないよう、読み込めた場合のみ保持する
+                table = current.loaded ? current : null;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * 読み込み済みのユーザーが、CSVの現在の内容と一致するか判定します。
+     * @param current 読み込み済みのユーザー
+     * @return 読み込み直す必要がない場合はtrue
+     */
+    private boolean isCurrent(UserTable current) {
+        return current != null && current.snapshot.isCurrent(filePath);
+    }
+
+    /**
+     * CSVから全てのユーザーデータを読み込みます。
+     * 同じメールアドレスのユーザーは行の順番で保持し、同じコードのユーザーが複数いる場合は先の行を優先します。
+     * @return 索引済みのユーザー
+     */
+    private UserTable load() {
+        //読み込み前の状態を記録し、読み込み中の変更は次回検知する
+        FileSnapshot snapshot = FileSnapshot.of(filePath);
+        Map<String, List<User>> byEmail = new HashMap<>();
+        Map<Integer, User> byCode = new HashMap<>();
+        boolean loaded = true;
+        try (CsvCursor cursor = CsvCursor.open(filePath)) {
             //ヘッダー回避
-            reader.readLine();
+            cursor.nextRow();
 
-            //""を読むまでループ
-            while ((line = reader.readLine()) != null) {
-                //分解
-                List<String> value = new ArrayList<>(Arrays.asList(line.split(",")));
-                //codeが一致した場合User型に成形して返す
-                if (Integer.parseInt(value.get(0)) == code) {
-                    return new User(
-                        Integer.parseInt(value.get(0)),
-                        value.get(1),
-                        value.get(2),
-                        value.get(3));
-                }
+            //最終行までループ
+            while (cursor.nextRow()) {
+                //User型に成形してメールアドレスとコードをキーに格納
+                User user = new User(cursor.nextInt(), cursor.nextString(), cursor.nextString(), cursor.nextString());
+                byEmail.computeIfAbsent(user.getEmail(), k -> new ArrayList<>(1)).add(user);
+                byCode.putIfAbsent(user.getCode(), user);
             }
-        } catch (IOException e) {
-            e.printStackTrace();;
-        } catch (Exception e) {
-            e.printStackTrace();;
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            loaded = false;
+        }
+        return new UserTable(snapshot, loaded, byEmail, byCode);
+    }
+
+    /**
+     * 読み込んだ時点のユーザーの索引です。
+     */
+    private static class UserTable {
+        private final FileSnapshot snapshot;
+        private final boolean loaded;
+        private final Map<String, List<User>> byEmail;
+        private final Map<Integer, User> byCode;
+
+        private UserTable(FileSnapshot snapshot, boolean loaded, Map<String, List<User>> byEmail,
+                Map<Integer, User> byCode) {
+            this.snapshot = snapshot;
+            this.loaded = loaded;
+            this.byEmail = byEmail;
+            this.byCode = Collections.unmodifiableMap(byCode);
         }
-        return null;
     }
 }
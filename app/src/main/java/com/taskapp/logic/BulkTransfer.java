@@ -0,0 +1,307 @@
+package com.taskapp.logic;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import com.taskapp.dataaccess.CsvChunks;
+import com.taskapp.dataaccess.CsvCursor;
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.model.Log;
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+/**
+ * 環境間でタスクとログを大量に移すための取り込み・書き出しを行います。
+ * <p>
+ * 取り込みでは、CSVを行の境目でバイト範囲に分けて{@link ForkJoinPool}で並列に解釈し、
+ * 事前に1回だけ読み込んだユーザーで担当ユーザー・変更ユーザーを確認します。
+ * 解釈した範囲はファイルの順番に呼び出し元のスレッドだけが{@link TaskDataAccess#saveAll(List)}・
+ * {@link LogDataAccess#saveAll(List)}で書き込むため、書き込みは1つのライターで順番に行われます。
+ * 確認できなかった行や解釈できない行、書き込みに失敗した範囲の行は取り込まずに件数だけを数えます。
+ * <p>
+ * 書き出しは{@link TaskDataAccess#stream()}・{@link LogDataAccess#stream()}で読みながら1行ずつ書き込みます。
+ * 保存形式や削除記録の扱いはDataAccessに任せるため、バイナリ形式で保存している場合もCSVで書き出せます。
+ */
+public class BulkTransfer {
+    private static final String TASK_HEADER = "Code,Name,Status,Rep_User_Code";
+    private static final String LOG_HEADER = "Task_Code,Change_User_Code,Status,Change_Date";
+
+    private final TaskDataAccess taskDataAccess;
+    private final LogDataAccess logDataAccess;
+    private final UserDataAccess userDataAccess;
+    private final int parallelism;
+
+    public BulkTransfer() {
+        this(new TaskDataAccess(), new LogDataAccess(), new UserDataAccess(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param taskDataAccess 取り込み先・書き出し元のタスク
+     * @param logDataAccess 取り込み先・書き出し元のログ
+     * @param userDataAccess 確認に使うユーザー
+     * @param parallelism 取り込み時に解釈するスレッドの数
+     */
+    public BulkTransfer(TaskDataAccess taskDataAccess, LogDataAccess logDataAccess, UserDataAccess userDataAccess,
+            int parallelism) {
+        this.taskDataAccess = taskDataAccess;
+        this.logDataAccess = logDataAccess;
+        this.userDataAccess = userDataAccess;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * tasks.csvと同じ形式のCSVからタスクを取り込みます。
+     * 担当ユーザーが存在しない行と、ステータスが0～2でない行は取り込みません。
+     * {@link TaskLogic#saveAll(List, com.taskapp.model.User)}と同様に、既に登録されているコードと、
+     * CSV内で同じコードの2件目以降も取り込みません。
+     *
+     * @see com.taskapp.dataaccess.TaskDataAccess#findByCode(int)
+     * @see com.taskapp.dataaccess.TaskDataAccess#saveAll(List)
+     * @param csvPath 取り込むCSVのパス
+     * @return 取り込みの結果
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public Report importTasks(String csvPath) throws IOException {
+        Map<Integer, User> users = userDataAccess.findAllByCode();
+        long start = System.nanoTime();
+        long[] counts = new long[2];
+        Set<Integer> codes = new HashSet<>();
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            CsvChunks.read(csvPath, pool, parallelism, cursor -> parseTasks(cursor, users), chunk -> {
+                List<Task> accepted = new ArrayList<>(chunk.rows.size());
+                for (Task task : chunk.rows) {
+                    //登録済み・CSV内で重複するコード
+                    if (!codes.add(task.getCode()) || taskDataAccess.findByCode(task.getCode()) != null) {
+                        chunk.rejected++;
+                        continue;
+                    }
+                    accepted.add(task);
+                }
+                count(counts, chunk.rejected, accepted.size(), taskDataAccess.saveAll(accepted));
+            });
+        }
+        return new Report(counts[0], counts[1], parallelism, System.nanoTime() - start);
+    }
+
+    /**
+     * logs.csvと同じ形式のCSVからログを取り込みます。
+     * 変更ユーザーが存在しない行と、ステータスが0～2でない行は取り込みません。
+     *
+     * @see com.taskapp.dataaccess.LogDataAccess#saveAll(List)
+     * @param csvPath 取り込むCSVのパス
+     * @return 取り込みの結果
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public Report importLogs(String csvPath) throws IOException {
+        Map<Integer, User> users = userDataAccess.findAllByCode();
+        long start = System.nanoTime();
+        long[] counts = new long[2];
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            CsvChunks.read(csvPath, pool, parallelism, cursor -> parseLogs(cursor, users),
+                    chunk -> count(counts, chunk.rejected, chunk.rows.size(), logDataAccess.saveAll(chunk.rows)));
+        }
+        logDataAccess.sync();
+        return new Report(counts[0], counts[1], parallelism, System.nanoTime() - start);
+    }
+
+    /**
+     * 全てのタスクをtasks.csvと同じ形式のCSVに書き出します。
+     * 担当ユーザーがusers.csvに存在しないタスクは書き出さずに件数だけを数えます。
+     *
+     * @see com.taskapp.dataaccess.TaskDataAccess#stream()
+     * @param csvPath 書き出し先のパス
+     * @return 書き出しの結果
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public Report exportTasks(String csvPath) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        long rejected = 0;
+        try (Stream<Task> tasks = taskDataAccess.stream();
+                BufferedWriter writer = Files.newBufferedWriter(Paths.get(csvPath))) {
+            //ヘッダー書き込み
+            writer.write(TASK_HEADER);
+            for (Iterator<Task> it = tasks.iterator(); it.hasNext();) {
+                Task task = it.next();
+                //担当ユーザーが解決できないタスク
+                if (task.getRepUser() == null) {
+                    rejected++;
+                    continue;
+                }
+                writer.newLine();
+                writer.write(task.getCode() + "," + task.getName() + "," + task.getStatus() + ","
+                        + task.getRepUser().getCode());
+                rows++;
+            }
+        }
+        return new Report(rows, rejected, 1, System.nanoTime() - start);
+    }
+
+    /**
+     * 全てのログをlogs.csvと同じ形式のCSVに書き出します。削除記録のあるログは含みません。
+     *
+     * @see com.taskapp.dataaccess.LogDataAccess#stream()
+     * @param csvPath 書き出し先のパス
+     * @return 書き出しの結果
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public Report exportLogs(String csvPath) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        try (Stream<Log> logs = logDataAccess.stream();
+                BufferedWriter writer = Files.newBufferedWriter(Paths.get(csvPath))) {
+            //ヘッダー書き込み
+            writer.write(LOG_HEADER);
+            for (Iterator<Log> it = logs.iterator(); it.hasNext();) {
+                Log log = it.next();
+                writer.newLine();
+                writer.write(log.getTaskCode() + "," + log.getChangeUserCode() + "," + log.getStatus() + ","
+                        + log.getChangeDate());
+                rows++;
+            }
+        }
+        return new Report(rows, 0, 1, System.nanoTime() - start);
+    }
+
+    /**
+     * 1つの範囲のタスクを解釈します。プールのスレッドで呼び出されます。
+     */
+    private static Chunk<Task> parseTasks(CsvCursor cursor, Map<Integer, User> users) throws IOException {
+        Chunk<Task> chunk = new Chunk<>();
+        while (cursor.nextRow()) {
+            try {
+                int code = cursor.nextInt();
+                String name = cursor.nextString();
+                int status = cursor.nextInt();
+                User user = users.get(cursor.nextInt());
+                if (user == null || !isValidStatus(status)) {
+                    chunk.rejected++;
+                    continue;
+                }
+                chunk.rows.add(new Task(code, name, status, user));
+            } catch (RuntimeException e) {
+                //解釈できない行
+                chunk.rejected++;
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * 1つの範囲のログを解釈します。プールのスレッドで呼び出されます。
+     */
+    private static Chunk<Log> parseLogs(CsvCursor cursor, Map<Integer, User> users) throws IOException {
+        Chunk<Log> chunk = new Chunk<>();
+        while (cursor.nextRow()) {
+            try {
+                int taskCode = cursor.nextInt();
+                int changeUserCode = cursor.nextInt();
+                int status = cursor.nextInt();
+                if (!users.containsKey(changeUserCode) || !isValidStatus(status)) {
+                    chunk.rejected++;
+                    continue;
+                }
+                chunk.rows.add(new Log(taskCode, changeUserCode, status, cursor.nextDate()));
+            } catch (RuntimeException e) {
+                //解釈できない行
+                chunk.rejected++;
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * 1つの範囲の取り込み結果を数えます。書き込みに失敗した場合は、書き込もうとした行も取り込まなかった行に数えます。
+     * @param counts 取り込んだ件数と取り込まなかった件数
+     * @param rejected 書き込む前に取り込まなかった件数
+     * @param rows 書き込もうとした件数
+     * @param written 書き込めた場合はtrue
+     */
+    private static void count(long[] counts, long rejected, int rows, boolean written) {
+        if (written) {
+            counts[0] += rows;
+        } else {
+            rejected += rows;
+        }
+        counts[1] += rejected;
+    }
+
+    private static boolean isValidStatus(int status) {
+        return status >= 0 && status <= 2;
+    }
+
+    /**
+     * 1つの範囲を解釈した結果です。
+     */
+    private static class Chunk<T> {
+        private final List<T> rows = new ArrayList<>();
+        private long rejected;
+    }
+
+    /**
+     * 取り込み・書き出しの結果です。
+     */
+    public static class Report {
+        private final long rows;
+        private final long rejected;
+        private final int parallelism;
+        private final long elapsedNanos;
+
+        public Report(long rows, long rejected, int parallelism, long elapsedNanos) {
+            this.rows = rows;
+            this.rejected = rejected;
+            this.parallelism = parallelism;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * 1秒あたりの処理件数を返します。取り込まなかった行も含みます。
+         * @return 1秒あたりの件数
+         */
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : (rows + rejected) * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        /**
+         * 1スレッドあたりの、1秒あたりの処理件数を返します。
+         * @return 1スレッド・1秒あたりの件数
+         */
+        public double getRowsPerSecondPerCore() {
+            return getRowsPerSecond() / parallelism;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("rows=%d, rejected=%d, threads=%d, elapsed=%.2fs, rows/s=%.0f, rows/s/core=%.0f",
+                    rows, rejected, parallelism, elapsedNanos / 1e9, getRowsPerSecond(), getRowsPerSecondPerCore());
+        }
+    }
+}
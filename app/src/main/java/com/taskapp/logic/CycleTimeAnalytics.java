@@ -0,0 +1,211 @@
+package com.taskapp.logic;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.model.CycleTimeReport;
+import com.taskapp.model.CycleTimeReport.Durations;
+import com.taskapp.util.IntIntMap;
+
+/**
+ * logs.csvを1回読みながら、タスクのリードタイム・サイクルタイム・待ち時間と日ごとの完了件数を集計します。
+ * <p>
+ * {@link LogDataAccess#forEachRow(LogDataAccess.RowConsumer)}で項目をプリミティブのまま受け取り、
+ * 集計もプリミティブの配列と{@link IntIntMap}だけで行うため、{@link com.taskapp.model.Log}のリストは作りません。
+ * 保持するのは完了していないタスクの登録日・着手日と、ユーザーごと・日ごとの集計だけで、
+ * 完了したタスクの状態は完了した時点で捨てます。そのため使用するメモリはログの件数によらず、
+ * 同時に進行中のタスク・ユーザー・日の数で決まります。
+ * <p>
+ * タスクごとの日数は保持せず、完了するたびに{@link TaskCycleListener}へ渡します。
+ */
+public class CycleTimeAnalytics {
+    //全体の集計での位置
+    private static final int LEAD = 0;
+    private static final int CYCLE = 1;
+    private static final int WAIT = 2;
+
+    private final LogDataAccess logDataAccess;
+
+    public CycleTimeAnalytics() {
+        this(new LogDataAccess());
+    }
+
+    /**
+     * @param logDataAccess 集計するログ
+     */
+    public CycleTimeAnalytics(LogDataAccess logDataAccess) {
+        this.logDataAccess = logDataAccess;
+    }
+
+    /**
+     * タスクが完了するたびに呼び出される処理です。
+     */
+    @FunctionalInterface
+    public interface TaskCycleListener {
+        /**
+         * @param taskCode タスクコード
+         * @param userCode 完了にしたユーザーコード
+         * @param epochDay 完了日（1970-01-01からの日数）
+         * @param leadDays リードタイム（日）、登録のログがない場合は-1
+         * @param cycleDays サイクルタイム（日）、着手のログがない場合は-1
+         */
+        void completed(int taskCode, int userCode, int epochDay, int leadDays, int cycleDays);
+    }
+
+    /**
+     * 全てのログを集計します。
+     * @return 集計結果
+     */
+    public CycleTimeReport analyze() {
+        return analyze((taskCode, userCode, epochDay, leadDays, cycleDays) -> {
+        });
+    }
+
+    /**
+     * 全てのログを集計し、タスクが完了するたびにタスクごとの日数を渡します。
+     * @param listener タスクごとの日数の受け取り
+     * @return 集計結果
+     */
+    public CycleTimeReport analyze(TaskCycleListener listener) {
+        Accumulator accumulator = new Accumulator(listener);
+        logDataAccess.forEachRow(accumulator);
+        return accumulator.report();
+    }
+
+    /**
+     * ログを1行ずつ受け取って集計します。
+     */
+    private static class Accumulator implements LogDataAccess.RowConsumer {
+        private static final int NONE = Integer.MIN_VALUE;
+
+        private final TaskCycleListener listener;
+
+        //完了していないタスクの登録日・着手日
+        private final IntIntMap createdDays = new IntIntMap();
+        private final IntIntMap startedDays = new IntIntMap();
+
+        private final DurationColumns total = new DurationColumns();
+        private final IntIntMap userIndexes = new IntIntMap();
+        private final DurationColumns leadByUser = new DurationColumns();
+        private final DurationColumns cycleByUser = new DurationColumns();
+        private int[] completedByUser = new int[16];
+        private final IntIntMap completedByDay = new IntIntMap();
+        private long rows;
+
+        Accumulator(TaskCycleListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void accept(int taskCode, int userCode, int status, int epochDay) {
+            rows++;
+            switch (status) {
+                case 0 -> {
+                    //同じコードで登録し直した場合は最初から数え直す
+                    createdDays.put(taskCode, epochDay);
+                    startedDays.remove(taskCode, NONE);
+                }
+                case 1 -> {
+                    startedDays.put(taskCode, epochDay);
+                    int created = createdDays.get(taskCode, NONE);
+                    if (created != NONE) {
+                        total.add(WAIT, epochDay - created);
+                    }
+                }
+                case 2 -> complete(taskCode, userCode, epochDay);
+                default -> {
+                    //未知のステータスは数えない
+                }
+            }
+        }
+
+        private void complete(int taskCode, int userCode, int epochDay) {
+            int created = createdDays.remove(taskCode, NONE);
+            int started = startedDays.remove(taskCode, NONE);
+            int leadDays = created == NONE ? -1 : epochDay - created;
+            int cycleDays = started == NONE ? -1 : epochDay - started;
+
+            int user = userIndex(userCode);
+            completedByUser[user]++;
+            completedByDay.add(epochDay, 1);
+            if (leadDays >= 0) {
+                total.add(LEAD, leadDays);
+                leadByUser.add(user, leadDays);
+            }
+            if (cycleDays >= 0) {
+                total.add(CYCLE, cycleDays);
+                cycleByUser.add(user, cycleDays);
+            }
+            listener.completed(taskCode, userCode, epochDay, leadDays, cycleDays);
+        }
+
+        /**
+         * ユーザーコードを、ユーザーごとの配列の位置に変換します。
+         */
+        private int userIndex(int userCode) {
+            int index = userIndexes.get(userCode, -1);
+            if (index < 0) {
+                index = userIndexes.size();
+                userIndexes.put(userCode, index);
+                if (index == completedByUser.length) {
+                    completedByUser = Arrays.copyOf(completedByUser, index << 1);
+                }
+            }
+            return index;
+        }
+
+        CycleTimeReport report() {
+            Map<Integer, Durations> lead = new HashMap<>();
+            Map<Integer, Durations> cycle = new HashMap<>();
+            Map<Integer, Integer> completed = new HashMap<>();
+            userIndexes.forEach((userCode, index) -> {
+                lead.put(userCode, leadByUser.get(index));
+                cycle.put(userCode, cycleByUser.get(index));
+                completed.put(userCode, completedByUser[index]);
+            });
+            SortedMap<LocalDate, Integer> byDay = new TreeMap<>();
+            completedByDay.forEach((epochDay, count) -> byDay.put(LocalDate.ofEpochDay(epochDay), count));
+
+            //登録または着手したまま完了していないタスク
+            IntIntMap open = new IntIntMap();
+            createdDays.forEach((taskCode, day) -> open.put(taskCode, 1));
+            startedDays.forEach((taskCode, day) -> open.put(taskCode, 1));
+
+            return new CycleTimeReport(rows, open.size(), total.get(LEAD), total.get(CYCLE), total.get(WAIT),
+                    Collections.unmodifiableMap(lead), Collections.unmodifiableMap(cycle),
+                    Collections.unmodifiableMap(completed), Collections.unmodifiableSortedMap(byDay));
+        }
+    }
+
+    /**
+     * 位置ごとの日数の件数・合計・最大を、プリミティブの配列で保持します。
+     */
+    private static class DurationColumns {
+        private long[] counts = new long[16];
+        private long[] totals = new long[16];
+        private int[] maxima = new int[16];
+
+        void add(int index, int days) {
+            if (index >= counts.length) {
+                int length = Math.max(index + 1, counts.length << 1);
+                counts = Arrays.copyOf(counts, length);
+                totals = Arrays.copyOf(totals, length);
+                maxima = Arrays.copyOf(maxima, length);
+            }
+            counts[index]++;
+            totals[index] += days;
+            maxima[index] = Math.max(maxima[index], days);
+        }
+
+        Durations get(int index) {
+            return index < counts.length ? new Durations(counts[index], totals[index], maxima[index])
+                    : new Durations(0, 0, 0);
+        }
+    }
+}
@@ -1,26 +1,74 @@
 package com.taskapp.logic;
 
+import java.io.IOException;
+import java.io.PrintStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.taskapp.dataaccess.LogDataAccess;
 import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.TransactionLog;
 import com.taskapp.dataaccess.UserDataAccess;
 import com.taskapp.exception.AppException;
+import com.taskapp.model.BatchResult;
 import com.taskapp.model.Log;
 import com.taskapp.model.Task;
+import com.taskapp.model.TaskPage;
+import com.taskapp.model.TaskQuery;
+import com.taskapp.model.TaskSummary;
 import com.taskapp.model.User;
+import com.taskapp.util.StripedLock;
 
+/**
+ * タスクの表示・登録・ステータス変更・削除を行います。
+ * 1つのインスタンスを複数のスレッドで共有できます。
+ * 同じタスクコードへの登録・変更・削除はタスクコードごとのロックで直列に行い、
+ * 確認してから更新するまでの間に他のスレッドの変更が入らないようにします。
+ * 異なるタスクコードへの操作は並行して行えます。
+ * <p>
+ * 複数のタスクをまとめて処理する{@link #saveAll(List, User)}・{@link #changeStatusAll(Map, User)}・
+ * {@link #deleteAll(Collection)}は、ユーザーとタスクを1回ずつ確認してから、タスクとログをそれぞれ1回の書き込みで保存します。
+ * 確認に失敗したタスクは処理せず、結果を1件ずつ返します。
+ * <p>
+ * {@link TransactionLog}を指定した場合は、タスクとログへの書き込みの前に変更の内容を記録し、
+ * タスクを書き込めた場合だけログを書き込み、両方を書き込めた場合に終了を記録します。
+ * 書き込めなかった場合はタスクへの変更を取り消して取り消しを記録し、{@link AppException}をスローします。
+ * 取り消しにも失敗した変更と、前回書き込み途中で中断した変更は{@link #recover()}でやり直すため、
+ * tasks.csvとlogs.csvの片方だけが変更された状態は残りません。取り消しにも失敗した変更は、次の変更の前にやり直します。
+ */
 public class TaskLogic {
+    private static final int LOCK_STRIPES = 64;
+
+    private static final String NO_USER = "存在するユーザーコードを入力してください";
+    private static final String NO_TASK = "存在するタスクコードを入力してください";
+    private static final String INVALID_STATUS = "ステータスは、前のステータスより1つ先のもののみを選択してください";
+    private static final String NOT_COMPLETED = "ステータスが完了のタスクを選択してください";
+    private static final String DUPLICATE_TASK = "登録されていないタスクコードを入力してください";
+    private static final String NOT_RECORDED = "変更を記録できませんでした";
+    private static final String NOT_SAVED = "変更を保存できませんでした";
+    private static final String PARTIALLY_SAVED = "変更の一部を保存できませんでした。残りは後でやり直します";
+
+    //先行書き込みログを使わない場合のトランザクション番号
+    private static final int NO_TRANSACTION = -1;
+
     private final TaskDataAccess taskDataAccess;
     private final LogDataAccess logDataAccess;
     private final UserDataAccess userDataAccess;
+    private final TransactionLog transactionLog;
+    private final StripedLock taskLocks = new StripedLock(LOCK_STRIPES);
 
 
     public TaskLogic() {
-        taskDataAccess = new TaskDataAccess();
-        logDataAccess = new LogDataAccess();
-        userDataAccess = new UserDataAccess();
+        //他のファイルと同様にOSへの書き出しまでとし、ディスクへの書き出しは待たない
+        this(new TaskDataAccess(), new LogDataAccess(), new UserDataAccess(),
+                new TransactionLog("app/src/main/resources/transactions.wal", false));
     }
 
     /**
@@ -33,6 +81,81 @@ public class TaskLogic {
         this.taskDataAccess = taskDataAccess;
         this.logDataAccess = logDataAccess;
         this.userDataAccess = userDataAccess;
+        this.transactionLog = null;
+    }
+
+    /**
+     * 変更を先行書き込みログに記録するインスタンスを生成します。
+     * 前回書き込み途中で中断した変更は、利用を始める前に{@link #recover()}でやり直してください。
+     * @param taskDataAccess タスク
+     * @param logDataAccess ログ
+     * @param userDataAccess ユーザー
+     * @param transactionLog 先行書き込みログ
+     */
+    public TaskLogic(TaskDataAccess taskDataAccess, LogDataAccess logDataAccess, UserDataAccess userDataAccess,
+            TransactionLog transactionLog) {
+        this.taskDataAccess = taskDataAccess;
+        this.logDataAccess = logDataAccess;
+        this.userDataAccess = userDataAccess;
+        this.transactionLog = transactionLog;
+    }
+
+    /**
+     * 先行書き込みログに残っている、書き込み途中で中断した変更をやり直してから記録を消します。
+     * 後に確定した変更があるタスクは、古い内容に戻さないようやり直しません。
+     * 何度やり直しても同じ結果になるよう、反映済みの変更は飛ばします。
+     * 追加は同じコードのタスクがある場合、ログの追記はそのタスクの最後のログが同じ内容の場合に反映済みとします。
+     * 更新と削除はそのままやり直します。
+     * やり直しの書き込みに失敗した場合は記録を残し、再度やり直します。
+     *
+     * @see com.taskapp.dataaccess.TransactionLog#pending(Map)
+     * @return やり直したトランザクションの数
+     */
+    public final int recover() {
+        if (transactionLog == null) {
+            return 0;
+        }
+        List<TransactionLog.Transaction> pending = transactionLog.pending(userDataAccess.findAllByCode());
+        boolean written = true;
+        for (TransactionLog.Transaction tx : pending) {
+            List<Task> saves = new ArrayList<>();
+            for (Task task : tx.getSaves()) {
+                if (task.getRepUser() != null && !tx.isSuperseded(task.getCode())
+                        && taskDataAccess.findByCode(task.getCode()) == null) {
+                    saves.add(task);
+                }
+            }
+            written &= taskDataAccess.saveAll(saves);
+            written &= taskDataAccess.updateAll(tx.getUpdates().stream()
+                    .filter(task -> task.getRepUser() != null && !tx.isSuperseded(task.getCode())).toList());
+            List<Integer> deletes = tx.getDeletes().stream().filter(code -> !tx.isSuperseded(code)).toList();
+            if (!deletes.isEmpty()) {
+                written &= taskDataAccess.deleteAll(deletes);
+                written &= logDataAccess.deleteByTaskCodes(deletes);
+            }
+            List<Log> logs = new ArrayList<>();
+            for (Log log : tx.getLogs()) {
+                if (!tx.isSuperseded(log.getTaskCode()) && !isLastLog(log)) {
+                    logs.add(log);
+                }
+            }
+            written &= logDataAccess.saveAll(logs);
+        }
+        logDataAccess.sync();
+        if (written) {
+            transactionLog.reset();
+        }
+        return pending.size();
+    }
+
+    /**
+     * 全てのタスクを取得します。
+     *
+     * @see com.taskapp.dataaccess.TaskDataAccess#findAll()
+     * @return 全てのタスク
+     */
+    public List<Task> findAll() {
+        return taskDataAccess.findAll();
     }
 
     /**
@@ -42,29 +165,118 @@ public class TaskLogic {
      * @param loginUser ログインユーザー
      */
     public void showAll(User loginUser) {
+        showAll(loginUser, System.out);
+    }
+
+    /**
+     * 全てのタスクを指定した出力先に表示します。
+     *
+     * @see com.taskapp.dataaccess.TaskDataAccess#findAll()
+     * @param loginUser ログインユーザー
+     * @param out 出力先
+     */
+    public void showAll(User loginUser, PrintStream out) {
         //全task取得
         List<Task> task = taskDataAccess.findAll();
 
         //出力
-        task.forEach(t -> {
-            //変換
-            String reqUser = "あなたが担当しています";
-            if (!t.getRepUser().equals(loginUser)) {
-                reqUser = t.getRepUser().getName() + "が担当しています";
-            }
-            String status = switch (t.getStatus()) {
-                case 0 -> "未着手";
-                case 1 -> "着手中";
-                case 2 -> "完了";
-                default -> "";
-            };
-            
-            //出力
-            System.out.print(t.getCode() + ". ");
-            System.out.print("タスク名：" + t.getName());
-            System.out.print(", 担当者名：" + reqUser);
-            System.out.println(", ステータス：" + status);
-        });
+        TaskRenderer renderer = new TaskRenderer(out, loginUser);
+        task.forEach(renderer::render);
+        renderer.flush();
+    }
+
+    /**
+     * 全てのタスクを、読み込みながら指定した出力先に表示します。
+     * タスクを全件読み込む前に表示を始めるため、件数が多い場合に最初の行が早く表示されます。
+     *
+     * @see com.taskapp.dataaccess.TaskDataAccess#forEach(java.util.function.Consumer)
+     * @param loginUser ログインユーザー
+     * @param out 出力先
+     */
+    public void showAllStreaming(User loginUser, PrintStream out) {
+        TaskRenderer renderer = new TaskRenderer(out, loginUser);
+        taskDataAccess.forEach(renderer::render);
+        renderer.flush();
+    }
+
+    /**
+     * 条件に該当するタスクを1ページ分取得します。
+     *
+     * @see com.taskapp.dataaccess.TaskDataAccess#findPage(TaskQuery)
+     * @param query 取得する条件
+     * @return 該当するタスクの1ページ
+     */
+    public TaskPage findPage(TaskQuery query) {
+        return taskDataAccess.findPage(query);
+    }
+
+    /**
+     * 条件に該当するタスクを1ページ分、指定した出力先に表示します。
+     * 一覧の後に、該当件数と表示している範囲を表示します。
+     *
+     * @see com.taskapp.dataaccess.TaskDataAccess#findPage(TaskQuery)
+     * @param loginUser ログインユーザー
+     * @param query 取得する条件
+     * @param out 出力先
+     * @return 表示したページ
+     */
+    public TaskPage showPage(User loginUser, TaskQuery query, PrintStream out) {
+        TaskPage page = taskDataAccess.findPage(query);
+
+        //出力
+        TaskRenderer renderer = new TaskRenderer(out, loginUser);
+        page.getTasks().forEach(renderer::render);
+        renderer.flush();
+        if (page.getTasks().isEmpty()) {
+            out.println("該当するタスクはありません。（全" + page.getTotal() + "件）");
+        } else {
+            out.println("全" + page.getTotal() + "件中 " + (page.getOffset() + 1) + "～"
+                    + (page.getOffset() + page.getTasks().size()) + "件目を表示しています。");
+        }
+        return page;
+    }
+
+    /**
+     * ステータスごとと担当ユーザーごとのタスクの件数を取得します。
+     *
+     * @see com.taskapp.dataaccess.TaskDataAccess#findSummary()
+     * @return 件数の集計
+     */
+    public TaskSummary findSummary() {
+        return taskDataAccess.findSummary();
+    }
+
+    /**
+     * ステータスごとと担当ユーザーごとのタスクの件数を、指定した出力先に表示します。
+     * 担当ユーザーは件数の多い順に表示し、ログインユーザーは「あなた」と表示します。
+     *
+     * @see com.taskapp.dataaccess.TaskDataAccess#findSummary()
+     * @see com.taskapp.dataaccess.UserDataAccess#findAllByCode()
+     * @param loginUser ログインユーザー
+     * @param out 出力先
+     * @return 表示した集計
+     */
+    public TaskSummary showSummary(User loginUser, PrintStream out) {
+        TaskSummary summary = taskDataAccess.findSummary();
+        Map<Integer, User> users = userDataAccess.findAllByCode();
+
+        //出力
+        StringBuilder sb = new StringBuilder();
+        sb.append("全").append(summary.getTotal()).append("件のタスクがあります。").append(System.lineSeparator());
+        sb.append("未着手：").append(summary.getStatusCount(0)).append("件, 着手中：").append(summary.getStatusCount(1))
+                .append("件, 完了：").append(summary.getStatusCount(2)).append("件").append(System.lineSeparator());
+        sb.append("担当者別：").append(System.lineSeparator());
+        summary.getRepUserCounts().entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed())
+                .forEach(e -> {
+                    User user = users.get(e.getKey());
+                    String name = user == null ? "ユーザーコード" + e.getKey()
+                            : user.equals(loginUser) ? "あなた" : user.getName();
+                    sb.append(name).append("：").append(e.getValue()).append("件").append(System.lineSeparator());
+                });
+        out.print(sb);
+        out.flush();
+        return summary;
     }
 
     /**
@@ -77,7 +289,7 @@ public class TaskLogic {
      * @param name タスク名
      * @param repUserCode 担当ユーザーコード
      * @param loginUser ログインユーザー
-     * @throws AppException ユーザーコードが存在しない場合にスローされます
+     * @throws AppException ユーザーコードが存在しない、または変更を保存できなかった場合にスローされます
      */
     public void save(int code, String name, int repUserCode,
                     User loginUser) throws AppException {
@@ -85,13 +297,25 @@ public class TaskLogic {
         //存在するユーザーか確認
         User user = userDataAccess.findByCode(repUserCode);
         if (user == null) {
-            throw new AppException("存在するユーザーコードを入力してください");
+            throw new AppException(NO_USER);
         }
 
-        //セーブ
-        taskDataAccess.save(new Task(code, name, 0, user));
-        //ロガー
-        logDataAccess.save(new Log(code, loginUser.getCode(), 0, LocalDate.now()));
+        Task task = new Task(code, name, 0, user);
+        Log log = new Log(code, loginUser.getCode(), 0, LocalDate.now());
+        retryPending();
+        ReentrantLock lock = taskLocks.get(code);
+        lock.lock();
+        try {
+            int tx = begin(() -> transactionLog.beginSaves(List.of(task), List.of(log)));
+            write(tx,
+                    //セーブ
+                    () -> taskDataAccess.save(task),
+                    //ロガー
+                    () -> logDataAccess.save(log),
+                    () -> taskDataAccess.delete(code));
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -103,24 +327,35 @@ public class TaskLogic {
      * @param code タスクコード
      * @param status 新しいステータス
      * @param loginUser ログインユーザー
-     * @throws AppException タスクコードが存在しない、またはステータスが前のステータスより1つ先でない場合にスローされます
+     * @throws AppException タスクコードが存在しない、またはステータスが前のステータスより1つ先でない、または変更を保存できなかった場合にスローされます
      */
     public void changeStatus(int code, int status,
                             User loginUser) throws AppException {
         
-        
-        //タスクコード存在・ステータス確認
-        Task task = taskDataAccess.findByCode(code);
-        if (task == null) {
-            throw new AppException("存在するタスクコードを入力してください");
-        } else if (task.getStatus() + 1 != status) {
-            throw new AppException("ステータスは、前のステータスより1つ先のもののみを選択してください");
-        }
+        retryPending();
+        ReentrantLock lock = taskLocks.get(code);
+        lock.lock();
+        try {
+            //タスクコード存在・ステータス確認
+            Task task = taskDataAccess.findByCode(code);
+            if (task == null) {
+                throw new AppException(NO_TASK);
+            } else if (task.getStatus() + 1 != status) {
+                throw new AppException(INVALID_STATUS);
+            }
 
-        //アップデート
-        taskDataAccess.update(new Task(code, task.getName(), status, task.getRepUser()));
-        //ロガー
-        logDataAccess.save(new Log(code, loginUser.getCode(), status, LocalDate.now()));
+            Task updateTask = new Task(code, task.getName(), status, task.getRepUser());
+            Log log = new Log(code, loginUser.getCode(), status, LocalDate.now());
+            int tx = begin(() -> transactionLog.beginUpdates(List.of(updateTask), List.of(log)));
+            write(tx,
+                    //アップデート
+                    () -> taskDataAccess.update(updateTask),
+                    //ロガー
+                    () -> logDataAccess.save(log),
+                    () -> taskDataAccess.update(task));
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -130,21 +365,337 @@ public class TaskLogic {
      * @see com.taskapp.dataaccess.TaskDataAccess#delete(int)
      * @see com.taskapp.dataaccess.LogDataAccess#deleteByTaskCode(int)
      * @param code タスクコード
-     * @throws AppException タスクコードが存在しない、またはタスクのステータスが完了でない場合にスローされます
+     * @throws AppException タスクコードが存在しない、またはタスクのステータスが完了でない、または変更を保存できなかった場合にスローされます
      */
     public void delete(int code) throws AppException {
         
-        //タスクコード存在・ステータス完了確認
-        Task task = taskDataAccess.findByCode(code);
-        if (task == null) {
-            throw new AppException("存在するタスクコードを入力してください");
-        } else if (task.getStatus() != 2) {
-            throw new AppException("ステータスが完了のタスクを選択してください");
+        retryPending();
+        ReentrantLock lock = taskLocks.get(code);
+        lock.lock();
+        try {
+            //タスクコード存在・ステータス完了確認
+            Task task = taskDataAccess.findByCode(code);
+            if (task == null) {
+                throw new AppException(NO_TASK);
+            } else if (task.getStatus() != 2) {
+                throw new AppException(NOT_COMPLETED);
+            }
+
+            int tx = begin(() -> transactionLog.beginDeletes(List.of(code)));
+            write(tx,
+                    //アップデート
+                    () -> taskDataAccess.delete(code),
+                    //ログから該当コードのlogを削除
+                    () -> logDataAccess.deleteByTaskCode(code),
+                    () -> taskDataAccess.save(task));
+        } finally {
+            lock.unlock();
         }
+    }
 
-        //アップデート
-        taskDataAccess.delete(code);
-        //ログから該当コードのlogを削除
-        logDataAccess.deleteByTaskCode(code);
+    /**
+     * 複数の新しいタスクをまとめて保存します。
+     * 対象のタスクコードを全てロックしてから、担当ユーザーは全てのユーザーを1回だけ読み込んで確認し、
+     * 確認できたタスクを1回の書き込みで保存してから、登録のログを1回の追記で保存します。
+     * 既に登録されているコードと、同じコードの2件目以降は登録しません。
+     * タスクのステータスは指定に関わらず未着手で登録します。
+     *
+     * @see com.taskapp.dataaccess.UserDataAccess#findAllByCode()
+     * @see com.taskapp.dataaccess.TaskDataAccess#findByCode(int)
+     * @see com.taskapp.dataaccess.TaskDataAccess#saveAll(List)
+     * @see com.taskapp.dataaccess.LogDataAccess#saveAll(List)
+     * @param tasks 保存するタスク（担当ユーザーはユーザーコードのみ参照します）
+     * @param loginUser ログインユーザー
+     * @return タスクごとの処理結果（指定した順番）
+     */
+    public List<BatchResult> saveAll(List<Task> tasks, User loginUser) {
+        LocalDate today = LocalDate.now();
+        List<BatchResult> results = new ArrayList<>(tasks.size());
+        List<Task> accepted = new ArrayList<>(tasks.size());
+        List<Log> logs = new ArrayList<>(tasks.size());
+        Set<Integer> codes = new HashSet<>();
+
+        retryPending();
+        List<ReentrantLock> locks = lockAll(tasks.stream().map(Task::getCode).toList());
+        try {
+            //存在するユーザーか確認
+            Map<Integer, User> users = userDataAccess.findAllByCode();
+            for (Task task : tasks) {
+                int code = task.getCode();
+                User user = task.getRepUser() == null ? null : users.get(task.getRepUser().getCode());
+                if (user == null) {
+                    results.add(new BatchResult(code, NO_USER));
+                    continue;
+                }
+                //登録済み・バッチ内で重複するコードか確認
+                if (!codes.add(code) || taskDataAccess.findByCode(code) != null) {
+                    results.add(new BatchResult(code, DUPLICATE_TASK));
+                    continue;
+                }
+                accepted.add(new Task(code, task.getName(), 0, user));
+                logs.add(new Log(code, loginUser.getCode(), 0, today));
+                results.add(BatchResult.success(code));
+            }
+            if (accepted.isEmpty()) {
+                return results;
+            }
+
+            int tx = begin(() -> transactionLog.beginSaves(accepted, logs));
+            write(tx,
+                    //セーブ
+                    () -> taskDataAccess.saveAll(accepted),
+                    //ロガー
+                    () -> logDataAccess.saveAll(logs),
+                    () -> taskDataAccess.deleteAll(accepted.stream().map(Task::getCode).toList()));
+        } catch (AppException e) {
+            fail(results, e.getMessage());
+        } finally {
+            unlockAll(locks);
+        }
+        return results;
+    }
+
+    /**
+     * 複数のタスクのステータスをまとめて変更します。
+     * 対象のタスクを全てロックしてから確認し、確認できたタスクを1回の書き込みで更新してから、
+     * 変更のログを1回の追記で保存します。
+     *
+     * @see com.taskapp.dataaccess.TaskDataAccess#findByCode(int)
+     * @see com.taskapp.dataaccess.TaskDataAccess#updateAll(List)
+     * @see com.taskapp.dataaccess.LogDataAccess#saveAll(List)
+     * @param statuses タスクコードと新しいステータス
+     * @param loginUser ログインユーザー
+     * @return タスクごとの処理結果（マップの順番）
+     */
+    public List<BatchResult> changeStatusAll(Map<Integer, Integer> statuses, User loginUser) {
+        LocalDate today = LocalDate.now();
+        List<BatchResult> results = new ArrayList<>(statuses.size());
+        List<Task> previous = new ArrayList<>(statuses.size());
+        List<Task> updates = new ArrayList<>(statuses.size());
+        List<Log> logs = new ArrayList<>(statuses.size());
+
+        retryPending();
+        List<ReentrantLock> locks = lockAll(statuses.keySet());
+        try {
+            for (Map.Entry<Integer, Integer> e : statuses.entrySet()) {
+                int code = e.getKey();
+                int status = e.getValue();
+                //タスクコード存在・ステータス確認
+                Task task = taskDataAccess.findByCode(code);
+                if (task == null) {
+                    results.add(new BatchResult(code, NO_TASK));
+                    continue;
+                } else if (task.getStatus() + 1 != status) {
+                    results.add(new BatchResult(code, INVALID_STATUS));
+                    continue;
+                }
+                previous.add(task);
+                updates.add(new Task(code, task.getName(), status, task.getRepUser()));
+                logs.add(new Log(code, loginUser.getCode(), status, today));
+                results.add(BatchResult.success(code));
+            }
+            if (!updates.isEmpty()) {
+                int tx = begin(() -> transactionLog.beginUpdates(updates, logs));
+                write(tx,
+                        //アップデート
+                        () -> taskDataAccess.updateAll(updates),
+                        //ロガー
+                        () -> logDataAccess.saveAll(logs),
+                        () -> taskDataAccess.updateAll(previous));
+            }
+        } catch (AppException e) {
+            fail(results, e.getMessage());
+        } finally {
+            unlockAll(locks);
+        }
+        return results;
+    }
+
+    /**
+     * 複数のタスクをまとめて削除します。
+     * 対象のタスクを全てロックしてから確認し、確認できたタスクを1回の書き込みで削除してから、
+     * それらのログをまとめて削除します。同じコードを複数回指定した場合、2件目以降は存在しないタスクとして扱います。
+     *
+     * @see com.taskapp.dataaccess.TaskDataAccess#findByCode(int)
+     * @see com.taskapp.dataaccess.TaskDataAccess#deleteAll(Collection)
+     * @see com.taskapp.dataaccess.LogDataAccess#deleteByTaskCodes(Collection)
+     * @param codes 削除するタスクコード
+     * @return タスクごとの処理結果（指定した順番）
+     */
+    public List<BatchResult> deleteAll(Collection<Integer> codes) {
+        List<BatchResult> results = new ArrayList<>(codes.size());
+        Set<Integer> deletes = new LinkedHashSet<>();
+        List<Task> previous = new ArrayList<>(codes.size());
+
+        retryPending();
+        List<ReentrantLock> locks = lockAll(codes);
+        try {
+            for (int code : codes) {
+                //タスクコード存在・ステータス完了確認
+                Task task = deletes.contains(code) ? null : taskDataAccess.findByCode(code);
+                if (task == null) {
+                    results.add(new BatchResult(code, NO_TASK));
+                    continue;
+                } else if (task.getStatus() != 2) {
+                    results.add(new BatchResult(code, NOT_COMPLETED));
+                    continue;
+                }
+                deletes.add(code);
+                previous.add(task);
+                results.add(BatchResult.success(code));
+            }
+            if (!deletes.isEmpty()) {
+                int tx = begin(() -> transactionLog.beginDeletes(deletes));
+                write(tx,
+                        //アップデート
+                        () -> taskDataAccess.deleteAll(deletes),
+                        //ログから該当コードのlogを削除
+                        () -> logDataAccess.deleteByTaskCodes(deletes),
+                        () -> taskDataAccess.saveAll(previous));
+            }
+        } catch (AppException e) {
+            fail(results, e.getMessage());
+        } finally {
+            unlockAll(locks);
+        }
+        return results;
+    }
+
+    /**
+     * 変更の内容を先行書き込みログに記録します。
+     * 書き込み途中で中断した場合は、終了の記録がないため次回の起動時にやり直されます。
+     * @param intent 記録する処理
+     * @return トランザクションの番号、先行書き込みログを使わない場合は{@link #NO_TRANSACTION}
+     * @throws AppException 記録に失敗した場合にスローされます
+     */
+    private int begin(Intent intent) throws AppException {
+        if (transactionLog == null) {
+            return NO_TRANSACTION;
+        }
+        try {
+            return intent.write();
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AppException(NOT_RECORDED);
+        }
+    }
+
+    /**
+     * タスクを書き込み、書き込めた場合はログを書き込んで、先行書き込みログに終了を記録します。
+     * ログを書き込めなかった場合はタスクへの変更を取り消し、取り消しを記録します。
+     * 取り消しにも失敗した場合や途中で例外が発生した場合は終了を記録せず、{@link #recover()}でやり直させます。
+     * 先行書き込みログを使わない場合は、これまでどおり結果に関わらず両方に書き込みます。
+     * @param tx {@link #begin(Intent)}で返された番号
+     * @param tasks タスクへの書き込み
+     * @param logs ログへの書き込み
+     * @param undo タスクへの変更を取り消す書き込み
+     * @throws AppException タスクかログを書き込めなかった場合にスローされます
+     */
+    private void write(int tx, Write tasks, Write logs, Write undo) throws AppException {
+        if (tx == NO_TRANSACTION) {
+            tasks.write();
+            logs.write();
+            return;
+        }
+        boolean resolved = false;
+        try {
+            boolean tasksWritten = tasks.write();
+            if (tasksWritten && logs.write()) {
+                transactionLog.end(tx);
+                resolved = true;
+                return;
+            }
+            //タスクを書き込めていなければ、どちらのファイルも変更前のまま
+            if (!tasksWritten || undo.write()) {
+                transactionLog.rollback(tx);
+                resolved = true;
+            }
+        } finally {
+            if (!resolved) {
+                transactionLog.abort(tx);
+            }
+        }
+        throw new AppException(resolved ? NOT_SAVED : PARTIALLY_SAVED);
+    }
+
+    /**
+     * 取り消しにも失敗した変更が残っている場合は、全てのタスクへの変更を止めてから{@link #recover()}でやり直します。
+     * 各変更の前に、対象のタスクをロックする前に呼び出します。
+     */
+    private void retryPending() {
+        if (transactionLog == null || !transactionLog.hasPending()) {
+            return;
+        }
+        List<ReentrantLock> locks = taskLocks.all();
+        locks.forEach(ReentrantLock::lock);
+        try {
+            if (transactionLog.hasPending()) {
+                recover();
+            }
+        } finally {
+            unlockAll(locks);
+        }
+    }
+
+    /**
+     * 先行書き込みログに記録する処理です。
+     */
+    @FunctionalInterface
+    private interface Intent {
+        int write() throws IOException;
+    }
+
+    /**
+     * タスクまたはログへの書き込みです。
+     */
+    @FunctionalInterface
+    private interface Write {
+        boolean write();
+    }
+
+    /**
+     * 成功としていた結果を、処理しなかった結果に置き換えます。
+     * @param results タスクごとの処理結果
+     * @param error エラーメッセージ
+     */
+    private void fail(List<BatchResult> results, String error) {
+        results.replaceAll(r -> r.isSuccess() ? new BatchResult(r.getCode(), error) : r);
+    }
+
+    /**
+     * ログが、そのタスクの最後のログと同じ内容かを確認します。
+     * @param log 確認するログ
+     * @return 同じ内容の場合はtrue
+     */
+    private boolean isLastLog(Log log) {
+        List<Log> logs = logDataAccess.findByTaskCode(log.getTaskCode());
+        if (logs.isEmpty()) {
+            return false;
+        }
+        Log last = logs.get(logs.size() - 1);
+        return last.getChangeUserCode() == log.getChangeUserCode()
+                && last.getStatus() == log.getStatus()
+                && last.getChangeDate().equals(log.getChangeDate());
+    }
+
+    /**
+     * 複数のタスクコードに対応するロックを、デッドロックしない順番で全て取得します。
+     * @param codes タスクコード
+     * @return 取得したロック
+     */
+    private List<ReentrantLock> lockAll(Iterable<Integer> codes) {
+        List<ReentrantLock> locks = taskLocks.getAll(codes);
+        locks.forEach(ReentrantLock::lock);
+        return locks;
+    }
+
+    /**
+     * {@link #lockAll(Iterable)}で取得したロックを逆の順番で解放します。
+     * @param locks 解放するロック
+     */
+    private void unlockAll(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
     }
-}
\ No newline at end of file
+}
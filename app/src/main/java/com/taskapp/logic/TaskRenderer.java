@@ -0,0 +1,103 @@
+package com.taskapp.logic;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+/**
+ * タスク一覧の表示内容を1つのバッファに組み立て、まとめて出力します。
+ * タスクごとに{@link PrintStream}へ書き込むと、そのたびに排他と自動フラッシュが発生するため、
+ * 一定量（{@link #CHUNK_SIZE}文字）溜まるごとに1回の書き込みで出力します。
+ * 出力の文字コードは出力先の{@link PrintStream#charset()}に合わせます。
+ */
+public class TaskRenderer {
+    static final int CHUNK_SIZE = 1 << 16;
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final PrintStream out;
+
+    private final User loginUser;
+
+    private final StringBuilder buffer = new StringBuilder(CHUNK_SIZE + 256);
+
+    private final CharsetEncoder encoder;
+
+    private char[] chars = new char[CHUNK_SIZE + 256];
+
+    private ByteBuffer bytes;
+
+    /**
+     * @param out 出力先
+     * @param loginUser ログインユーザー
+     */
+    public TaskRenderer(PrintStream out, User loginUser) {
+        this.out = out;
+        this.loginUser = loginUser;
+        this.encoder = out.charset().newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.bytes = ByteBuffer.allocate((int) (chars.length * encoder.maxBytesPerChar()));
+    }
+
+    /**
+     * タスクを1行分バッファに追加します。バッファが一定量に達した場合は出力します。
+     * @param t タスク
+     */
+    public void render(Task t) {
+        //変換
+        User repUser = t.getRepUser();
+        buffer.append(t.getCode()).append(". タスク名：").append(t.getName()).append(", 担当者名：");
+        if (repUser != null && repUser.equals(loginUser)) {
+            buffer.append("あなたが担当しています");
+        } else {
+            buffer.append(repUser == null ? null : repUser.getName()).append("が担当しています");
+        }
+        buffer.append(", ステータス：").append(switch (t.getStatus()) {
+            case 0 -> "未着手";
+            case 1 -> "着手中";
+            case 2 -> "完了";
+            default -> "";
+        }).append(LINE_SEPARATOR);
+
+        if (buffer.length() >= CHUNK_SIZE) {
+            writeBuffer();
+        }
+    }
+
+    /**
+     * バッファに残っている内容を出力し、出力先をフラッシュします。
+     */
+    public void flush() {
+        writeBuffer();
+        out.flush();
+    }
+
+    /**
+     * バッファの内容を文字コードに変換して1回で書き込みます。
+     */
+    private void writeBuffer() {
+        int length = buffer.length();
+        if (length == 0) {
+            return;
+        }
+        if (chars.length < length) {
+            chars = new char[length];
+            bytes = ByteBuffer.allocate((int) (length * encoder.maxBytesPerChar()));
+        }
+        buffer.getChars(0, length, chars, 0);
+        buffer.setLength(0);
+
+        bytes.clear();
+        encoder.reset();
+        CharBuffer source = CharBuffer.wrap(chars, 0, length);
+        encoder.encode(source, bytes, true);
+        encoder.flush(bytes);
+        out.write(bytes.array(), 0, bytes.position());
+    }
+}
@@ -0,0 +1,48 @@
+package com.taskapp.model;
+
+/**
+ * 一括処理のうち、1件分の処理結果です。
+ */
+public class BatchResult {
+    private final int code;
+    private final String error;
+
+    /**
+     * @param code 処理したタスクのコード
+     * @param error 失敗した理由、成功した場合はnull
+     */
+    public BatchResult(int code, String error) {
+        this.code = code;
+        this.error = error;
+    }
+
+    /**
+     * 成功した結果を作成します。
+     * @param code 処理したタスクのコード
+     * @return 処理結果
+     */
+    public static BatchResult success(int code) {
+        return new BatchResult(code, null);
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * 処理に成功したか判定します。
+     * @return 成功した場合はtrue
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? code + ": OK" : code + ": " + error;
+    }
+}
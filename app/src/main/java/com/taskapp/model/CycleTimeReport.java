@@ -0,0 +1,127 @@
+package com.taskapp.model;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * ログから集計した、タスクが各ステータスにとどまった日数と完了件数です。
+ * <ul>
+ * <li>リードタイム：登録（未着手）から完了までの日数</li>
+ * <li>サイクルタイム：着手中にしてから完了までの日数</li>
+ * <li>待ち時間：登録から着手中にするまでの日数</li>
+ * </ul>
+ * ユーザーごとの集計は、タスクを完了にしたユーザーで数えます。
+ */
+public class CycleTimeReport {
+    private final long rows;
+    private final int openTasks;
+    private final Durations leadTime;
+    private final Durations cycleTime;
+    private final Durations waitTime;
+    private final Map<Integer, Durations> leadTimeByUser;
+    private final Map<Integer, Durations> cycleTimeByUser;
+    private final Map<Integer, Integer> completedByUser;
+    private final SortedMap<LocalDate, Integer> completedByDay;
+
+    /**
+     * @param rows 集計したログの件数
+     * @param openTasks 集計の終わりに完了していなかったタスクの件数
+     * @param leadTime リードタイム
+     * @param cycleTime サイクルタイム
+     * @param waitTime 待ち時間
+     * @param leadTimeByUser 完了にしたユーザーごとのリードタイム
+     * @param cycleTimeByUser 完了にしたユーザーごとのサイクルタイム
+     * @param completedByUser 完了にしたユーザーごとの完了件数
+     * @param completedByDay 日ごとの完了件数
+     */
+    public CycleTimeReport(long rows, int openTasks, Durations leadTime, Durations cycleTime, Durations waitTime,
+            Map<Integer, Durations> leadTimeByUser, Map<Integer, Durations> cycleTimeByUser,
+            Map<Integer, Integer> completedByUser, SortedMap<LocalDate, Integer> completedByDay) {
+        this.rows = rows;
+        this.openTasks = openTasks;
+        this.leadTime = leadTime;
+        this.cycleTime = cycleTime;
+        this.waitTime = waitTime;
+        this.leadTimeByUser = leadTimeByUser;
+        this.cycleTimeByUser = cycleTimeByUser;
+        this.completedByUser = completedByUser;
+        this.completedByDay = completedByDay;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public int getOpenTasks() {
+        return openTasks;
+    }
+
+    public Durations getLeadTime() {
+        return leadTime;
+    }
+
+    public Durations getCycleTime() {
+        return cycleTime;
+    }
+
+    public Durations getWaitTime() {
+        return waitTime;
+    }
+
+    public Map<Integer, Durations> getLeadTimeByUser() {
+        return leadTimeByUser;
+    }
+
+    public Map<Integer, Durations> getCycleTimeByUser() {
+        return cycleTimeByUser;
+    }
+
+    public Map<Integer, Integer> getCompletedByUser() {
+        return completedByUser;
+    }
+
+    public SortedMap<LocalDate, Integer> getCompletedByDay() {
+        return completedByDay;
+    }
+
+    /**
+     * 日数の件数・合計・最大です。
+     */
+    public static class Durations {
+        private final long count;
+        private final long totalDays;
+        private final int maxDays;
+
+        public Durations(long count, long totalDays, int maxDays) {
+            this.count = count;
+            this.totalDays = totalDays;
+            this.maxDays = maxDays;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalDays() {
+            return totalDays;
+        }
+
+        public int getMaxDays() {
+            return maxDays;
+        }
+
+        /**
+         * 平均の日数を返します。
+         * @return 平均の日数、件数が0の場合は0
+         */
+        public double getAverageDays() {
+            return count == 0 ? 0 : (double) totalDays / count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d, avg=%.2f days, max=%d days", count, getAverageDays(), maxDays);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.taskapp.model;
+
+import java.util.List;
+
+/**
+ * 条件に該当するタスクのうち、1ページ分のタスクです。
+ */
+public class TaskPage {
+    private final List<Task> tasks;
+    private final int total;
+    private final int offset;
+
+    /**
+     * @param tasks このページのタスク
+     * @param total 条件に該当するタスクの総件数
+     * @param offset このページの先頭の位置（0から）
+     */
+    public TaskPage(List<Task> tasks, int total, int offset) {
+        this.tasks = tasks;
+        this.total = total;
+        this.offset = offset;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * 次のページがあるか判定します。
+     * @return 次のページがあればtrue
+     */
+    public boolean hasNext() {
+        return offset + tasks.size() < total;
+    }
+
+    /**
+     * 前のページがあるか判定します。
+     * @return 前のページがあればtrue
+     */
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
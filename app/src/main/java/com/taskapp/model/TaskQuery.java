@@ -0,0 +1,100 @@
+package com.taskapp.model;
+
+/**
+ * タスク一覧を絞り込み、ページ単位で取得するための条件です。
+ * 絞り込みの項目がnullの場合は、その項目では絞り込みません。
+ */
+public class TaskQuery {
+    private Integer status;
+    private Integer repUserCode;
+    private String namePrefix;
+    private TaskSort sort = TaskSort.FILE_ORDER;
+    private int offset = 0;
+    private int limit = 20;
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    /**
+     * @param status 絞り込むステータス
+     */
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public Integer getRepUserCode() {
+        return repUserCode;
+    }
+
+    /**
+     * @param repUserCode 絞り込む担当ユーザーのコード
+     */
+    public void setRepUserCode(Integer repUserCode) {
+        this.repUserCode = repUserCode;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    /**
+     * @param namePrefix 絞り込むタスク名の前方一致の文字列
+     */
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    public TaskSort getSort() {
+        return sort;
+    }
+
+    /**
+     * @param sort 並び順
+     */
+    public void setSort(TaskSort sort) {
+        this.sort = sort;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @param offset 取得を始める位置（0から）
+     */
+    public void setOffset(int offset) {
+        this.offset = Math.max(0, offset);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @param limit 1ページの件数
+     */
+    public void setLimit(int limit) {
+        this.limit = Math.max(1, limit);
+    }
+
+    /**
+     * 次のページに進めます。
+     * @param page 表示中のページ
+     */
+    public void next(TaskPage page) {
+        if (page.hasNext()) {
+            offset = page.getOffset() + limit;
+        }
+    }
+
+    /**
+     * 前のページに戻します。
+     * @param page 表示中のページ
+     */
+    public void previous(TaskPage page) {
+        if (page.hasPrevious()) {
+            offset = Math.max(0, page.getOffset() - limit);
+        }
+    }
+}
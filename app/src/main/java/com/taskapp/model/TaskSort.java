@@ -0,0 +1,32 @@
+package com.taskapp.model;
+
+import java.util.Comparator;
+
+/**
+ * タスク一覧の並び順です。
+ */
+public enum TaskSort {
+    /** CSVに記録された順 */
+    FILE_ORDER(null),
+    /** タスクコード順 */
+    CODE(Comparator.comparingInt(Task::getCode)),
+    /** タスク名順 */
+    NAME(Comparator.comparing(Task::getName, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingInt(Task::getCode)),
+    /** ステータス順 */
+    STATUS(Comparator.comparingInt(Task::getStatus).thenComparingInt(Task::getCode));
+
+    private final Comparator<Task> comparator;
+
+    TaskSort(Comparator<Task> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * 並び替えに使う比較方法を返します。
+     * @return 比較方法、CSVに記録された順の場合はnull
+     */
+    public Comparator<Task> comparator() {
+        return comparator;
+    }
+}
@@ -0,0 +1,53 @@
+package com.taskapp.model;
+
+import java.util.Map;
+
+/**
+ * タスクの件数の集計です。ステータスごとと担当ユーザーごとの件数を持ちます。
+ */
+public class TaskSummary {
+    private final int total;
+    private final Map<Integer, Integer> statusCounts;
+    private final Map<Integer, Integer> repUserCounts;
+
+    /**
+     * @param total タスクの総件数
+     * @param statusCounts ステータスとその件数（変更不可）
+     * @param repUserCounts 担当ユーザーコードとその件数（変更不可、担当ユーザーのないタスクは含みません）
+     */
+    public TaskSummary(int total, Map<Integer, Integer> statusCounts, Map<Integer, Integer> repUserCounts) {
+        this.total = total;
+        this.statusCounts = statusCounts;
+        this.repUserCounts = repUserCounts;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public Map<Integer, Integer> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public Map<Integer, Integer> getRepUserCounts() {
+        return repUserCounts;
+    }
+
+    /**
+     * 指定したステータスのタスクの件数を返します。
+     * @param status ステータス
+     * @return 件数
+     */
+    public int getStatusCount(int status) {
+        return statusCounts.getOrDefault(status, 0);
+    }
+
+    /**
+     * 指定したユーザーが担当するタスクの件数を返します。
+     * @param repUserCode 担当ユーザーコード
+     * @return 件数
+     */
+    public int getRepUserCount(int repUserCode) {
+        return repUserCounts.getOrDefault(repUserCode, 0);
+    }
+}
@@ -0,0 +1,12 @@
+package com.taskapp.server;
+
+/**
+ * セッションの接続が閉じられたことを表します。
+ */
+public class SessionClosedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public SessionClosedException() {
+        super("セッションが閉じられました");
+    }
+}
@@ -0,0 +1,59 @@
+package com.taskapp.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+
+/**
+ * セッションの入力です。
+ * 入力を待つ前に出力を書き出し、利用者がプロンプトを受け取ってから入力できるようにします。
+ * 接続が閉じられた場合は{@link SessionClosedException}をスローしてメニューの処理を終わらせます。
+ * <p>
+ * {@link java.io.InputStreamReader}と{@link java.io.BufferedReader}で包んで利用します。
+ * Readerを独自に継承・包むと読み込み中の排他が{@code synchronized}になり、
+ * 仮想スレッドが入力を待つ間キャリアスレッドを占有するため、バイトの段階で処理しています。
+ */
+public class SessionInput extends InputStream {
+    private final InputStream in;
+
+    private final PrintStream out;
+
+    /**
+     * @param in 入力
+     * @param out 入力を待つ前に書き出す出力
+     */
+    public SessionInput(InputStream in, PrintStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    @Override
+    public int read() throws IOException {
+        out.flush();
+        int b = in.read();
+        if (b < 0) {
+            throw new SessionClosedException();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        out.flush();
+        int read = in.read(buffer, offset, length);
+        if (read < 0) {
+            throw new SessionClosedException();
+        }
+        return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return in.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,318 @@
+package com.taskapp.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.taskapp.exception.AppException;
+import com.taskapp.logic.TaskLogic;
+import com.taskapp.logic.UserLogic;
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+import com.taskapp.util.Json;
+
+/**
+ * {@link TaskLogic}・{@link UserLogic}をHTTP/JSONで公開するローカルのサーバーです。
+ * JDK組み込みの{@link HttpServer}を使い、リクエストごとに仮想スレッドで処理します。
+ * <pre>
+ * POST   /login              {"email": "...", "password": "..."} → {"token": "...", "user": {...}}
+ * POST   /logout             ログアウト（トークンを無効にする）
+ * GET    /tasks              タスク一覧
+ * POST   /tasks              {"code": 1, "name": "...", "repUserCode": 1} タスク新規登録
+ * POST   /tasks/{code}/status {"status": 1} ステータス変更
+ * DELETE /tasks/{code}       タスク削除
+ * </pre>
+ * ログイン以外は{@code Authorization: Bearer <token>}ヘッダーが必要です。
+ * トークンは一定時間使われなかった場合に無効になり、期限切れのトークンはログインのたびにまとめて削除します。
+ * {@link AppException}は400、ログインの失敗を含む認証の失敗は401として、{@code {"error": "メッセージ"}}を返します。
+ * タスク名はCSVの1項目として保存するため、カンマと改行を含むものは登録しません。
+ */
+public class TaskHttpServer implements Closeable {
+    /** トークンを無効にするまでの、使われていない時間の既定値です。 */
+    public static final long DEFAULT_SESSION_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final UserLogic userLogic;
+
+    private final TaskLogic taskLogic;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    private final long sessionTimeoutNanos;
+
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * ループバックアドレスの指定したポートで待ち受けます。
+     * トークンは{@link #DEFAULT_SESSION_TIMEOUT_MILLIS}の間使われなかった場合に無効になります。
+     * @param port ポート番号、0の場合は空いているポート
+     * @param userLogic ユーザーのロジック
+     * @param taskLogic タスクのロジック
+     * @throws IOException 待ち受けを開始できない場合
+     */
+    public TaskHttpServer(int port, UserLogic userLogic, TaskLogic taskLogic) throws IOException {
+        this(port, userLogic, taskLogic, DEFAULT_SESSION_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * ループバックアドレスの指定したポートで待ち受けます。
+     * @param port ポート番号、0の場合は空いているポート
+     * @param userLogic ユーザーのロジック
+     * @param taskLogic タスクのロジック
+     * @param sessionTimeoutMillis トークンを無効にするまでの、使われていない時間（ミリ秒）
+     * @throws IOException 待ち受けを開始できない場合
+     */
+    public TaskHttpServer(int port, UserLogic userLogic, TaskLogic taskLogic, long sessionTimeoutMillis)
+            throws IOException {
+        this.userLogic = userLogic;
+        this.taskLogic = taskLogic;
+        this.sessionTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sessionTimeoutMillis);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * 待ち受けているポート番号を返します。
+     * @return ポート番号
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * リクエストの受け付けを開始します。
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * リクエストの受け付けを終了します。
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    /**
+     * リクエストをパスとメソッドで振り分けます。
+     * @param exchange リクエストとレスポンス
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+            try {
+                if (path.length == 1 && path[0].equals("login") && method.equals("POST")) {
+                    login(exchange);
+                    return;
+                }
+                if (path.length == 1 && path[0].equals("logout") && method.equals("POST")) {
+                    logout(exchange);
+                    return;
+                }
+                if (!path[0].equals("tasks")) {
+                    sendError(exchange, 404, "not found");
+                    return;
+                }
+                User loginUser = authenticate(exchange);
+                if (loginUser == null) {
+                    sendError(exchange, 401, "ログインしてください");
+                    return;
+                }
+                if (path.length == 1 && method.equals("GET")) {
+                    list(exchange, loginUser);
+                } else if (path.length == 1 && method.equals("POST")) {
+                    create(exchange, loginUser);
+                } else if (path.length == 3 && path[2].equals("status") && method.equals("POST")) {
+                    changeStatus(exchange, Integer.parseInt(path[1]), loginUser);
+                } else if (path.length == 2 && method.equals("DELETE")) {
+                    taskLogic.delete(Integer.parseInt(path[1]));
+                    send(exchange, 204, null);
+                } else {
+                    sendError(exchange, 405, "method not allowed");
+                }
+            } catch (AppException e) {
+                sendError(exchange, 400, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                //数値の形式誤り（NumberFormatException）を含む
+                sendError(exchange, 400, "リクエストの形式が誤っています");
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                sendError(exchange, 500, "internal error");
+            }
+        }
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        Map<String, String> body = readBody(exchange);
+        User user;
+        try {
+            user = userLogic.login(body.get("email"), body.get("password"));
+        } catch (AppException e) {
+            sendError(exchange, 401, e.getMessage());
+            return;
+        }
+
+        byte[] bytes = new byte[24];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        //ログアウトせずに使われなくなったトークンを削除
+        long now = System.nanoTime();
+        sessions.values().removeIf(session -> session.isExpired(now, sessionTimeoutNanos));
+        sessions.put(token, new Session(user, now));
+
+        StringBuilder json = new StringBuilder("{\"token\":");
+        Json.appendString(json, token).append(",\"user\":");
+        appendUser(json, user).append('}');
+        send(exchange, 200, json);
+    }
+
+    private void logout(HttpExchange exchange) throws IOException {
+        String token = token(exchange);
+        if (token == null || sessions.remove(token) == null) {
+            sendError(exchange, 401, "ログインしてください");
+            return;
+        }
+        send(exchange, 204, null);
+    }
+
+    private void list(HttpExchange exchange, User loginUser) throws IOException {
+        List<Task> tasks = taskLogic.findAll();
+        StringBuilder json = new StringBuilder(64 + tasks.size() * 96).append('[');
+        for (int i = 0; i < tasks.size(); i++) {
+            Task t = tasks.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"code\":").append(t.getCode()).append(",\"name\":");
+            Json.appendString(json, t.getName()).append(",\"status\":").append(t.getStatus()).append(",\"repUser\":");
+            appendUser(json, t.getRepUser()).append(",\"mine\":").append(loginUser.equals(t.getRepUser())).append('}');
+        }
+        send(exchange, 200, json.append(']'));
+    }
+
+    private void create(HttpExchange exchange, User loginUser) throws IOException, AppException {
+        Map<String, String> body = readBody(exchange);
+        int code = requireInt(body, "code");
+        String name = body.get("name");
+        if (name == null || name.length() > 10) {
+            throw new AppException("タスク名は10文字以内で入力してください");
+        }
+        //別の項目や行として書き込まれないようにする
+        if (name.indexOf(',') >= 0 || name.indexOf('\r') >= 0 || name.indexOf('\n') >= 0) {
+            throw new AppException("タスク名にカンマと改行は使用できません");
+        }
+        taskLogic.save(code, name, requireInt(body, "repUserCode"), loginUser);
+        send(exchange, 201, new StringBuilder("{\"code\":").append(code).append('}'));
+    }
+
+    private void changeStatus(HttpExchange exchange, int code, User loginUser) throws IOException, AppException {
+        int status = requireInt(readBody(exchange), "status");
+        if (status != 1 && status != 2) {
+            throw new AppException("ステータスは1・2の中から選択してください");
+        }
+        taskLogic.changeStatus(code, status, loginUser);
+        send(exchange, 200, new StringBuilder("{\"code\":").append(code).append(",\"status\":").append(status).append('}'));
+    }
+
+    private User authenticate(HttpExchange exchange) {
+        String token = token(exchange);
+        Session session = token == null ? null : sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (session.isExpired(now, sessionTimeoutNanos)) {
+            sessions.remove(token, session);
+            return null;
+        }
+        session.lastAccess = now;
+        return session.user;
+    }
+
+    private static String token(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        return header.substring("Bearer ".length()).trim();
+    }
+
+    private static int requireInt(Map<String, String> body, String key) {
+        String value = body.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException(key + " is required");
+        }
+        return Integer.parseInt(value);
+    }
+
+    private static Map<String, String> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return Json.parseObject(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static StringBuilder appendUser(StringBuilder json, User user) {
+        if (user == null) {
+            return json.append("null");
+        }
+        json.append("{\"code\":").append(user.getCode()).append(",\"name\":");
+        return Json.appendString(json, user.getName()).append('}');
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        send(exchange, status, Json.appendString(json, message).append('}'));
+    }
+
+    private static void send(HttpExchange exchange, int status, CharSequence json) throws IOException {
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * ログイン中のユーザーと、最後にトークンが使われた時刻です。
+     */
+    private static class Session {
+        private final User user;
+        private volatile long lastAccess;
+
+        Session(User user, long lastAccess) {
+            this.user = user;
+            this.lastAccess = lastAccess;
+        }
+
+        boolean isExpired(long now, long timeoutNanos) {
+            return now - lastAccess > timeoutNanos;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.taskapp.server;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.taskapp.logic.TaskLogic;
+import com.taskapp.logic.UserLogic;
+import com.taskapp.ui.TaskUI;
+
+/**
+ * ローカルのソケットで接続を受け付け、接続ごとに{@link TaskUI}のメニューを実行するサーバーです。
+ * セッションは1接続につき1つの仮想スレッドで実行するため、多数の利用者を1つのJVMで扱えます。
+ * 全てのセッションで同じ{@link UserLogic}・{@link TaskLogic}を共有します。
+ * <pre>
+ * java com.taskapp.App --server 5000
+ * nc localhost 5000
+ * </pre>
+ */
+public class TaskServer implements Runnable, Closeable {
+    private static final int BACKLOG = 1024;
+
+    private final ServerSocket serverSocket;
+
+    private final UserLogic userLogic;
+
+    private final TaskLogic taskLogic;
+
+    private final AtomicInteger activeSessions = new AtomicInteger();
+
+    private final AtomicLong totalSessions = new AtomicLong();
+
+    /**
+     * ループバックアドレスの指定したポートで待ち受けます。
+     * @param port ポート番号、0の場合は空いているポート
+     * @param userLogic 共有するユーザーのロジック
+     * @param taskLogic 共有するタスクのロジック
+     * @throws IOException 待ち受けを開始できない場合
+     */
+    public TaskServer(int port, UserLogic userLogic, TaskLogic taskLogic) throws IOException {
+        this.serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        this.userLogic = userLogic;
+        this.taskLogic = taskLogic;
+    }
+
+    /**
+     * 待ち受けているポート番号を返します。
+     * @return ポート番号
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * 実行中のセッション数を返します。
+     * @return セッション数
+     */
+    public int activeSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * 開始したセッションの累計を返します。
+     * @return セッション数
+     */
+    public long totalSessions() {
+        return totalSessions.get();
+    }
+
+    /**
+     * 別のスレッドで接続の受け付けを開始します。
+     */
+    public void start() {
+        Thread thread = new Thread(this, "taskapp-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * {@link #close()}されるまで接続を受け付けます。
+     */
+    @Override
+    public void run() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                long id = totalSessions.incrementAndGet();
+                Thread.ofVirtual().name("taskapp-session-" + id).start(() -> serve(socket));
+            } catch (SocketException e) {
+                //closeによる終了
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * 1つの接続でメニューを実行します。ログアウトまたは切断で終了します。
+     * @param socket 接続
+     */
+    private void serve(Socket socket) {
+        activeSessions.incrementAndGet();
+        try (socket) {
+            PrintStream out = new PrintStream(new BufferedOutputStream(socket.getOutputStream()), false,
+                    StandardCharsets.UTF_8);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new SessionInput(socket.getInputStream(), out), StandardCharsets.UTF_8));
+            try {
+                new TaskUI(reader, out, userLogic, taskLogic).displayMenu();
+            } catch (SessionClosedException e) {
+                //利用者が切断
+            }
+            out.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * 接続の受け付けを終了します。実行中のセッションは切断されるまで続きます。
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+}
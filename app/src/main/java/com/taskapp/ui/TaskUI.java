@@ -3,25 +3,37 @@ package com.taskapp.ui;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.PrintStream;
 
 import com.taskapp.exception.AppException;
 import com.taskapp.logic.TaskLogic;
 import com.taskapp.logic.UserLogic;
+import com.taskapp.model.TaskPage;
+import com.taskapp.model.TaskQuery;
 import com.taskapp.model.User;
 
 public class TaskUI {
     private final BufferedReader reader;
 
+    private final PrintStream out;
+
     private final UserLogic userLogic;
 
     private final TaskLogic taskLogic;
 
     private User loginUser;
 
+    private final TaskQuery query = new TaskQuery();
+
+    private TaskPage page;
+
     public TaskUI() {
         reader = new BufferedReader(new InputStreamReader(System.in));
+        out = null;
         userLogic = new UserLogic();
         taskLogic = new TaskLogic();
+        //前回書き込み途中で中断した変更をやり直してから始める
+        taskLogic.recover();
     }
 
     /**
@@ -31,7 +43,20 @@ public class TaskUI {
      * @param taskLogic
      */
     public TaskUI(BufferedReader reader, UserLogic userLogic, TaskLogic taskLogic) {
+        this(reader, null, userLogic, taskLogic);
+    }
+
+    /**
+     * 入出力先を指定してインスタンスを生成します。
+     * サーバーモードでセッションごとに接続の入出力を割り当てる場合に利用します。
+     * @param reader 入力
+     * @param out 出力、nullの場合は{@link System#out}
+     * @param userLogic ユーザーのロジック
+     * @param taskLogic タスクのロジック
+     */
+    public TaskUI(BufferedReader reader, PrintStream out, UserLogic userLogic, TaskLogic taskLogic) {
         this.reader = reader;
+        this.out = out;
         this.userLogic = userLogic;
         this.taskLogic = taskLogic;
     }
@@ -40,44 +65,48 @@ public class TaskUI {
      * メニューを表示し、ユーザーの入力に基づいてアクションを実行します。
      *
      * @see #inputLogin()
-     * @see com.taskapp.logic.TaskLogic#showAll(User)
+     * @see #showPage()
      * @see #selectSubMenu()
      * @see #inputNewInformation()
      */
     public void displayMenu() {
-        System.out.println("タスク管理アプリケーションにようこそ!!");
+        out().println("タスク管理アプリケーションにようこそ!!");
         inputLogin();
         // メインメニュー
         boolean flg = true;
         while (flg) {
             try {
-                System.out.println("以下1~3のメニューから好きな選択肢を選んでください。");
-                System.out.println("1. タスク一覧, 2. タスク新規登録, 3. ログアウト");
-                System.out.print("選択肢：");
+                out().println("以下1~4のメニューから好きな選択肢を選んでください。");
+                out().println("1. タスク一覧, 2. タスク新規登録, 3. ログアウト, 4. タスク集計");
+                out().print("選択肢：");
                 String selectMenu = reader.readLine();
 
-                System.out.println();
+                out().println();
 
                 switch (selectMenu) {
                     case "1":
-                        taskLogic.showAll(loginUser);
+                        query.setOffset(0);
+                        showPage();
                         selectSubMenu();
                         break;
                     case "2":
                         inputNewInformation();
                         break;
                     case "3":
-                        System.out.println("ログアウトしました。");
+                        out().println("ログアウトしました。");
                         flg = false;
                         break;
+                    case "4":
+                        taskLogic.showSummary(loginUser, out());
+                        break;
                     default:
-                        System.out.println("選択肢が誤っています。1~3の中から選択してください。");
+                        out().println("選択肢が誤っています。1~4の中から選択してください。");
                         break;
                 }
             } catch (IOException e) {
                 e.printStackTrace();
             }
-            System.out.println();
+            out().println();
         }
     }
 
@@ -89,9 +118,9 @@ public class TaskUI {
     public void inputLogin() {
         while (true) {
             try {
-                System.out.print("メールアドレスを入力してください：");
+                out().print("メールアドレスを入力してください：");
                 String email = reader.readLine();
-                System.out.print("パスワードを入力してください：");
+                out().print("パスワードを入力してください：");
                 String pass = reader.readLine();
 
                 //ログイン処理 失敗時呼び出し先から例外をスローし再認証
@@ -100,7 +129,7 @@ public class TaskUI {
             } catch (IOException e) {
                 e.printStackTrace();
             } catch (AppException e) {
-                System.out.println(e);
+                out().println(e);
             }
         }
     }
@@ -114,24 +143,24 @@ public class TaskUI {
     public void inputNewInformation() {
         try {
             while (true) {
-                System.out.print("タスクコードを入力してください：");
+                out().print("タスクコードを入力してください：");
                 String code = reader.readLine();
                 if (isNumeric(code)) {
-                    System.out.println("コードは半角の数字で入力してください");
+                    out().println("コードは半角の数字で入力してください");
                     continue;
                 }
 
-                System.out.print("タスク名を入力してください：");
+                out().print("タスク名を入力してください：");
                 String task = reader.readLine();
                 if (task.length() > 10) {
-                    System.out.println("タスク名は10文字以内で入力してください");
+                    out().println("タスク名は10文字以内で入力してください");
                     continue;
                 }
 
-                System.out.print("担当するユーザーのコードを選択してください：");
+                out().print("担当するユーザーのコードを選択してください：");
                 String user = reader.readLine();
                 if (isNumeric(code)) {
-                    System.out.println("コードは半角の数字で入力してください");
+                    out().println("コードは半角の数字で入力してください");
                     continue;
                 }
                 try {
@@ -140,10 +169,10 @@ public class TaskUI {
                         task,
                         Integer.parseInt(user),
                         loginUser);
-                    System.out.println("taskEの登録が完了しました。");
+                    out().println("taskEの登録が完了しました。");
                     return;
                 } catch (AppException e) {
-                    System.out.println(e.getMessage());
+                    out().println(e.getMessage());
                     continue;
                 }
             }
@@ -154,20 +183,22 @@ public class TaskUI {
     }
 
     /**
-     * タスクのステータス変更または削除を選択するサブメニューを表示します。
+     * タスクのステータス変更・削除、または一覧のページ移動・絞り込みを選択するサブメニューを表示します。
      *
      * @see #inputChangeInformation()
      * @see #inputDeleteInformation()
+     * @see #inputFilter()
      */
     public void selectSubMenu() {
         while (true) {
             try {
-                System.out.println("以下1~3から好きな選択肢を選んでください。");
-                System.out.println("1. タスクのステータス変更, 2. タスク削除, 3. メインメニューに戻る");
-                System.out.print("選択肢：");
+                out().println("以下1~6から好きな選択肢を選んでください。");
+                out().println("1. タスクのステータス変更, 2. タスク削除, 3. メインメニューに戻る, "
+                        + "4. 次のページ, 5. 前のページ, 6. 絞り込み");
+                out().print("選択肢：");
                 String selectMenu = reader.readLine();
 
-                System.out.println();
+                out().println();
 
                 switch (selectMenu) {
                     case "1":
@@ -178,17 +209,83 @@ public class TaskUI {
                         break;
                     case "3":
                         return;
+                    case "4":
+                        if (page == null || !page.hasNext()) {
+                            out().println("次のページはありません。");
+                            break;
+                        }
+                        query.next(page);
+                        showPage();
+                        break;
+                    case "5":
+                        if (page == null || !page.hasPrevious()) {
+                            out().println("前のページはありません。");
+                            break;
+                        }
+                        query.previous(page);
+                        showPage();
+                        break;
+                    case "6":
+                        inputFilter();
+                        break;
                     default:
-                        System.out.println("選択肢が誤っています。1~3の中から選択してください。");
+                        out().println("選択肢が誤っています。1~6の中から選択してください。");
                         break;
                 }
             } catch (IOException e) {
                 e.printStackTrace();
             }
-            System.out.println();
+            out().println();
         }
     }
 
+    /**
+     * ユーザーから一覧の絞り込み条件を受け取り、1ページ目から表示し直します。
+     *
+     * @see #showPage()
+     */
+    public void inputFilter() {
+        try {
+            while (true) {
+                //ステータス入力
+                //バリデーション 空欄または規定数値範囲
+                out().println("絞り込むステータスを選択してください。（空欄で指定なし）");
+                out().println("0. 未着手, 1. 着手中, 2. 完了");
+                out().print("選択肢：");
+                String status = reader.readLine();
+                if (!status.isEmpty() && (isNumeric(status) || Integer.parseInt(status) > 2)) {
+                    out().println("ステータスは0・1・2の中から選択してください");
+                    continue;
+                }
+
+                out().print("自分が担当するタスクのみ表示しますか？（y/n）：");
+                String mine = reader.readLine();
+
+                out().print("タスク名の先頭の文字列を入力してください（空欄で指定なし）：");
+                String namePrefix = reader.readLine();
+
+                query.setStatus(status.isEmpty() ? null : Integer.parseInt(status));
+                query.setRepUserCode("y".equalsIgnoreCase(mine) ? loginUser.getCode() : null);
+                query.setNamePrefix(namePrefix.isEmpty() ? null : namePrefix);
+                query.setOffset(0);
+                out().println();
+                showPage();
+                return;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 現在の絞り込み条件とページ位置でタスク一覧を表示します。
+     *
+     * @see com.taskapp.logic.TaskLogic#showPage(User, TaskQuery, PrintStream)
+     */
+    private void showPage() {
+        page = taskLogic.showPage(loginUser, query, out());
+    }
+
     /**
      * ユーザーからのタスクステータス変更情報を受け取り、タスクのステータスを変更します。
      *
@@ -200,24 +297,24 @@ public class TaskUI {
             while (true) {
                 //タスクコード入力
                 //バリデーション 半角数値
-                System.out.print("ステータスを変更するタスクコードを入力してください：");
+                out().print("ステータスを変更するタスクコードを入力してください：");
                 String code = reader.readLine();
                 if (isNumeric(code)) {
-                    System.out.println("コードは半角の数字で入力してください");
+                    out().println("コードは半角の数字で入力してください");
                     continue;
                 }
 
                 //ステータス入力
                 //バリデーション 半角数値 規定数値範囲
-                System.out.println("どのステータスに変更するか選択してください。");
-                System.out.println("1. 着手中, 2. 完了");
-                System.out.print("選択肢：");
+                out().println("どのステータスに変更するか選択してください。");
+                out().println("1. 着手中, 2. 完了");
+                out().print("選択肢：");
                 String status = reader.readLine();
                 if (isNumeric(status)) {
-                    System.out.println("ステータスは半角の数字で入力してください");
+                    out().println("ステータスは半角の数字で入力してください");
                     continue;
                 } else if (Integer.parseInt(status) != 1 && Integer.parseInt(status) != 2) {
-                    System.out.println("ステータスは1・2の中から選択してください");
+                    out().println("ステータスは1・2の中から選択してください");
                     continue;
                 }
 
@@ -227,11 +324,11 @@ public class TaskUI {
                         Integer.parseInt(code),
                         Integer.parseInt(status),
                         loginUser);
-                    System.out.println("ステータスの変更が完了しました。");
+                    out().println("ステータスの変更が完了しました。");
                     return;
                 } catch (AppException e) {
                     //例外がスローされた場合入力しなおし
-                    System.out.println(e.getMessage());
+                    out().println(e.getMessage());
                     continue;
                 }
             }
@@ -251,10 +348,10 @@ public class TaskUI {
             while (true) {
                 //タスクコード入力
                 //バリデーション 半角数値
-                System.out.print("削除するタスクコードを入力してください：");
+                out().print("削除するタスクコードを入力してください：");
                 String code = reader.readLine();
                 if (isNumeric(code)) {
-                    System.out.println("コードは半角の数字で入力してください");
+                    out().println("コードは半角の数字で入力してください");
                     continue;
                 }
 
@@ -264,7 +361,7 @@ public class TaskUI {
                     return;
                 } catch (AppException e) {
                     //例外がスローされた場合入力しなおし
-                    System.out.println(e.getMessage());
+                    out().println(e.getMessage());
                     continue;
                 }
             }
@@ -283,4 +380,12 @@ public class TaskUI {
     public boolean isNumeric(String inputText) {
         return !inputText.chars().allMatch(c-> Character.isDigit((char) c));
     }
+
+    /**
+     * 出力先を返します。指定がない場合は呼び出した時点の{@link System#out}です。
+     * @return 出力先
+     */
+    private PrintStream out() {
+        return out != null ? out : System.out;
+    }
 }
\ No newline at end of file
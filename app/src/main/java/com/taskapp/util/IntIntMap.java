@@ -0,0 +1,205 @@
+package com.taskapp.util;
+
+import java.util.Arrays;
+
+/**
+ * intのキーとintの値を持つハッシュマップです。
+ * キー・値をボクシングせずに配列へ直接格納するため、大量のコードを索引する用途に利用します。
+ * 開番地法（線形探索）で実装しており、削除時は後続の要素を詰め直します。
+ */
+public class IntIntMap {
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    public IntIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * 格納予定の件数を指定してマップを生成します。
+     * @param expectedSize 格納予定の件数
+     */
+    public IntIntMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * キーに対応する値を取得します。
+     * @param key キー
+     * @param defaultValue キーが存在しない場合に返す値
+     * @return キーに対応する値
+     */
+    public int get(int key, int defaultValue) {
+        int slot = find(key);
+        return slot < 0 ? defaultValue : values[slot];
+    }
+
+    /**
+     * キーが存在するか判定します。
+     * @param key キー
+     * @return 存在すればtrue
+     */
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * キーと値を格納します。既にキーが存在する場合は値を上書きします。
+     * @param key キー
+     * @param value 値
+     */
+    public void put(int key, int value) {
+        int slot = indexOf(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        //負荷率が1/2を超えたら拡張
+        if (++size > (mask + 1) >> 1) {
+            rehash((mask + 1) << 1);
+        }
+    }
+
+    /**
+     * キーに対応する値に加算します。キーが存在しない場合は0に加算します。
+     * @param key キー
+     * @param delta 加算する値
+     * @return 加算後の値
+     */
+    public int add(int key, int delta) {
+        int slot = find(key);
+        if (slot < 0) {
+            put(key, delta);
+            return delta;
+        }
+        return values[slot] += delta;
+    }
+
+    /**
+     * キーを削除します。
+     * @param key キー
+     * @param defaultValue キーが存在しない場合に返す値
+     * @return 削除した値
+     */
+    public int remove(int key, int defaultValue) {
+        int slot = find(key);
+        if (slot < 0) {
+            return defaultValue;
+        }
+        int removed = values[slot];
+        used[slot] = false;
+        size--;
+
+        //後続の要素を空いた位置に詰め直す
+        int hole = slot;
+        int current = slot;
+        while (true) {
+            current = (current + 1) & mask;
+            if (!used[current]) {
+                return removed;
+            }
+            int home = indexOf(keys[current]);
+            boolean between = hole <= current
+                    ? hole < home && home <= current
+                    : hole < home || home <= current;
+            if (!between) {
+                keys[hole] = keys[current];
+                values[hole] = values[current];
+                used[hole] = true;
+                used[current] = false;
+                hole = current;
+            }
+        }
+    }
+
+    /**
+     * 格納されている件数を返します。
+     * @return 件数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 全ての要素を削除します。
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * 全ての要素を順不同で処理します。
+     * @param action 処理内容
+     */
+    public void forEach(IntIntConsumer action) {
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * キーと値を受け取る処理です。
+     */
+    @FunctionalInterface
+    public interface IntIntConsumer {
+        void accept(int key, int value);
+    }
+
+    private int find(int key) {
+        int slot = indexOf(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int indexOf(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity >> 1 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
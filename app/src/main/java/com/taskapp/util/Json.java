@@ -0,0 +1,167 @@
+package com.taskapp.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * APIで扱う最小限のJSONの変換を行います。
+ * 読み込みは値が文字列・数値・真偽値・nullのみの1階層のオブジェクトに限ります。
+ */
+public class Json {
+
+    private Json() {
+    }
+
+    /**
+     * 文字列をJSONの文字列リテラルとして追記します。
+     * @param out 追記先
+     * @param value 文字列、nullの場合はnull
+     * @return 追記先
+     */
+    public static StringBuilder appendString(StringBuilder out, String value) {
+        if (value == null) {
+            return out.append("null");
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"');
+    }
+
+    /**
+     * 1階層のJSONオブジェクトを読み込みます。
+     * @param json JSON文字列
+     * @return 項目名と値（文字列以外の値は表記のまま、nullはnull）
+     * @throws IllegalArgumentException JSONの形式が誤っている場合
+     */
+    public static Map<String, String> parseObject(String json) {
+        Parser parser = new Parser(json);
+        Map<String, String> values = new LinkedHashMap<>();
+        parser.expect('{');
+        if (!parser.consume('}')) {
+            do {
+                String key = parser.string();
+                parser.expect(':');
+                values.put(key, parser.value());
+            } while (parser.consume(','));
+            parser.expect('}');
+        }
+        parser.end();
+        return values;
+    }
+
+    private static class Parser {
+        private final String json;
+        private int i;
+
+        private Parser(String json) {
+            this.json = json;
+        }
+
+        private void skipSpace() {
+            while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+                i++;
+            }
+        }
+
+        private boolean consume(char c) {
+            skipSpace();
+            if (i < json.length() && json.charAt(i) == c) {
+                i++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw error("'" + c + "' expected");
+            }
+        }
+
+        private void end() {
+            skipSpace();
+            if (i != json.length()) {
+                throw error("unexpected trailing characters");
+            }
+        }
+
+        private String value() {
+            skipSpace();
+            if (i < json.length() && json.charAt(i) == '"') {
+                return string();
+            }
+            int start = i;
+            while (i < json.length() && ",}] \t\r\n".indexOf(json.charAt(i)) < 0) {
+                i++;
+            }
+            String literal = json.substring(start, i);
+            if (literal.equals("null")) {
+                return null;
+            }
+            if (literal.equals("true") || literal.equals("false") || literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?")) {
+                return literal;
+            }
+            throw error("invalid value");
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder out = new StringBuilder();
+            while (i < json.length()) {
+                char c = json.charAt(i++);
+                if (c == '"') {
+                    return out.toString();
+                }
+                if (c != '\\') {
+                    out.append(c);
+                    continue;
+                }
+                if (i >= json.length()) {
+                    break;
+                }
+                char escaped = json.charAt(i++);
+                switch (escaped) {
+                    case '"', '\\', '/' -> out.append(escaped);
+                    case 'b' -> out.append('\b');
+                    case 'f' -> out.append('\f');
+                    case 'n' -> out.append('\n');
+                    case 'r' -> out.append('\r');
+                    case 't' -> out.append('\t');
+                    case 'u' -> {
+                        if (i + 4 > json.length()) {
+                            throw error("invalid unicode escape");
+                        }
+                        try {
+                            out.append((char) Integer.parseInt(json.substring(i, i + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("invalid unicode escape");
+                        }
+                        i += 4;
+                    }
+                    default -> throw error("invalid escape");
+                }
+            }
+            throw error("unterminated string");
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at " + i);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.taskapp.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * キーごとの排他に使うロックを、固定数のロックに割り当てて提供します。
+ * 同じキーには常に同じロックを返すため同じキーへの処理は直列になり、
+ * 異なるキーは多くの場合に別のロックとなるため並行して処理できます。
+ * キーの数に関わらずロックの数は一定です。
+ */
+public class StripedLock {
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    /**
+     * @param stripes ロックの数（2のべき乗に切り上げます）
+     */
+    public StripedLock(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * キーに対応するロックを返します。
+     * <pre>
+     * ReentrantLock lock = locks.get(code);
+     * lock.lock();
+     * try {
+     *     ...
+     * } finally {
+     *     lock.unlock();
+     * }
+     * </pre>
+     * @param key キー
+     * @return キーに対応するロック
+     */
+    public ReentrantLock get(int key) {
+        return locks[index(key)];
+    }
+
+    /**
+     * 複数のキーに対応するロックを、重複を除いて常に同じ順番で返します。
+     * 返した順番にロックし、逆の順番で解放すれば、複数のキーをまとめてロックする処理どうしでデッドロックしません。
+     * <pre>
+     * List&lt;ReentrantLock&gt; held = locks.getAll(codes);
+     * held.forEach(ReentrantLock::lock);
+     * try {
+     *     ...
+     * } finally {
+     *     for (int i = held.size() - 1; i &gt;= 0; i--) {
+     *         held.get(i).unlock();
+     *     }
+     * }
+     * </pre>
+     * @param keys キー
+     * @return キーに対応するロック
+     */
+    public List<ReentrantLock> getAll(Iterable<Integer> keys) {
+        boolean[] used = new boolean[locks.length];
+        for (int key : keys) {
+            used[index(key)] = true;
+        }
+        List<ReentrantLock> result = new ArrayList<>();
+        for (int i = 0; i < locks.length; i++) {
+            if (used[i]) {
+                result.add(locks[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 全てのロックを{@link #getAll(Iterable)}と同じ順番で返します。
+     * 全てのキーへの処理を止める場合に、返した順番にロックします。
+     * @return 全てのロック
+     */
+    public List<ReentrantLock> all() {
+        return List.of(locks);
+    }
+
+    private int index(int key) {
+        //連続したコードが同じロックに偏らないよう混ぜる
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * ロックの数を返します。
+     * @return ロックの数
+     */
+    public int stripes() {
+        return locks.length;
+    }
+}
@@ -0,0 +1,93 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.model.Log;
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+public class BinaryCursorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testRoundTripWithCsv() throws IOException {
+        String csv = "Code,Name,Status,Rep_User_Code" + System.lineSeparator() + "1,タスク,0,1"
+                + System.lineSeparator() + "2,b,2,3";
+        Path source = dir.resolve("tasks.csv");
+        Files.writeString(source, csv);
+
+        assertThat(BinaryConverter.toBinary(source.toString(), dir.resolve("tasks.bin").toString(), BinaryFormat.TASKS))
+                .isEqualTo(2);
+        BinaryConverter.toCsv(dir.resolve("tasks.bin").toString(), dir.resolve("back.csv").toString(), BinaryFormat.TASKS);
+
+        assertThat(Files.readString(dir.resolve("back.csv"))).isEqualTo(csv);
+    }
+
+    @Test
+    public void testRandomAccessAndTornTail() throws IOException {
+        Path file = dir.resolve("logs.bin");
+        try (BinaryWriter writer = BinaryWriter.create(file.toString(), BinaryFormat.LOGS)) {
+            for (int i = 0; i < 5; i++) {
+                writer.writeLog(new Log(i, 10 + i, i % 3, LocalDate.of(2024, 1, 1 + i)));
+            }
+        }
+        // 書き込み途中のレコードは読み飛ばす
+        Files.write(file, new byte[] {0, 0, 0, 9, 0}, StandardOpenOption.APPEND);
+        assertThat(Files.size(file)).isEqualTo(BinaryFormat.LOGS.recordOffset(5) + 5);
+
+        try (BinaryCursor cursor = BinaryCursor.open(file.toString(), BinaryFormat.LOGS)) {
+            cursor.seek(BinaryFormat.LOGS.recordOffset(3));
+            assertThat(cursor.nextRow()).isTrue();
+            assertThat(cursor.rowOffset()).isEqualTo(BinaryFormat.LOGS.recordOffset(3));
+            assertThat(cursor.nextInt()).isEqualTo(3);
+            assertThat(cursor.nextInt()).isEqualTo(13);
+            assertThat(cursor.nextInt()).isEqualTo(0);
+            assertThat(cursor.nextDate()).isEqualTo(LocalDate.of(2024, 1, 4));
+
+            assertThat(cursor.nextRow()).isTrue();
+            assertThat(cursor.nextInt()).isEqualTo(4);
+            assertThat(cursor.nextRow()).isFalse();
+        }
+    }
+
+    @Test
+    public void testDataAccessWithBinaryFormat() throws IOException {
+        Path users = dir.resolve("users.csv");
+        Files.writeString(users, "Code,Name,Email,Password" + System.lineSeparator() + "1,鈴木一郎,test1@example.com,password1");
+        StorageOptions options = new StorageOptions();
+        options.setFormat(StorageFormat.BINARY);
+        UserDataAccess userDataAccess = new UserDataAccess(users.toString());
+        User user = userDataAccess.findByCode(1);
+
+        String tasks = dir.resolve("tasks.bin").toString();
+        TaskDataAccess taskDataAccess = new TaskDataAccess(tasks, userDataAccess, options);
+        taskDataAccess.save(new Task(1, "タスク", 0, user));
+        taskDataAccess.save(new Task(2, "Task 2", 0, user));
+        taskDataAccess.update(new Task(1, "タスク", 1, user));
+
+        assertThat(new TaskDataAccess(tasks, userDataAccess, options).findAll())
+                .extracting(Task::getCode, Task::getName, Task::getStatus)
+                .containsExactly(tuple(1, "タスク", 1), tuple(2, "Task 2", 0));
+
+        String logs = dir.resolve("logs.bin").toString();
+        LogDataAccess logDataAccess = new LogDataAccess(logs, options);
+        logDataAccess.save(new Log(1, 1, 0, LocalDate.of(2024, 1, 10)));
+        logDataAccess.save(new Log(2, 1, 0, LocalDate.of(2024, 1, 11)));
+        logDataAccess.save(new Log(1, 1, 1, LocalDate.of(2024, 1, 12)));
+        logDataAccess.deleteByTaskCode(2);
+
+        assertThat(Files.size(Path.of(logs))).isEqualTo(BinaryFormat.LOGS.recordOffset(2));
+        assertThat(logDataAccess.findByTaskCode(1)).extracting(Log::getStatus).containsExactly(0, 1);
+    }
+}
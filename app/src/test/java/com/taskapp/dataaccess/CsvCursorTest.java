@@ -0,0 +1,106 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CsvCursorTest {
+
+    @Test
+    public void testReadFields() throws IOException {
+        CsvCursor cursor = new CsvCursor(new StringReader("Code,Name\r\n\n12,タスク,-3,2024-02-29\n7,b,0,2023-12-31"));
+
+        assertThat(cursor.nextRow()).isTrue();
+        cursor.skip();
+        assertThat(cursor.nextString()).isEqualTo("Name");
+
+        assertThat(cursor.nextRow()).isTrue();
+        assertThat(cursor.nextInt()).isEqualTo(12);
+        assertThat(cursor.nextString()).isEqualTo("タスク");
+        assertThat(cursor.nextInt()).isEqualTo(-3);
+        assertThat(cursor.nextDate()).isEqualTo(LocalDate.of(2024, 2, 29));
+
+        assertThat(cursor.nextRow()).isTrue();
+        StringWriter row = new StringWriter();
+        cursor.writeRow(row);
+        assertThat(row.toString()).isEqualTo("7,b,0,2023-12-31");
+        cursor.skip();
+        cursor.skip();
+        cursor.skip();
+        assertThat(cursor.nextEpochDay()).isEqualTo((int) LocalDate.of(2023, 12, 31).toEpochDay());
+
+        assertThat(cursor.nextRow()).isFalse();
+    }
+
+    @Test
+    public void testLongRows() throws IOException {
+        String name = "x".repeat(200000);
+        CsvCursor cursor = new CsvCursor(new StringReader("1," + name + "\n2,y"));
+
+        assertThat(cursor.nextRow()).isTrue();
+        assertThat(cursor.nextInt()).isEqualTo(1);
+        assertThat(cursor.nextString()).isEqualTo(name);
+        assertThat(cursor.nextRow()).isTrue();
+        assertThat(cursor.nextInt()).isEqualTo(2);
+    }
+
+    @Test
+    public void testIntegerRange() throws IOException {
+        CsvCursor cursor = new CsvCursor(new StringReader("2147483647,-2147483648\n2147483648\n-2147483649\n99999999999"));
+
+        assertThat(cursor.nextRow()).isTrue();
+        assertThat(cursor.nextInt()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(cursor.nextInt()).isEqualTo(Integer.MIN_VALUE);
+        // 範囲を超える値は桁あふれさせずに解釈できない値とする
+        for (int i = 0; i < 3; i++) {
+            assertThat(cursor.nextRow()).isTrue();
+            assertThatThrownBy(cursor::nextInt).isInstanceOf(NumberFormatException.class);
+        }
+    }
+
+    @Test
+    public void testInvalidFields() throws IOException {
+        CsvCursor cursor = new CsvCursor(new StringReader("a,2024-13-01"));
+        cursor.nextRow();
+
+        assertThatThrownBy(cursor::nextInt).isInstanceOf(NumberFormatException.class);
+        cursor.skip();
+        assertThatThrownBy(cursor::nextEpochDay).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    public void testSplitIntoRanges(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("tasks.csv");
+        StringBuilder csv = new StringBuilder("Code,Name,Status,Rep_User_Code");
+        for (int i = 1; i <= 1000; i++) {
+            csv.append(i % 2 == 0 ? "\r\n" : "\n").append(i).append(",タスク").append(i).append(",0,1");
+        }
+        Files.writeString(file, csv);
+
+        // どの分け方でも、範囲ごとに読んだ行をつなげると元の行と一致する
+        for (int chunks : new int[] {1, 3, 7, 2000}) {
+            long[] bounds = CsvChunks.split(file.toString(), chunks);
+            assertThat(bounds).hasSize(chunks + 1);
+            List<Integer> codes = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                try (CsvCursor cursor = CsvCursor.open(file.toString(), bounds[i], bounds[i + 1])) {
+                    while (cursor.nextRow()) {
+                        codes.add(cursor.nextInt());
+                    }
+                }
+            }
+            assertThat(codes).hasSize(1000);
+            assertThat(codes).isSorted();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.taskapp.model.Log;
+
+public class LogColumnsTest {
+
+    @Test
+    public void testAddAndSelect() {
+        LogColumns columns = new LogColumns(1);
+        for (int i = 0; i < 100; i++) {
+            columns.add(i % 10, i % 3, i % 3, (int) LocalDate.of(2024, 1, 1).toEpochDay() + i);
+        }
+        columns.add(new Log(7, 9, 2, LocalDate.of(2025, 1, 1)));
+
+        assertThat(columns.size()).isEqualTo(101);
+        int[] rows = columns.select((taskCode, userCode, status, epochDay) -> taskCode == 7 && status == 2);
+        assertThat(rows).containsExactly(17, 47, 77, 100);
+        assertThat(columns.get(100)).isEqualTo(new Log(7, 9, 2, LocalDate.of(2025, 1, 1)));
+        assertThat(columns.toLogs(rows)).extracting(Log::getChangeDate).startsWith(LocalDate.of(2024, 1, 18));
+        assertThat(columns.count((taskCode, userCode, status, epochDay) -> userCode == 0)).isEqualTo(34);
+    }
+
+    @Test
+    public void testRemoveIf() {
+        LogColumns columns = new LogColumns();
+        columns.add(1, 1, 0, 0);
+        columns.add(2, 1, 0, 1);
+        columns.add(1, 2, 1, 2);
+
+        assertThat(columns.removeIf((taskCode, userCode, status, epochDay) -> taskCode == 1)).isEqualTo(2);
+        assertThat(columns.size()).isEqualTo(1);
+        assertThat(columns.epochDay(0)).isEqualTo(1);
+        assertThatThrownBy(() -> columns.taskCode(1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> columns.add(1, 1, 128, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
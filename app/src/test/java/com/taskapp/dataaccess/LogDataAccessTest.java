@@ -11,6 +11,7 @@ import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +46,7 @@ public class LogDataAccessTest {
         Path backupFile = Paths.get(BACKUP_FILE_PATH);
         Files.copy(backupFile, originalFile, StandardCopyOption.REPLACE_EXISTING);
         Files.delete(backupFile);
+        Files.deleteIfExists(Paths.get(TEST_FILE_PATH + ".idx"));
     }
 
     @Tag("Q3")
@@ -86,6 +88,134 @@ public class LogDataAccessTest {
         assertThat(logs).doesNotContain(log2);
     }
 
+    @Test
+    public void testSaveAllAndDeleteByTaskCodes() {
+        Log log5 = new Log(5, 1, 0, LocalDate.now());
+        Log log6 = new Log(6, 1, 0, LocalDate.now());
+
+        logDataAccess.saveAll(List.of(log5, log6));
+        logDataAccess.sync();
+        assertThat(readLogsFromFile(TEST_FILE_PATH)).hasSize(9).contains(log5, log6);
+
+        logDataAccess.deleteByTaskCodes(List.of(3, 6));
+
+        List<Log> logs = readLogsFromFile(TEST_FILE_PATH);
+        assertThat(logs).hasSize(6);
+        assertThat(logs).doesNotContain(log6, new Log(3, 1, 0, LocalDate.now()));
+        assertThat(logDataAccess.findAll()).isEqualTo(logs);
+    }
+
+    @Test
+    public void testDeleteByTaskCodeWithTombstones() throws IOException {
+        Path tombstoneFile = Paths.get(TEST_FILE_PATH + ".tombstones");
+        StorageOptions options = new StorageOptions();
+        options.setLogTombstones(true);
+        try {
+            LogDataAccess tombstoned = new LogDataAccess(TEST_FILE_PATH, options);
+            tombstoned.deleteByTaskCode(3);
+            Log readded = new Log(3, 2, 0, LocalDate.now());
+            tombstoned.save(readded);
+
+            // CSVには残っているが、読み込み時には削除前のログだけが除外される
+            assertThat(readLogsFromFile(TEST_FILE_PATH)).hasSize(8);
+            List<Log> logs = tombstoned.findAll();
+            assertThat(logs).hasSize(5);
+            assertThat(logs).filteredOn(l -> l.getTaskCode() == 3).extracting(Log::getChangeUserCode).containsExactly(2);
+
+            // まとめて物理削除すると削除記録も消える
+            tombstoned.purge(List.of(4));
+            assertThat(readLogsFromFile(TEST_FILE_PATH)).extracting(Log::getTaskCode).containsExactly(1, 2, 3);
+            assertThat(Files.size(tombstoneFile)).isZero();
+        } finally {
+            Files.deleteIfExists(tombstoneFile);
+        }
+    }
+
+    @Test
+    public void testStream() {
+        try (Stream<Log> logs = logDataAccess.stream()) {
+            // 開いた後に保存したログは含まない
+            logDataAccess.save(new Log(9, 1, 0, LocalDate.now()));
+            logDataAccess.sync();
+            assertThat(logs).extracting(Log::getTaskCode).containsExactly(1, 2, 3, 4, 3, 3, 4);
+        }
+
+        // 途中で読むのをやめられる
+        try (Stream<Log> logs = logDataAccess.stream()) {
+            assertThat(logs.filter(l -> l.getTaskCode() == 9).findFirst()).isPresent();
+        }
+        logDataAccess.close();
+    }
+
+    @Test
+    public void testFindAllColumns() {
+        LogColumns columns = logDataAccess.findAllColumns();
+
+        assertThat(columns.size()).isEqualTo(readLogsFromFile(TEST_FILE_PATH).size());
+        int[] rows = columns.select((taskCode, userCode, status, epochDay) -> taskCode == 3);
+        assertThat(columns.toLogs(rows)).extracting(Log::getStatus, Log::getChangeDate).containsExactly(
+                tuple(0, LocalDate.of(2024, 1, 10)), tuple(1, LocalDate.of(2024, 1, 11)), tuple(2, LocalDate.of(2024, 1, 12)));
+    }
+
+    @Test
+    public void testSaveWithGroupCommit() {
+        StorageOptions options = new StorageOptions();
+        options.setCommitPolicy(new GroupCommitPolicy(3, 0, false, false));
+        LogDataAccess grouped = new LogDataAccess(TEST_FILE_PATH, options);
+        try {
+            grouped.save(new Log(11, 1, 0, LocalDate.now()));
+            grouped.save(new Log(12, 1, 0, LocalDate.now()));
+
+            // 3件溜まるまではファイルに書き出されない
+            assertThat(readLogsFromFile(TEST_FILE_PATH)).hasSize(7);
+
+            grouped.save(new Log(13, 1, 0, LocalDate.now()));
+            grouped.save(new Log(14, 1, 0, LocalDate.now()));
+            assertThat(readLogsFromFile(TEST_FILE_PATH)).hasSize(10);
+
+            grouped.sync();
+            assertThat(readLogsFromFile(TEST_FILE_PATH)).hasSize(11);
+            assertThat(grouped.appenderMetrics().getFlushes()).isEqualTo(2);
+        } finally {
+            grouped.close();
+        }
+    }
+
+    @Test
+    public void testFindByIndex() {
+        Log added = new Log(3, 1, 0, LocalDate.of(2024, 1, 11));
+        logDataAccess.save(added);
+
+        List<Log> byTask = logDataAccess.findByTaskCode(3);
+        assertThat(byTask).extracting(Log::getStatus).containsExactly(0, 1, 2, 0);
+
+        List<Log> byUser = logDataAccess.findByUser(2);
+        assertThat(byUser).extracting(Log::getTaskCode).containsExactly(3, 3, 4);
+
+        List<Log> byDate = logDataAccess.findByDateRange(LocalDate.of(2024, 1, 11), LocalDate.of(2024, 1, 12));
+        assertThat(byDate).extracting(Log::getChangeDate).containsExactly(
+                LocalDate.of(2024, 1, 11), LocalDate.of(2024, 1, 11), LocalDate.of(2024, 1, 12));
+
+        // 保存した索引を読み込み直しても同じ結果になる
+        logDataAccess.close();
+        LogDataAccess reopened = new LogDataAccess(TEST_FILE_PATH);
+        assertThat(reopened.findByTaskCode(3)).hasSize(4);
+    }
+
+    @Test
+    public void testSaveAfterPurgeByAnotherInstance() {
+        LocalDate date = LocalDate.of(2024, 2, 1);
+        logDataAccess.save(new Log(1, 1, 0, date));
+
+        // 別のインスタンスがファイルを置き換えた後も、置き換え後のファイルに追記する
+        new LogDataAccess(TEST_FILE_PATH).purge(List.of(1));
+        logDataAccess.save(new Log(9, 2, 1, date));
+
+        List<Log> logs = readLogsFromFile(TEST_FILE_PATH);
+        assertThat(logs).extracting(Log::getTaskCode).doesNotContain(1).contains(9);
+        assertThat(logDataAccess.findByTaskCode(9)).extracting(Log::getChangeDate).containsExactly(date);
+    }
+
     private List<Log> readLogsFromFile(String filePath) {
         List<Log> logs = new ArrayList<>();
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
@@ -0,0 +1,90 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedCsvCursorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testReadFields() throws IOException {
+        Path file = write("Code,Name\r\n\n12,タスク,-3,2024-02-29\n7,b,0,2023-12-31");
+
+        try (MappedCsvCursor cursor = MappedCsvCursor.open(file.toString())) {
+            assertThat(cursor.nextRow()).isTrue();
+            cursor.skip();
+            assertThat(cursor.nextString()).isEqualTo("Name");
+
+            assertThat(cursor.nextRow()).isTrue();
+            assertThat(cursor.nextInt()).isEqualTo(12);
+            assertThat(cursor.nextString()).isEqualTo("タスク");
+            assertThat(cursor.nextInt()).isEqualTo(-3);
+            assertThat(cursor.nextDate()).isEqualTo(LocalDate.of(2024, 2, 29));
+
+            assertThat(cursor.nextRow()).isTrue();
+            assertThat(cursor.nextInt()).isEqualTo(7);
+            assertThat(cursor.nextRow()).isFalse();
+        }
+    }
+
+    @Test
+    public void testRowsAcrossWindows() throws IOException {
+        StringBuilder csv = new StringBuilder("Code,Name");
+        for (int i = 1; i <= 100; i++) {
+            csv.append('\n').append(i).append(",タスク").append(i);
+        }
+        Path file = write(csv.toString());
+
+        //1行より少し大きい範囲ずつマップし、行が範囲をまたぐようにする
+        try (MappedCsvCursor cursor = new MappedCsvCursor(FileChannel.open(file, StandardOpenOption.READ), 24)) {
+            cursor.nextRow();
+            for (int i = 1; i <= 100; i++) {
+                assertThat(cursor.nextRow()).isTrue();
+                assertThat(cursor.nextInt()).isEqualTo(i);
+                assertThat(cursor.nextString()).isEqualTo("タスク" + i);
+            }
+            assertThat(cursor.nextRow()).isFalse();
+        }
+    }
+
+    @Test
+    public void testIntegerRange() throws IOException {
+        Path file = write("2147483647,-2147483648\n2147483648\n-2147483649\n99999999999");
+
+        try (MappedCsvCursor cursor = MappedCsvCursor.open(file.toString())) {
+            assertThat(cursor.nextRow()).isTrue();
+            assertThat(cursor.nextInt()).isEqualTo(Integer.MAX_VALUE);
+            assertThat(cursor.nextInt()).isEqualTo(Integer.MIN_VALUE);
+            //範囲を超える値は桁あふれさせずに解釈できない値とする
+            for (int i = 0; i < 3; i++) {
+                assertThat(cursor.nextRow()).isTrue();
+                assertThatThrownBy(cursor::nextInt).isInstanceOf(NumberFormatException.class);
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        Path file = write("");
+
+        try (MappedCsvCursor cursor = MappedCsvCursor.open(file.toString())) {
+            assertThat(cursor.nextRow()).isFalse();
+        }
+    }
+
+    private Path write(String csv) throws IOException {
+        return Files.write(dir.resolve("test.csv"), csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
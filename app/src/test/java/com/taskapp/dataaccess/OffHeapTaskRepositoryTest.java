@@ -0,0 +1,42 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+/**
+ * {@link TaskRepositoryTest}と同じ振る舞いをヒープ外のリポジトリで確認します。
+ */
+public class OffHeapTaskRepositoryTest extends TaskRepositoryTest {
+
+    @Override
+    protected TaskRepository createRepository() {
+        return new OffHeapTaskRepository(Map.of());
+    }
+
+    @Test
+    public void testNamesAndUsersSurviveGrowth() {
+        User user = new User(5, "山田花子", "test5@example.com", "password5");
+        OffHeapTaskRepository repository = new OffHeapTaskRepository(Map.of(5, user));
+        for (int i = 0; i < 5000; i++) {
+            repository.add(new Task(i, "タスク" + i, i % 3, user));
+        }
+        repository.update(new Task(42, "名前を変更", 2, user));
+        repository.add(new Task(5000, null, 0, null));
+
+        assertThat(repository.size()).isEqualTo(5001);
+        assertThat(repository.findByCode(4999).getName()).isEqualTo("タスク4999");
+        Task updated = repository.findByCode(42);
+        assertThat(updated.getName()).isEqualTo("名前を変更");
+        assertThat(updated.getStatus()).isEqualTo(2);
+        assertThat(updated.getRepUser()).isSameAs(user);
+        assertThat(repository.findByCode(5000).getName()).isNull();
+        assertThat(repository.findByCode(5000).getRepUser()).isNull();
+        assertThat(repository.offHeapBytes()).isPositive();
+    }
+}
@@ -11,11 +11,13 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.taskapp.model.Task;
 import com.taskapp.model.User;
@@ -72,6 +74,25 @@ public class TaskDataAccessTest {
         assertThat(actualList).isEqualTo(expectedList);
     }
 
+    @Test
+    public void testStream() {
+        List<Task> expectedList = readTasksFromFile(TEST_FILE_PATH);
+
+        // 未読み込みの場合はCSVから読みながら返す
+        try (Stream<Task> tasks = taskDataAccess.stream()) {
+            assertThat(tasks).containsExactlyElementsOf(expectedList);
+        }
+        try (Stream<Task> tasks = taskDataAccess.stream()) {
+            assertThat(tasks.findFirst()).contains(expectedList.get(0));
+        }
+
+        // 読み込み済みの場合はメモリ上のタスクを返す
+        taskDataAccess.findAll();
+        try (Stream<Task> tasks = taskDataAccess.stream()) {
+            assertThat(tasks).containsExactlyElementsOf(expectedList);
+        }
+    }
+
     @Tag("Q4")
     @Test
     public void testFindByCode() {
@@ -129,6 +150,119 @@ public class TaskDataAccessTest {
         assertThat(tasks).doesNotContain(task2);
     }
 
+    @Test
+    public void testSaveAllUpdateAllAndDeleteAll() {
+        User repUser = new User(1, "鈴木一郎", "test1@example.com", "password1");
+        Task task5 = new Task(5, "Task 5", 0, repUser);
+        Task task6 = new Task(6, "Task 6", 0, repUser);
+
+        taskDataAccess.saveAll(List.of(task5, task6));
+        assertThat(readTasksFromFile(TEST_FILE_PATH)).hasSize(6).contains(task5, task6);
+
+        //存在しないタスクは無視される
+        taskDataAccess.updateAll(List.of(new Task(5, "Task 5", 1, repUser), new Task(99, "none", 1, repUser)));
+        assertThat(taskDataAccess.findByCode(5).getStatus()).isEqualTo(1);
+        assertThat(taskDataAccess.findByCode(99)).isNull();
+
+        taskDataAccess.deleteAll(List.of(1, 6, 99));
+        List<Task> tasks = readTasksFromFile(TEST_FILE_PATH);
+        assertThat(tasks).hasSize(4);
+        assertThat(tasks).doesNotContain(new Task(1, "", 0, repUser), task6);
+    }
+
+    @Test
+    public void testParallelLoad(@TempDir Path dir) throws IOException {
+        // 複数の範囲に分かれる大きさのCSVを用意する
+        StringBuilder csv = new StringBuilder("Code,Name,Status,Rep_User_Code");
+        for (int i = 1; i <= 200000; i++) {
+            csv.append(System.lineSeparator()).append(i).append(",タスク").append(i).append(",").append(i % 3)
+                    .append(",").append(i % 2 + 1);
+        }
+        Path file = dir.resolve("tasks.csv");
+        Files.writeString(file, csv);
+        StorageOptions options = new StorageOptions();
+        options.setLoadParallelism(4);
+
+        List<Task> expected = new TaskDataAccess(file.toString(), userDataAccess).findAll();
+        List<Task> actual = new TaskDataAccess(file.toString(), userDataAccess, options).findAll();
+
+        // ファイルの順番で、全ての項目が同じように読み込まれる
+        assertThat(actual).hasSize(200000);
+        assertThat(actual).isEqualTo(expected);
+        assertThat(actual).extracting(Task::getName).isEqualTo(expected.stream().map(Task::getName).toList());
+        assertThat(actual.get(199999).getRepUser().getCode()).isEqualTo(1);
+    }
+
+    @Test
+    public void testJournaledUpdateAndCompact() throws IOException {
+        Path journalFile = Paths.get(TEST_FILE_PATH + ".journal");
+        StorageOptions options = new StorageOptions();
+        options.setJournaled(true);
+        options.setJournalMaxRecords(100);
+        options.setJournalRatio(100);
+        try {
+            User repUser = new User(1, "鈴木一郎", "test1@example.com", "password1");
+            TaskDataAccess journaled = new TaskDataAccess(TEST_FILE_PATH, userDataAccess, options);
+            journaled.update(new Task(1, "Updated", 1, repUser));
+            journaled.delete(2);
+
+            // CSVはそのままで、ジャーナルを適用すると変更が見える
+            assertThat(readTasksFromFile(TEST_FILE_PATH)).hasSize(4);
+            TaskDataAccess reopened = new TaskDataAccess(TEST_FILE_PATH, userDataAccess, options);
+            assertThat(reopened.findByCode(1).getName()).isEqualTo("Updated");
+            assertThat(reopened.findByCode(2)).isNull();
+
+            // 反映後はCSVに変更が書き込まれ、ジャーナルは空になる
+            journaled.compact();
+            List<Task> tasks = readTasksFromFile(TEST_FILE_PATH);
+            assertThat(tasks).hasSize(3);
+            assertThat(tasks).extracting(Task::getName).contains("Updated");
+            assertThat(Files.size(journalFile)).isZero();
+        } finally {
+            Files.deleteIfExists(journalFile);
+        }
+    }
+
+    @Test
+    public void testCompactKeepsJournalWhenRewriteFails(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("tasks.csv");
+        Files.writeString(file, "Code,Name,Status,Rep_User_Code\n1,Task1,0,1\n2,Task2,0,1");
+        // 一時ファイルを書き込めないようにする
+        Files.createDirectories(dir.resolve("tasks.csv.tmp").resolve("blocker"));
+        StorageOptions options = new StorageOptions();
+        options.setJournaled(true);
+        options.setJournalMaxRecords(100);
+        options.setJournalRatio(100);
+        User repUser = new User(1, "鈴木一郎", "test1@example.com", "password1");
+
+        TaskDataAccess journaled = new TaskDataAccess(file.toString(), userDataAccess, options);
+        journaled.update(new Task(1, "Updated", 1, repUser));
+        journaled.compact();
+
+        // CSVは元のままで、変更はジャーナルに残る
+        assertThat(readTasksFromFile(file.toString())).extracting(Task::getName).containsExactly("Task1", "Task2");
+        assertThat(Files.size(dir.resolve("tasks.csv.journal"))).isPositive();
+        TaskDataAccess reopened = new TaskDataAccess(file.toString(), userDataAccess, options);
+        assertThat(reopened.findByCode(1).getName()).isEqualTo("Updated");
+    }
+
+    @Test
+    public void testReplayAfterCompactionDoesNotDuplicateTask(@TempDir Path dir) throws IOException {
+        //CSVへの反映後、ジャーナルを空にする前に中断した状態
+        Path file = dir.resolve("tasks.csv");
+        Files.writeString(file, "Code,Name,Status,Rep_User_Code\n1,Task1,0,1\n5,Task5,1,1");
+        Files.writeString(dir.resolve("tasks.csv.journal"), "S,5,Task5,0,1\nU,5,Task5,1,1\n");
+        StorageOptions options = new StorageOptions();
+        options.setJournaled(true);
+        options.setJournalMaxRecords(100);
+        options.setJournalRatio(100);
+
+        List<Task> tasks = new TaskDataAccess(file.toString(), userDataAccess, options).findAll();
+
+        assertThat(tasks).extracting(Task::getCode).containsExactly(1, 5);
+        assertThat(tasks.get(1).getStatus()).isEqualTo(1);
+    }
+
     private List<Task> readTasksFromFile(String filePath) {
         List<Task> tasks = new ArrayList<>();
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
@@ -0,0 +1,142 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.taskapp.model.Task;
+import com.taskapp.model.TaskPage;
+import com.taskapp.model.TaskQuery;
+import com.taskapp.model.TaskSort;
+import com.taskapp.model.TaskSummary;
+import com.taskapp.model.User;
+
+public class TaskRepositoryTest {
+    private final User repUser = new User(1, "鈴木一郎", "test1@example.com", "password1");
+    private TaskRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        repository = createRepository();
+        repository.add(new Task(1, "Task 1", 0, repUser));
+        repository.add(new Task(2, "Task 2", 0, repUser));
+        repository.add(new Task(3, "Task 3", 0, repUser));
+    }
+
+    protected TaskRepository createRepository() {
+        return new HeapTaskRepository();
+    }
+
+    @Test
+    public void testFindByCode() {
+        assertThat(repository.findByCode(2).getName()).isEqualTo("Task 2");
+        assertThat(repository.findByCode(9)).isNull();
+    }
+
+    @Test
+    public void testUpdateReplacesDuplicatedCodes() {
+        repository.add(new Task(2, "Task 2 copy", 0, repUser));
+
+        boolean updated = repository.update(new Task(2, "Updated", 1, repUser));
+
+        assertThat(updated).isTrue();
+        assertThat(repository.findAll()).extracting(Task::getName)
+                .containsExactly("Task 1", "Updated", "Task 3", "Updated");
+    }
+
+    @Test
+    public void testDeleteKeepsOrder() {
+        repository.add(new Task(2, "Task 2 copy", 0, repUser));
+
+        boolean deleted = repository.delete(2);
+
+        assertThat(deleted).isTrue();
+        assertThat(repository.size()).isEqualTo(2);
+        assertThat(repository.findByCode(2)).isNull();
+        assertThat(repository.findAll()).extracting(Task::getCode).containsExactly(1, 3);
+    }
+
+    @Test
+    public void testDeleteManyCompacts() {
+        for (int i = 4; i <= 100; i++) {
+            repository.add(new Task(i, "Task " + i, 0, repUser));
+        }
+        for (int i = 1; i <= 90; i++) {
+            repository.delete(i);
+        }
+
+        assertThat(repository.size()).isEqualTo(10);
+        assertThat(repository.findByCode(95).getName()).isEqualTo("Task 95");
+        assertThat(repository.findAll()).extracting(Task::getCode).startsWith(91, 92);
+    }
+
+    @Test
+    public void testQueryFiltersAndPages() {
+        User other = new User(2, "鈴木二郎", "test2@example.com", "password2");
+        for (int code = 4; code <= 30; code++) {
+            repository.add(new Task(code, "Task " + code, code % 3, code % 2 == 0 ? repUser : other));
+        }
+        repository.update(new Task(5, "Task 5", 1, repUser));
+        repository.delete(10);
+
+        TaskQuery query = new TaskQuery();
+        query.setStatus(1);
+        query.setRepUserCode(1);
+        query.setLimit(3);
+        TaskPage page = repository.query(query);
+
+        assertThat(page.getTasks()).extracting(Task::getCode).containsExactly(4, 5, 16);
+        assertThat(page.getTotal()).isEqualTo(5);
+        assertThat(page.hasNext()).isTrue();
+
+        query.next(page);
+        page = repository.query(query);
+        assertThat(page.getTasks()).extracting(Task::getCode).containsExactly(22, 28);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.hasPrevious()).isTrue();
+    }
+
+    @Test
+    public void testQueryNamePrefixAndSort() {
+        repository.add(new Task(4, "Bug 4", 2, repUser));
+        repository.add(new Task(5, "Bug 1", 0, repUser));
+
+        TaskQuery query = new TaskQuery();
+        query.setNamePrefix("Bug");
+        query.setSort(TaskSort.NAME);
+
+        assertThat(repository.query(query).getTasks()).extracting(Task::getCode).containsExactly(5, 4);
+
+        query.setNamePrefix(null);
+        query.setSort(TaskSort.STATUS);
+        assertThat(repository.query(query).getTasks()).extracting(Task::getCode).containsExactly(1, 2, 3, 5, 4);
+    }
+
+    @Test
+    public void testSummaryFollowsChanges() {
+        User other = new User(2, "鈴木二郎", "test2@example.com", "password2");
+        repository.add(new Task(4, "Task 4", 0, other));
+        repository.add(new Task(5, "Task 5", 0, null));
+        repository.update(new Task(2, "Task 2", 1, repUser));
+        repository.update(new Task(4, "Task 4", 2, other));
+        repository.delete(3);
+
+        TaskSummary summary = repository.summary();
+
+        assertThat(summary.getTotal()).isEqualTo(4);
+        assertThat(summary.getStatusCount(0)).isEqualTo(2);
+        assertThat(summary.getStatusCount(1)).isEqualTo(1);
+        assertThat(summary.getStatusCount(2)).isEqualTo(1);
+        // 担当ユーザーのないタスクは担当ユーザーごとの件数に含めない
+        assertThat(summary.getRepUserCounts()).containsOnlyKeys(1, 2);
+        assertThat(summary.getRepUserCount(1)).isEqualTo(2);
+        assertThat(summary.getRepUserCount(2)).isEqualTo(1);
+        // 変更がなければ同じ集計を返す
+        assertThat(repository.summary()).isSameAs(summary);
+
+        repository.delete(4);
+        assertThat(repository.summary().getRepUserCounts()).containsOnlyKeys(1);
+        assertThat(repository.summary().getStatusCount(2)).isEqualTo(0);
+    }
+}
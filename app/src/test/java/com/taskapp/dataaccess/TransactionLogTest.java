@@ -0,0 +1,86 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.model.Log;
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+public class TransactionLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testPendingReturnsCommittedButNotEnded() throws IOException {
+        User user = new User(1, "user1", "", "");
+        TransactionLog transactionLog = new TransactionLog(dir.resolve("t.wal").toString(), true);
+
+        int ended = transactionLog.beginSaves(List.of(new Task(1, "task1", 0, user)),
+                List.of(new Log(1, 1, 0, LocalDate.of(2024, 1, 1))));
+        transactionLog.end(ended);
+        transactionLog.beginUpdates(List.of(new Task(1, "task1", 1, user)),
+                List.of(new Log(1, 1, 1, LocalDate.of(2024, 1, 2))));
+        transactionLog.beginDeletes(List.of(2, 3));
+        transactionLog.close();
+        //確定を書き込む前に中断したトランザクション
+        Files.writeString(dir.resolve("t.wal"), "S,9,9,task9,0,1\nL,9,9,1,0,2024-01", StandardOpenOption.APPEND);
+
+        List<TransactionLog.Transaction> pending = transactionLog.pending(Map.of(1, user));
+
+        assertThat(pending).hasSize(2);
+        assertThat(pending.get(0).getUpdates()).extracting(Task::getStatus).containsExactly(1);
+        assertThat(pending.get(0).getUpdates().get(0).getRepUser()).isEqualTo(user);
+        assertThat(pending.get(0).getLogs()).extracting(Log::getChangeDate).containsExactly(LocalDate.of(2024, 1, 2));
+        assertThat(pending.get(1).getDeletes()).containsExactly(2, 3);
+    }
+
+    @Test
+    public void testRolledBackAndSupersededTransactions() throws IOException {
+        User user = new User(1, "user1", "", "");
+        TransactionLog transactionLog = new TransactionLog(dir.resolve("t.wal").toString(), false);
+
+        int rolledBack = transactionLog.beginUpdates(List.of(new Task(1, "task1", 1, user)), List.of());
+        transactionLog.rollback(rolledBack);
+        int aborted = transactionLog.beginUpdates(List.of(new Task(1, "task1", 1, user), new Task(2, "task2", 1, user)),
+                List.of());
+        transactionLog.abort(aborted);
+        assertThat(transactionLog.hasPending()).isTrue();
+        int later = transactionLog.beginUpdates(List.of(new Task(1, "task1", 2, user)), List.of());
+        transactionLog.end(later);
+
+        //取り消したトランザクションはやり直さず、後で確定したタスクだけ古い内容として扱う
+        List<TransactionLog.Transaction> pending = transactionLog.pending(Map.of(1, user));
+        assertThat(pending).hasSize(1);
+        assertThat(pending.get(0).isSuperseded(1)).isTrue();
+        assertThat(pending.get(0).isSuperseded(2)).isFalse();
+        transactionLog.close();
+    }
+
+    @Test
+    public void testResetClearsRecords() throws IOException {
+        TransactionLog transactionLog = new TransactionLog(dir.resolve("t.wal").toString(), false);
+        transactionLog.beginDeletes(List.of(1));
+
+        //実行中のトランザクションがある間は消さない
+        transactionLog.reset();
+        assertThat(transactionLog.pending(Map.of())).hasSize(1);
+
+        transactionLog.end(1);
+        transactionLog.reset();
+        assertThat(Files.size(dir.resolve("t.wal"))).isZero();
+        assertThat(transactionLog.pending(Map.of())).isEmpty();
+        transactionLog.close();
+    }
+}
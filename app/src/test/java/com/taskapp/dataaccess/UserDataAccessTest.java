@@ -2,9 +2,16 @@ package com.taskapp.dataaccess;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.taskapp.model.User;
 
@@ -35,4 +42,42 @@ public class UserDataAccessTest {
 
         assertThat(actualUser).isEqualToComparingFieldByField(expectedUser);
     }
+
+    @Test
+    public void testFindAllByCode() {
+        User expectedUser = new User(2, "鈴木二郎", "test2@example.com", "password2");
+
+        Map<Integer, User> actualUsers = userDataAccess.findAllByCode();
+
+        assertThat(actualUsers).hasSize(2);
+        assertThat(actualUsers.get(2)).isEqualToComparingFieldByField(expectedUser);
+    }
+
+    @Test
+    public void testReloadWhenFileChanged(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("users.csv");
+        Files.writeString(file, "Code,Name,Email,Password\n1,鈴木一郎,test1@example.com,password1");
+        UserDataAccess reloading = new UserDataAccess(file.toString());
+
+        assertThat(reloading.findByEmailAndPassword("test1@example.com", "password1")).isNotNull();
+        assertThat(reloading.findByEmailAndPassword("test1@example.com", "wrong")).isNull();
+        assertThat(reloading.findByEmailAndPassword("test3@example.com", "password3")).isNull();
+
+        Files.writeString(file, "\n3,鈴木三郎,test3@example.com,password3", StandardOpenOption.APPEND);
+
+        assertThat(reloading.findByEmailAndPassword("test3@example.com", "password3").getCode()).isEqualTo(3);
+    }
+
+    @Test
+    public void testFindByEmailAndPasswordWithSameEmail(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("users.csv");
+        Files.writeString(file, "Code,Name,Email,Password\n1,鈴木一郎,same@example.com,password1\n"
+                + "2,鈴木二郎,same@example.com,password2");
+        UserDataAccess sameEmail = new UserDataAccess(file.toString());
+
+        //メールアドレスとパスワードの両方が一致する行のユーザー
+        assertThat(sameEmail.findByEmailAndPassword("same@example.com", "password1").getCode()).isEqualTo(1);
+        assertThat(sameEmail.findByEmailAndPassword("same@example.com", "password2").getCode()).isEqualTo(2);
+        assertThat(sameEmail.findByEmailAndPassword("same@example.com", "password3")).isNull();
+    }
 }
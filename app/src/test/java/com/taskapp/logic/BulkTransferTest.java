@@ -0,0 +1,96 @@
+package com.taskapp.logic;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+
+public class BulkTransferTest {
+
+    @TempDir
+    Path dir;
+
+    private TaskDataAccess taskDataAccess;
+    private LogDataAccess logDataAccess;
+    private BulkTransfer transfer;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Files.writeString(dir.resolve("users.csv"), "Code,Name,Email,Password\n1,a,a@example.com,p\n2,b,b@example.com,p");
+        Files.writeString(dir.resolve("tasks.csv"), "Code,Name,Status,Rep_User_Code");
+        Files.writeString(dir.resolve("logs.csv"), "Task_Code,Change_User_Code,Status,Change_Date");
+        UserDataAccess userDataAccess = new UserDataAccess(dir.resolve("users.csv").toString());
+        taskDataAccess = new TaskDataAccess(dir.resolve("tasks.csv").toString(), userDataAccess);
+        logDataAccess = new LogDataAccess(dir.resolve("logs.csv").toString());
+        transfer = new BulkTransfer(taskDataAccess, logDataAccess, userDataAccess, 4);
+    }
+
+    @Test
+    public void testImportAndExportTasks() throws IOException {
+        Files.writeString(dir.resolve("in.csv"), "Code,Name,Status,Rep_User_Code\n"
+                + "1,taskA,0,1\n2,taskB,1,9\n3,taskC,5,2\n4,taskD,x,1\n5,taskE,2,2");
+
+        BulkTransfer.Report imported = transfer.importTasks(dir.resolve("in.csv").toString());
+
+        // 存在しないユーザー・範囲外のステータス・解釈できない行は取り込まない
+        assertThat(imported.getRows()).isEqualTo(2);
+        assertThat(imported.getRejected()).isEqualTo(3);
+        assertThat(taskDataAccess.findAll()).extracting(t -> t.getCode()).containsExactly(1, 5);
+
+        transfer.exportTasks(dir.resolve("out.csv").toString());
+        assertThat(Files.readAllLines(dir.resolve("out.csv")))
+                .containsExactly("Code,Name,Status,Rep_User_Code", "1,taskA,0,1", "5,taskE,2,2");
+    }
+
+    @Test
+    public void testImportSkipsExistingAndRepeatedCodes() throws IOException {
+        Files.writeString(dir.resolve("tasks.csv"), "Code,Name,Status,Rep_User_Code\n1,taskA,0,1");
+        Files.writeString(dir.resolve("in.csv"), "Code,Name,Status,Rep_User_Code\n"
+                + "1,dup,0,1\n2,taskB,1,2\n2,again,2,2\n3,taskC,0,1");
+
+        BulkTransfer.Report imported = transfer.importTasks(dir.resolve("in.csv").toString());
+
+        // 登録済みのコードと、CSV内で2件目以降のコードは取り込まない
+        assertThat(imported.getRows()).isEqualTo(2);
+        assertThat(imported.getRejected()).isEqualTo(2);
+        assertThat(taskDataAccess.findAll()).extracting(t -> t.getName()).containsExactly("taskA", "taskB", "taskC");
+    }
+
+    @Test
+    public void testExportSkipsTasksWithUnknownUser() throws IOException {
+        Files.writeString(dir.resolve("tasks.csv"), "Code,Name,Status,Rep_User_Code\n1,taskA,0,1\n2,taskB,1,9\n3,taskC,2,2");
+
+        BulkTransfer.Report exported = transfer.exportTasks(dir.resolve("out.csv").toString());
+
+        // 担当ユーザーが存在しないタスクは書き出さずに数え、残りは最後まで書き出す
+        assertThat(exported.getRows()).isEqualTo(2);
+        assertThat(exported.getRejected()).isEqualTo(1);
+        assertThat(Files.readAllLines(dir.resolve("out.csv")))
+                .containsExactly("Code,Name,Status,Rep_User_Code", "1,taskA,0,1", "3,taskC,2,2");
+    }
+
+    @Test
+    public void testImportAndExportLogs() throws IOException {
+        Files.writeString(dir.resolve("in.csv"), "Task_Code,Change_User_Code,Status,Change_Date\n"
+                + "1,1,0,2024-01-10\n1,3,1,2024-01-11\n2,2,2,2024-01-12");
+
+        BulkTransfer.Report imported = transfer.importLogs(dir.resolve("in.csv").toString());
+        logDataAccess.close();
+
+        assertThat(imported.getRows()).isEqualTo(2);
+        assertThat(imported.getRejected()).isEqualTo(1);
+        assertThat(imported.getRowsPerSecondPerCore()).isPositive();
+
+        transfer.exportLogs(dir.resolve("out.csv").toString());
+        assertThat(Files.readString(dir.resolve("out.csv"))).isEqualTo(Files.readString(dir.resolve("logs.csv")));
+    }
+}
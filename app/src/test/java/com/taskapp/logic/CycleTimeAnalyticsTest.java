@@ -0,0 +1,54 @@
+package com.taskapp.logic;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.model.CycleTimeReport;
+
+public class CycleTimeAnalyticsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testAnalyze() throws IOException {
+        Path logs = dir.resolve("logs.csv");
+        Files.writeString(logs, "Task_Code,Change_User_Code,Status,Change_Date\n"
+                + "1,1,0,2024-01-01\n"
+                + "2,1,0,2024-01-02\n"
+                + "1,2,1,2024-01-03\n"
+                + "1,2,2,2024-01-06\n"
+                + "2,3,2,2024-01-06\n"
+                + "3,1,0,2024-01-07");
+        List<int[]> completed = new ArrayList<>();
+
+        CycleTimeReport report = new CycleTimeAnalytics(new LogDataAccess(logs.toString()))
+                .analyze((taskCode, userCode, epochDay, leadDays, cycleDays) ->
+                        completed.add(new int[] {taskCode, userCode, leadDays, cycleDays}));
+
+        assertThat(report.getRows()).isEqualTo(6);
+        assertThat(report.getOpenTasks()).isEqualTo(1);
+        // タスク1は登録から5日・着手から3日、タスク2は着手のログがないためサイクルタイムに含めない
+        assertThat(completed).containsExactly(new int[] {1, 2, 5, 3}, new int[] {2, 3, 4, -1});
+        assertThat(report.getLeadTime().getCount()).isEqualTo(2);
+        assertThat(report.getLeadTime().getAverageDays()).isEqualTo(4.5);
+        assertThat(report.getLeadTime().getMaxDays()).isEqualTo(5);
+        assertThat(report.getCycleTime().getTotalDays()).isEqualTo(3);
+        assertThat(report.getWaitTime().getTotalDays()).isEqualTo(2);
+        assertThat(report.getCompletedByUser()).containsOnlyKeys(2, 3);
+        assertThat(report.getLeadTimeByUser().get(3).getTotalDays()).isEqualTo(4);
+        assertThat(report.getCycleTimeByUser().get(3).getCount()).isZero();
+        assertThat(report.getCompletedByDay()).containsOnlyKeys(LocalDate.of(2024, 1, 6));
+        assertThat(report.getCompletedByDay().get(LocalDate.of(2024, 1, 6))).isEqualTo(2);
+    }
+}
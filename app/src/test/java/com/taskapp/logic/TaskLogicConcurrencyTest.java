@@ -0,0 +1,131 @@
+package com.taskapp.logic;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.exception.AppException;
+import com.taskapp.model.Log;
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+public class TaskLogicConcurrencyTest {
+    private static final int TASKS = 40;
+    private static final int THREADS = 16;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testConcurrentChangeStatusLosesNoUpdate() throws Exception {
+        Files.writeString(dir.resolve("users.csv"), "Code,Name,Email,Password\n1,user1,u1@example.com,p1");
+        StringBuilder tasks = new StringBuilder("Code,Name,Status,Rep_User_Code");
+        for (int code = 1; code <= TASKS; code++) {
+            tasks.append('\n').append(code).append(",task").append(code).append(",0,1");
+        }
+        Files.writeString(dir.resolve("tasks.csv"), tasks);
+        Files.writeString(dir.resolve("logs.csv"), "Task_Code,Change_User_Code,Status,Change_Date");
+
+        UserDataAccess userDataAccess = new UserDataAccess(path("users.csv"));
+        TaskDataAccess taskDataAccess = new TaskDataAccess(path("tasks.csv"), userDataAccess);
+        LogDataAccess logDataAccess = new LogDataAccess(path("logs.csv"));
+        TaskLogic taskLogic = new TaskLogic(taskDataAccess, logDataAccess, userDataAccess);
+        User loginUser = userDataAccess.findByCode(1);
+
+        //全スレッドが全タスクを着手中・完了に変更しようとし、各変更は1回だけ成功する
+        AtomicInteger succeeded = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int status = 1; status <= 2; status++) {
+                        for (int i = 0; i < TASKS; i++) {
+                            int code = (i + offset) % TASKS + 1;
+                            try {
+                                taskLogic.changeStatus(code, status, loginUser);
+                                succeeded.incrementAndGet();
+                            } catch (AppException e) {
+                                //他のスレッドが先に変更済み
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        logDataAccess.close();
+
+        assertThat(succeeded.get()).isEqualTo(TASKS * 2);
+        assertThat(new TaskDataAccess(path("tasks.csv"), userDataAccess).findAll())
+                .hasSize(TASKS)
+                .allMatch(t -> t.getStatus() == 2);
+        List<Log> logs = new LogDataAccess(path("logs.csv")).findAll();
+        assertThat(logs).hasSize(TASKS * 2);
+        for (int code = 1; code <= TASKS; code++) {
+            int taskCode = code;
+            assertThat(logs).filteredOn(l -> l.getTaskCode() == taskCode)
+                    .extracting(Log::getStatus)
+                    .containsExactly(1, 2);
+        }
+
+        //完了したタスクを並行して削除しても、各タスクの削除は1回だけ成功する
+        AtomicInteger deleted = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int code = 1; code <= TASKS; code++) {
+                        try {
+                            taskLogic.delete(code);
+                            deleted.incrementAndGet();
+                        } catch (AppException e) {
+                            //他のスレッドが先に削除済み
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(deleted.get()).isEqualTo(TASKS);
+        List<Task> remaining = new TaskDataAccess(path("tasks.csv"), userDataAccess).findAll();
+        assertThat(remaining).isEmpty();
+        assertThat(new LogDataAccess(path("logs.csv")).findAll()).isEmpty();
+    }
+
+    private String path(String name) {
+        return dir.resolve(name).toString();
+    }
+}
@@ -0,0 +1,144 @@
+package com.taskapp.logic;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.TransactionLog;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.exception.AppException;
+import com.taskapp.model.User;
+
+public class TaskLogicRecoveryTest {
+    //タスク10の追加はtasks.csvだけ、タスク1の変更はどちらにも書き込まれていない状態で中断した記録
+    private static final String INTERRUPTED = "S,1,10,task10,0,2\nL,1,10,1,0,2024-02-01\nC,1\n"
+            + "U,2,1,task1,1,1\nL,2,1,2,1,2024-02-02\nC,2\n"
+            + "D,3,2\nC,3\n"
+            + "S,4,99,task99,0,1\nL,4,99,1,0,2024-02-03\n";
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Files.writeString(dir.resolve("users.csv"), "Code,Name,Email,Password\n1,user1,u1@example.com,p1\n2,user2,u2@example.com,p2");
+        Files.writeString(dir.resolve("tasks.csv"), "Code,Name,Status,Rep_User_Code\n1,task1,0,1\n2,task2,2,1\n10,task10,0,2");
+        Files.writeString(dir.resolve("logs.csv"), "Task_Code,Change_User_Code,Status,Change_Date\n1,1,0,2024-01-01\n2,1,2,2024-01-02");
+        Files.writeString(dir.resolve("t.wal"), INTERRUPTED);
+    }
+
+    @Test
+    public void testRecoverRedoesInterruptedChanges() throws IOException {
+        createTaskLogic();
+
+        assertThat(Files.readString(dir.resolve("tasks.csv")))
+                .isEqualTo("Code,Name,Status,Rep_User_Code\n1,task1,1,1\n10,task10,0,2");
+        assertThat(Files.readString(dir.resolve("logs.csv"))).isEqualTo(
+                "Task_Code,Change_User_Code,Status,Change_Date\n1,1,0,2024-01-01\n10,1,0,2024-02-01\n1,2,1,2024-02-02");
+        assertThat(Files.size(dir.resolve("t.wal"))).isZero();
+    }
+
+    @Test
+    public void testRecoverTwiceGivesSameResult() throws IOException {
+        createTaskLogic();
+        String tasks = Files.readString(dir.resolve("tasks.csv"));
+        String logs = Files.readString(dir.resolve("logs.csv"));
+
+        //やり直しの途中で再び中断した場合と同じく、反映済みの記録をもう一度やり直す
+        Files.writeString(dir.resolve("t.wal"), INTERRUPTED);
+        createTaskLogic();
+
+        assertThat(Files.readString(dir.resolve("tasks.csv"))).isEqualTo(tasks);
+        assertThat(Files.readString(dir.resolve("logs.csv"))).isEqualTo(logs);
+    }
+
+    @Test
+    public void testCompletedChangesAreNotRedone() throws IOException, AppException {
+        TaskLogic taskLogic = createTaskLogic();
+        User loginUser = new User(1, "user1", "", "");
+        taskLogic.save(20, "task20", 2, loginUser);
+        taskLogic.changeStatus(20, 1, loginUser);
+
+        assertThat(new TransactionLog(path("t.wal"), false).pending(new UserDataAccess(path("users.csv")).findAllByCode()))
+                .isEmpty();
+        assertThat(taskLogic.recover()).isZero();
+    }
+
+    @Test
+    public void testFailedWriteIsRolledBack() throws IOException {
+        TaskLogic taskLogic = createTaskLogic();
+        //tasks.csvを書き直せないようにする
+        Files.createDirectories(dir.resolve("tasks.csv.tmp").resolve("blocker"));
+
+        assertThatThrownBy(() -> taskLogic.changeStatus(10, 1, new User(1, "user1", "", "")))
+                .isInstanceOf(AppException.class);
+
+        //取り消しが記録され、やり直しの対象にならない
+        assertThat(Files.readString(dir.resolve("tasks.csv"))).endsWith("10,task10,0,2");
+        assertThat(Files.readString(dir.resolve("logs.csv"))).doesNotContain("10,1,1,");
+        assertThat(new TransactionLog(path("t.wal"), false).pending(new UserDataAccess(path("users.csv")).findAllByCode()))
+                .isEmpty();
+    }
+
+    @Test
+    public void testSupersededChangesAreNotRedone() throws IOException {
+        //タスク10の0→1が中断した後、改めて0→1と1→2が完了した記録
+        Files.writeString(dir.resolve("tasks.csv"), "Code,Name,Status,Rep_User_Code
+10,task10,2,2");
+        Files.writeString(dir.resolve("logs.csv"),
+                "Task_Code,Change_User_Code,Status,Change_Date
+10,1,1,2024-02-02
+10,1,2,2024-02-03");
+        Files.writeString(dir.resolve("t.wal"), "U,1,10,task10,1,2\nL,1,10,1,1,2024-02-01\nC,1\n"
+                + "U,2,10,task10,1,2\nL,2,10,1,1,2024-02-02\nC,2\nE,2\n"
+                + "U,3,10,task10,2,2\nL,3,10,1,2,2024-02-03\nC,3\nE,3\n");
+        String logs = Files.readString(dir.resolve("logs.csv"));
+
+        createTaskLogic();
+
+        //古い内容に戻さず、ログも追記しない
+        assertThat(Files.readString(dir.resolve("tasks.csv"))).endsWith("10,task10,2,2");
+        assertThat(Files.readString(dir.resolve("logs.csv"))).isEqualTo(logs);
+        assertThat(Files.size(dir.resolve("t.wal"))).isZero();
+    }
+
+    @Test
+    public void testPendingChangesAreRedoneBeforeNextChange() throws IOException, AppException {
+        UserDataAccess userDataAccess = new UserDataAccess(path("users.csv"));
+        LogDataAccess logDataAccess = new LogDataAccess(path("logs.csv"));
+        TransactionLog transactionLog = new TransactionLog(path("t.wal"), false);
+        TaskLogic taskLogic = new TaskLogic(new TaskDataAccess(path("tasks.csv"), userDataAccess), logDataAccess,
+                userDataAccess, transactionLog);
+        //やり直していない変更が残っている状態にする
+        assertThat(transactionLog.pending(userDataAccess.findAllByCode())).hasSize(3);
+
+        taskLogic.save(20, "task20", 2, new User(1, "user1", "", ""));
+        logDataAccess.sync();
+
+        assertThat(transactionLog.hasPending()).isFalse();
+        assertThat(Files.readString(dir.resolve("tasks.csv")))
+                .isEqualTo("Code,Name,Status,Rep_User_Code\n1,task1,1,1\n10,task10,0,2\n20,task20,0,2");
+    }
+
+    private TaskLogic createTaskLogic() {
+        UserDataAccess userDataAccess = new UserDataAccess(path("users.csv"));
+        LogDataAccess logDataAccess = new LogDataAccess(path("logs.csv"));
+        TaskLogic taskLogic = new TaskLogic(new TaskDataAccess(path("tasks.csv"), userDataAccess), logDataAccess,
+                userDataAccess, new TransactionLog(path("t.wal"), false));
+        taskLogic.recover();
+        logDataAccess.sync();
+        return taskLogic;
+    }
+
+    private String path(String fileName) {
+        return dir.resolve(fileName).toString();
+    }
+}
@@ -5,7 +5,9 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -17,6 +19,7 @@ import com.taskapp.dataaccess.LogDataAccess;
 import com.taskapp.dataaccess.TaskDataAccess;
 import com.taskapp.dataaccess.UserDataAccess;
 import com.taskapp.exception.AppException;
+import com.taskapp.model.BatchResult;
 import com.taskapp.model.Log;
 import com.taskapp.model.Task;
 import com.taskapp.model.User;
@@ -123,4 +126,71 @@ public class TaskLogicTest {
         verify(taskDataAccess).delete(code);
         verify(logDataAccess).deleteByTaskCode(code);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSaveAll() {
+        User loginUser = new User(1, "John", "", "");
+        User repUser = new User(2, "Alice", "", "");
+        when(userDataAccess.findAllByCode()).thenReturn(Map.of(2, repUser));
+
+        List<BatchResult> results = taskLogic.saveAll(List.of(
+                new Task(1, "Task 1", 0, new User(2, "", "", "")),
+                new Task(2, "Task 2", 0, new User(9, "", "", ""))), loginUser);
+
+        // 存在しないユーザーのタスクだけが失敗し、ユーザーは1回だけ読み込まれる
+        assertThat(results).extracting(BatchResult::isSuccess).containsExactly(true, false);
+        verify(userDataAccess).findAllByCode();
+        verify(userDataAccess, never()).findByCode(anyInt());
+        verify(taskDataAccess).saveAll(List.of(new Task(1, "Task 1", 0, repUser)));
+        verify(logDataAccess).saveAll(argThat(logs -> logs.size() == 1));
+        verify(taskDataAccess, never()).save(any(Task.class));
+    }
+
+    @Test
+    public void testSaveAllRejectsExistingAndRepeatedCodes() {
+        User loginUser = new User(1, "John", "", "");
+        User repUser = new User(2, "Alice", "", "");
+        when(userDataAccess.findAllByCode()).thenReturn(Map.of(2, repUser));
+        when(taskDataAccess.findByCode(1)).thenReturn(new Task(1, "Existing", 0, repUser));
+
+        List<BatchResult> results = taskLogic.saveAll(List.of(
+                new Task(1, "Task 1", 0, repUser),
+                new Task(2, "Task 2", 0, repUser),
+                new Task(2, "Task 2b", 0, repUser)), loginUser);
+
+        // 登録済みのコードと、同じコードの2件目は失敗する
+        assertThat(results).extracting(BatchResult::isSuccess).containsExactly(false, true, false);
+        verify(taskDataAccess).saveAll(argThat(tasks -> tasks.size() == 1 && tasks.get(0).getName().equals("Task 2")));
+        verify(logDataAccess).saveAll(argThat(logs -> logs.size() == 1 && logs.get(0).getTaskCode() == 2));
+    }
+
+    @Test
+    public void testChangeStatusAll() {
+        User loginUser = new User(1, "John", "", "");
+        when(taskDataAccess.findByCode(1)).thenReturn(new Task(1, "Task 1", 0, loginUser));
+        when(taskDataAccess.findByCode(2)).thenReturn(new Task(2, "Task 2", 0, loginUser));
+
+        Map<Integer, Integer> statuses = new LinkedHashMap<>();
+        statuses.put(1, 1);
+        statuses.put(2, 2);
+        statuses.put(3, 1);
+        List<BatchResult> results = taskLogic.changeStatusAll(statuses, loginUser);
+
+        assertThat(results).extracting(BatchResult::isSuccess).containsExactly(true, false, false);
+        verify(taskDataAccess).updateAll(argThat(tasks -> tasks.size() == 1 && tasks.get(0).getStatus() == 1));
+        verify(logDataAccess).saveAll(argThat(logs -> logs.size() == 1));
+    }
+
+    @Test
+    public void testDeleteAll() {
+        when(taskDataAccess.findByCode(1)).thenReturn(new Task(1, "Task 1", 2, new User(2, "Alice", "", "")));
+        when(taskDataAccess.findByCode(2)).thenReturn(new Task(2, "Task 2", 1, new User(2, "Alice", "", "")));
+
+        List<BatchResult> results = taskLogic.deleteAll(List.of(1, 2, 1));
+
+        // 完了でないタスクと、同じコードの2件目は失敗する
+        assertThat(results).extracting(BatchResult::isSuccess).containsExactly(true, false, false);
+        verify(taskDataAccess).deleteAll(argThat(codes -> codes.size() == 1 && codes.contains(1)));
+        verify(logDataAccess).deleteByTaskCodes(argThat(codes -> codes.size() == 1 && codes.contains(1)));
+    }
+}
@@ -0,0 +1,49 @@
+package com.taskapp.logic;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+public class TaskRendererTest {
+
+    @Test
+    public void testRender() {
+        User loginUser = new User(1, "John", "john@example.com", "");
+        User alice = new User(2, "Alice", "alice@example.com", "");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TaskRenderer renderer = new TaskRenderer(new PrintStream(bytes, true, StandardCharsets.UTF_8), loginUser);
+
+        renderer.render(new Task(1, "Task 1", 0, alice));
+        renderer.render(new Task(2, "タスク2", 2, loginUser));
+        assertThat(bytes.size()).isZero();
+        renderer.flush();
+
+        String n = System.lineSeparator();
+        assertThat(bytes.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "1. タスク名：Task 1, 担当者名：Aliceが担当しています, ステータス：未着手" + n
+                + "2. タスク名：タスク2, 担当者名：あなたが担当しています, ステータス：完了" + n);
+    }
+
+    @Test
+    public void testWritesInChunks() {
+        User loginUser = new User(1, "John", "john@example.com", "");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TaskRenderer renderer = new TaskRenderer(new PrintStream(bytes, false, StandardCharsets.UTF_8), loginUser);
+
+        //一定量溜まるまでは書き込まず、溜まった時点でまとめて書き込む
+        int count = 0;
+        while (bytes.size() == 0) {
+            renderer.render(new Task(++count, "タスク", 1, loginUser));
+        }
+        assertThat(count).isGreaterThan(1);
+        renderer.flush();
+        assertThat(bytes.toString(StandardCharsets.UTF_8).split(System.lineSeparator())).hasSize(count);
+    }
+}
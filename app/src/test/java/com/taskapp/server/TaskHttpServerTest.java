@@ -0,0 +1,152 @@
+package com.taskapp.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.logic.TaskLogic;
+import com.taskapp.logic.UserLogic;
+import com.taskapp.util.Json;
+
+public class TaskHttpServerTest {
+    @TempDir
+    Path dir;
+
+    private LogDataAccess logDataAccess;
+
+    private UserLogic userLogic;
+
+    private TaskLogic taskLogic;
+
+    private TaskHttpServer server;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Files.writeString(dir.resolve("users.csv"),
+                "Code,Name,Email,Password\n1,user1,u1@example.com,p1\n2,user2,u2@example.com,p2");
+        Files.writeString(dir.resolve("tasks.csv"), "Code,Name,Status,Rep_User_Code\n1,taskA,0,1\n2,\"taskB\",0,2");
+        Files.writeString(dir.resolve("logs.csv"), "Task_Code,Change_User_Code,Status,Change_Date");
+
+        UserDataAccess userDataAccess = new UserDataAccess(dir.resolve("users.csv").toString());
+        logDataAccess = new LogDataAccess(dir.resolve("logs.csv").toString());
+        taskLogic = new TaskLogic(new TaskDataAccess(dir.resolve("tasks.csv").toString(), userDataAccess),
+                logDataAccess, userDataAccess);
+        userLogic = new UserLogic(userDataAccess);
+        server = new TaskHttpServer(0, userLogic, taskLogic);
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+        logDataAccess.close();
+    }
+
+    @Test
+    public void testTaskLifecycle() throws Exception {
+        HttpResponse<String> login = send("/login", "POST", "{\"email\":\"u1@example.com\",\"password\":\"p1\"}", null);
+        assertThat(login.statusCode()).isEqualTo(200);
+        String token = login.body().replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+
+        HttpResponse<String> list = send("/tasks", "GET", null, token);
+        assertThat(list.statusCode()).isEqualTo(200);
+        assertThat(list.body()).contains(
+                "{\"code\":1,\"name\":\"taskA\",\"status\":0,\"repUser\":{\"code\":1,\"name\":\"user1\"},\"mine\":true}",
+                "\"name\":\"\\\"taskB\\\"\"");
+
+        assertThat(send("/tasks", "POST", "{\"code\":3,\"name\":\"new\",\"repUserCode\":2}", token).statusCode())
+                .isEqualTo(201);
+        assertThat(send("/tasks/3/status", "POST", "{\"status\":1}", token).statusCode()).isEqualTo(200);
+        assertThat(send("/tasks/3/status", "POST", "{\"status\":2}", token).statusCode()).isEqualTo(200);
+        assertThat(send("/tasks/3", "DELETE", null, token).statusCode()).isEqualTo(204);
+        assertThat(send("/tasks", "GET", null, token).body()).doesNotContain("\"code\":3");
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        assertThat(send("/login", "POST", "{\"email\":\"u1@example.com\",\"password\":\"x\"}", null).statusCode())
+                .isEqualTo(401);
+        assertThat(send("/tasks", "GET", null, null).statusCode()).isEqualTo(401);
+        assertThat(send("/tasks", "GET", null, "unknown").statusCode()).isEqualTo(401);
+
+        String token = Json.parseObject(
+                send("/login", "POST", "{\"email\":\"u2@example.com\",\"password\":\"p2\"}", null).body()
+                        .replaceAll(",\"user\":.*", "}")).get("token");
+        HttpResponse<String> skipped = send("/tasks/1/status", "POST", "{\"status\":2}", token);
+        assertThat(skipped.statusCode()).isEqualTo(400);
+        assertThat(Json.parseObject(skipped.body())).containsEntry("error",
+                "ステータスは、前のステータスより1つ先のもののみを選択してください");
+        assertThat(send("/tasks", "POST", "{broken", token).statusCode()).isEqualTo(400);
+        assertThat(send("/tasks/1", "PUT", "{}", token).statusCode()).isEqualTo(405);
+    }
+
+    @Test
+    public void testLogout() throws Exception {
+        String token = login();
+        assertThat(send("/tasks", "GET", null, token).statusCode()).isEqualTo(200);
+
+        assertThat(send("/logout", "POST", null, token).statusCode()).isEqualTo(204);
+        assertThat(send("/tasks", "GET", null, token).statusCode()).isEqualTo(401);
+        assertThat(send("/logout", "POST", null, token).statusCode()).isEqualTo(401);
+    }
+
+    @Test
+    public void testSessionExpiresWhenIdle() throws Exception {
+        server.close();
+        server = new TaskHttpServer(0, userLogic, taskLogic, 200);
+        server.start();
+        String token = login();
+        assertThat(send("/tasks", "GET", null, token).statusCode()).isEqualTo(200);
+
+        Thread.sleep(400);
+        assertThat(send("/tasks", "GET", null, token).statusCode()).isEqualTo(401);
+    }
+
+    @Test
+    public void testRejectsNamesThatBreakCsv() throws Exception {
+        String token = login();
+
+        //改行で別の行を、カンマで別の項目を書き込もうとする名前
+        assertThat(send("/tasks", "POST", "{\"code\":3,\"name\":\"a\\n9,x,2,1\",\"repUserCode\":1}", token)
+                .statusCode()).isEqualTo(400);
+        assertThat(send("/tasks", "POST", "{\"code\":3,\"name\":\"a\\r\\nb\",\"repUserCode\":1}", token)
+                .statusCode()).isEqualTo(400);
+        assertThat(send("/tasks", "POST", "{\"code\":3,\"name\":\"a,b\",\"repUserCode\":1}", token)
+                .statusCode()).isEqualTo(400);
+
+        assertThat(Files.readString(dir.resolve("tasks.csv")))
+                .isEqualTo("Code,Name,Status,Rep_User_Code\n1,taskA,0,1\n2,\"taskB\",0,2");
+        assertThat(send("/tasks", "GET", null, token).body()).doesNotContain("\"code\":3", "\"code\":9");
+    }
+
+    private String login() throws Exception {
+        return Json.parseObject(
+                send("/login", "POST", "{\"email\":\"u1@example.com\",\"password\":\"p1\"}", null).body()
+                        .replaceAll(",\"user\":.*", "}")).get("token");
+    }
+
+    private HttpResponse<String> send(String path, String method, String body, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
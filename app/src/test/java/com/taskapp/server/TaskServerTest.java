@@ -0,0 +1,90 @@
+package com.taskapp.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.logic.TaskLogic;
+import com.taskapp.logic.UserLogic;
+
+public class TaskServerTest {
+    private static final String RESOURCES = "src/main/resources/";
+
+    @Test
+    public void testConcurrentSessions() throws Exception {
+        try (TaskServer server = createServer()) {
+            server.start();
+
+            //ログイン・一覧表示・ログアウトを複数のセッションで同時に行う
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            List<Future<String>> sessions = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                sessions.add(executor.submit(() -> converse(server.getPort(),
+                        "test1@example.com\npassword1\n1\n3\n3\n")));
+            }
+            for (Future<String> session : sessions) {
+                String output = session.get(30, TimeUnit.SECONDS);
+                assertThat(output).contains("1. タスク名：taskA").endsWith("ログアウトしました。\n\n");
+            }
+            executor.shutdown();
+            assertThat(server.totalSessions()).isEqualTo(20);
+        }
+    }
+
+    @Test
+    public void testDisconnectEndsSession() throws Exception {
+        try (TaskServer server = createServer()) {
+            server.start();
+
+            //ログインの途中で切断してもセッションが終了する
+            String output = converse(server.getPort(), "test1@example.com\n");
+            assertThat(output).endsWith("パスワードを入力してください：");
+
+            long deadline = System.currentTimeMillis() + 10000;
+            while (server.activeSessions() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(server.activeSessions()).isZero();
+        }
+    }
+
+    private static TaskServer createServer() throws IOException {
+        UserDataAccess userDataAccess = new UserDataAccess(RESOURCES + "users.csv");
+        TaskLogic taskLogic = new TaskLogic(new TaskDataAccess(RESOURCES + "tasks.csv", userDataAccess),
+                new LogDataAccess(RESOURCES + "logs.csv"), userDataAccess);
+        return new TaskServer(0, new UserLogic(userDataAccess), taskLogic);
+    }
+
+    /**
+     * 入力をまとめて送り、入力側を閉じてからサーバーが閉じるまでの出力を返します。
+     */
+    private static String converse(int port, String input) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(input.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            socket.shutdownOutput();
+            InputStream in = socket.getInputStream();
+            ByteArrayOutputStream received = new ByteArrayOutputStream();
+            in.transferTo(received);
+            return received.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.taskapp.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IntIntMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        IntIntMap map = new IntIntMap();
+        map.put(0, 10);
+        map.put(-1, 20);
+        map.put(1, 30);
+
+        assertThat(map.get(0, -1)).isEqualTo(10);
+        assertThat(map.get(-1, -1)).isEqualTo(20);
+        assertThat(map.remove(0, -1)).isEqualTo(10);
+        assertThat(map.containsKey(0)).isFalse();
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        IntIntMap map = new IntIntMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(2000) - 1000;
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    map.put(key, i);
+                    expected.put(key, i);
+                }
+                case 1 -> assertThat(map.remove(key, -1)).isEqualTo(expected.getOrDefault(key, -1));
+                default -> assertThat(map.get(key, -1)).isEqualTo(expected.getOrDefault(key, -1));
+            }
+            if (!map.containsKey(key)) {
+                expected.remove(key);
+            }
+        }
+        assertThat(map.size()).isEqualTo(expected.size());
+    }
+}
@@ -0,0 +1,36 @@
+package com.taskapp.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class JsonTest {
+
+    @Test
+    public void testParseObject() {
+        Map<String, String> values = Json.parseObject(
+                " { \"code\" : 12, \"name\": \"タスク\\\"A\\\"\\u3042\", \"done\": false, \"memo\": null } ");
+
+        assertThat(values).containsEntry("code", "12")
+                .containsEntry("name", "タスク\"A\"あ")
+                .containsEntry("done", "false")
+                .containsEntry("memo", null);
+        assertThat(Json.parseObject("{}")).isEmpty();
+    }
+
+    @Test
+    public void testInvalidObject() {
+        assertThatThrownBy(() -> Json.parseObject("{\"code\": 1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Json.parseObject("{\"code\": abc}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Json.parseObject("{} x")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testAppendString() {
+        assertThat(Json.appendString(new StringBuilder(), "a\"b\\c\nd\u0001").toString())
+                .isEqualTo("\"a\\\"b\\\\c\\nd\\u0001\"");
+        assertThat(Json.appendString(new StringBuilder(), null).toString()).isEqualTo("null");
+    }
+}